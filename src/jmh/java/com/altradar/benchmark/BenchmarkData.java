@@ -0,0 +1,91 @@
+package com.altradar.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import com.altradar.util.CandleRingBuffer;
+
+/**
+ * 벤치마크 입력 데이터 (고정 시드라서 실행마다 같은 값).
+ */
+public final class BenchmarkData {
+
+    private static final long SEED = 20240101L;
+    private static final DateTimeFormatter UTC = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss")
+            .withZone(ZoneOffset.UTC);
+
+    private BenchmarkData() {
+    }
+
+    // 랜덤 워크 종가
+    public static double[] closes(int n) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        double[] out = new double[n];
+        double price = 1000;
+        for (int i = 0; i < n; i++) {
+            price = Math.max(1, price * (1 + (random.nextDouble() - 0.5) * 0.02));
+            out[i] = price;
+        }
+        return out;
+    }
+
+    // 가끔 급등하는 거래량
+    public static double[] volumes(int n) {
+        SplittableRandom random = new SplittableRandom(SEED + 1);
+        double[] out = new double[n];
+        for (int i = 0; i < n; i++) {
+            out[i] = 100 + random.nextDouble() * 50 + (random.nextInt(20) == 0 ? 500 : 0);
+        }
+        return out;
+    }
+
+    public static List<Double> boxed(double[] values) {
+        List<Double> out = new ArrayList<>(values.length);
+        for (double v : values) out.add(v);
+        return out;
+    }
+
+    public static CandleRingBuffer buffer(int n) {
+        double[] closes = closes(n);
+        double[] volumes = volumes(n);
+        CandleRingBuffer buffer = new CandleRingBuffer(n);
+        long start = 1_700_000_000_000L;
+        for (int i = 0; i < n; i++) {
+            double c = closes[i];
+            buffer.append(start + i * 60_000L, c, c * 1.01, c * 0.99, c, volumes[i]);
+        }
+        return buffer;
+    }
+
+    /**
+     * 업비트 분봉 API와 같은 형태의 응답 (최신 캔들이 앞).
+     */
+    public static byte[] upbitCandlesJson(String market, int n) {
+        double[] closes = closes(n);
+        double[] volumes = volumes(n);
+        long start = 1_700_000_000_000L;
+        StringBuilder sb = new StringBuilder(n * 360).append('[');
+        for (int k = n - 1; k >= 0; k--) {
+            double c = closes[k];
+            Instant t = Instant.ofEpochMilli(start + k * 60_000L);
+            sb.append("{\"market\":\"").append(market).append('"')
+                    .append(",\"candle_date_time_utc\":\"").append(UTC.format(t)).append('"')
+                    .append(",\"candle_date_time_kst\":\"").append(UTC.format(t.plusSeconds(9 * 3600))).append('"')
+                    .append(",\"opening_price\":").append(c)
+                    .append(",\"high_price\":").append(c * 1.01)
+                    .append(",\"low_price\":").append(c * 0.99)
+                    .append(",\"trade_price\":").append(c)
+                    .append(",\"timestamp\":").append(t.toEpochMilli() + 59_000)
+                    .append(",\"candle_acc_trade_price\":").append(c * volumes[k])
+                    .append(",\"candle_acc_trade_volume\":").append(volumes[k])
+                    .append(",\"unit\":1}");
+            if (k > 0) sb.append(',');
+        }
+        return sb.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
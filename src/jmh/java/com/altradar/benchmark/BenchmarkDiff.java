@@ -0,0 +1,96 @@
+package com.altradar.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 두 JMH JSON 결과(-rf json)를 비교해 회귀를 찾습니다.
+ * 시간(avgt/sample/ss)은 커지면, 처리량(thrpt)은 작아지면, 할당량(gc.alloc.rate.norm)은 커지면 회귀입니다.
+ * 회귀가 하나라도 있으면 종료 코드 1을 반환합니다.
+ *
+ * 사용법: BenchmarkDiff &lt;baseline.json&gt; &lt;current.json&gt; [허용 비율 %, 기본 10]
+ */
+public final class BenchmarkDiff {
+
+    private static final String ALLOC = "gc.alloc.rate.norm";
+
+    private BenchmarkDiff() {
+    }
+
+    record Entry(String mode, String unit, double score, double alloc) {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("사용법: BenchmarkDiff <baseline.json> <current.json> [threshold%]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10;
+        Map<String, Entry> baseline = load(new File(args[0]));
+        Map<String, Entry> current = load(new File(args[1]));
+
+        int regressions = 0;
+        System.out.printf("%-70s %14s %14s %8s %12s %12s %8s%n",
+                "benchmark", "base", "current", "chg%", "base B/op", "cur B/op", "chg%");
+        for (Map.Entry<String, Entry> e : current.entrySet()) {
+            Entry cur = e.getValue();
+            Entry base = baseline.get(e.getKey());
+            if (base == null) {
+                System.out.printf("%-70s %14s %14.3f %8s  (new)%n", e.getKey(), "-", cur.score, "");
+                continue;
+            }
+            double scoreDelta = percent(base.score, cur.score);
+            double allocDelta = percent(base.alloc, cur.alloc);
+            // 처리량은 작아질수록 나쁨
+            boolean slower = "thrpt".equals(cur.mode) ? -scoreDelta > threshold : scoreDelta > threshold;
+            // 할당이 거의 없던 벤치마크는 수 바이트 차이로 회귀 판정하지 않음
+            boolean allocates = !Double.isNaN(allocDelta) && cur.alloc - base.alloc > 16 && allocDelta > threshold;
+            boolean regressed = slower || allocates;
+            if (regressed) regressions++;
+            System.out.printf("%-70s %14.3f %14.3f %+8.1f %12.1f %12.1f %+8.1f %s%n",
+                    e.getKey(), base.score, cur.score, scoreDelta, base.alloc, cur.alloc, allocDelta,
+                    regressed ? "REGRESSION" : "");
+        }
+        for (String key : baseline.keySet()) {
+            if (!current.containsKey(key)) System.out.printf("%-70s  (removed)%n", key);
+        }
+
+        System.out.printf("%n회귀 %d건 (허용 %.1f%%)%n", regressions, threshold);
+        if (regressions > 0) System.exit(1);
+    }
+
+    private static double percent(double base, double current) {
+        if (Double.isNaN(base) || Double.isNaN(current) || base == 0) return Double.NaN;
+        return (current - base) / base * 100;
+    }
+
+    // 벤치마크 이름 + 파라미터를 키로 읽음
+    static Map<String, Entry> load(File file) throws IOException {
+        Map<String, Entry> out = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText());
+            JsonNode params = run.path("params");
+            if (params.isObject()) {
+                Map<String, String> sorted = new TreeMap<>();
+                params.fields().forEachRemaining(p -> sorted.put(p.getKey(), p.getValue().asText()));
+                sorted.forEach((k, v) -> key.append(' ').append(k).append('=').append(v));
+            }
+            JsonNode primary = run.path("primaryMetric");
+            double alloc = Double.NaN;
+            for (var it = run.path("secondaryMetrics").fields(); it.hasNext(); ) {
+                var metric = it.next();
+                // 예전 JMH는 이름 앞에 '·'를 붙임
+                if (metric.getKey().endsWith(ALLOC)) alloc = metric.getValue().path("score").asDouble();
+            }
+            out.put(key.toString(), new Entry(run.path("mode").asText(), primary.path("scoreUnit").asText(),
+                    primary.path("score").asDouble(), alloc));
+        }
+        return out;
+    }
+}
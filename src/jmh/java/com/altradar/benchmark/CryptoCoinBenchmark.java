@@ -0,0 +1,45 @@
+package com.altradar.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.altradar.model.CryptoCoin;
+import com.altradar.model.dto.AnalysisResult;
+
+/**
+ * 분석 결과 → 저장용 엔티티 변환 비용 (BigDecimal 변환 포함).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CryptoCoinBenchmark {
+
+    private AnalysisResult result;
+
+    @Setup
+    public void setup() {
+        result = AnalysisResult.of(101.2, 99.8, 97.5, 61.3, 104.9, 99.8, 94.7, 0.42, 0.31, true,
+                        100, List.of("default"), new double[] {100})
+                .withMarket("KRW-BTC", 101.5, "비트코인", "Bitcoin", false)
+                .withBars(200);
+    }
+
+    @Benchmark
+    public CryptoCoin fromAnalysisResult() {
+        return CryptoCoin.fromAnalysisResult(result);
+    }
+}
@@ -0,0 +1,132 @@
+package com.altradar.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.altradar.util.DoubleSeries;
+import com.altradar.util.IndicatorEngine;
+import com.altradar.util.TechnicalAnalysisUtil;
+
+/**
+ * 지표 계산 비용: List(박싱 어댑터) vs DoubleSeries, 윈도우 재계산 vs 스트리밍 엔진.
+ * size는 윈도우 캔들 수입니다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class IndicatorBenchmark {
+
+    @Param({"200", "1000", "10000", "100000"})
+    int size;
+
+    private List<Double> closeList;
+    private List<Double> volumeList;
+    private DoubleSeries closes;
+    private DoubleSeries volumes;
+    private IndicatorEngine engine;
+    private final double[] out = new double[3];
+
+    @Setup
+    public void setup() {
+        double[] c = BenchmarkData.closes(size);
+        double[] v = BenchmarkData.volumes(size);
+        closeList = BenchmarkData.boxed(c);
+        volumeList = BenchmarkData.boxed(v);
+        closes = DoubleSeries.of(c);
+        volumes = DoubleSeries.of(v);
+        engine = IndicatorEngine.defaults(size - 1);
+        for (int i = 0; i < size; i++) engine.append(c[i], v[i]);
+    }
+
+    @Benchmark
+    public double movingAverageList() {
+        return TechnicalAnalysisUtil.movingAverage(closeList, 60);
+    }
+
+    @Benchmark
+    public double movingAverageSeries() {
+        return TechnicalAnalysisUtil.movingAverage(closes, 60);
+    }
+
+    @Benchmark
+    public double rsiList() {
+        return TechnicalAnalysisUtil.rsi(closeList, 14);
+    }
+
+    @Benchmark
+    public double rsiSeries() {
+        return TechnicalAnalysisUtil.rsi(closes, 14);
+    }
+
+    @Benchmark
+    public double[] bollingerList() {
+        return TechnicalAnalysisUtil.bollingerBands(closeList, 20, 2.0);
+    }
+
+    @Benchmark
+    public double[] bollingerSeries() {
+        return TechnicalAnalysisUtil.bollingerBands(closes, 20, 2.0, out);
+    }
+
+    @Benchmark
+    public double[] macdList() {
+        return TechnicalAnalysisUtil.macd(closeList, 12, 26, 9);
+    }
+
+    @Benchmark
+    public double[] macdSeries() {
+        return TechnicalAnalysisUtil.macd(closes, 12, 26, 9, out);
+    }
+
+    @Benchmark
+    public boolean volumeSpikeList() {
+        return TechnicalAnalysisUtil.isVolumeSpike(volumeList, 2.0);
+    }
+
+    @Benchmark
+    public boolean volumeSpikeSeries() {
+        return TechnicalAnalysisUtil.isVolumeSpike(volumes, 2.0);
+    }
+
+    // 윈도우 전체를 엔진에 다시 통과시키는 비용 (캐시 미스/리셋 시)
+    @Benchmark
+    public void engineReplay(Blackhole bh) {
+        engine.reset();
+        for (int i = 0; i < size; i++) engine.append(closes.get(i), volumes.get(i));
+        readAll(bh);
+    }
+
+    // 캔들 하나가 바뀌었을 때의 증분 비용 (size와 무관해야 함)
+    @Benchmark
+    public void engineAmendLast(Blackhole bh) {
+        engine.amendLast(closes.last(), volumes.last());
+        readAll(bh);
+    }
+
+    private void readAll(Blackhole bh) {
+        bh.consume(engine.maShort());
+        bh.consume(engine.maMid());
+        bh.consume(engine.maLong());
+        bh.consume(engine.rsi());
+        bh.consume(engine.bollingerBands(out));
+        bh.consume(engine.macdLine());
+        bh.consume(engine.signalLine());
+        bh.consume(engine.isVolumeSpike(2.0));
+    }
+}
@@ -0,0 +1,71 @@
+package com.altradar.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.altradar.util.CandleColumns;
+import com.altradar.util.UpbitJsonParser;
+
+/**
+ * 캔들 응답 파싱: 기존 org.json DOM + List&lt;Double&gt; vs Jackson 스트리밍 + 재사용 컬럼.
+ * candles=200은 업비트 캔들 API 한 번의 최대 개수입니다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class ParsingBenchmark {
+
+    @Param({"200", "1000"})
+    int candles;
+
+    private byte[] json;
+    private CandleColumns columns;
+
+    @Setup
+    public void setup() {
+        json = BenchmarkData.upbitCandlesJson("KRW-BTC", candles);
+        columns = new CandleColumns(candles);
+    }
+
+    // 기존 방식: 문자열 → JSONArray → 박싱된 리스트 (오래된 순으로 뒤집음)
+    @Benchmark
+    public void orgJson(Blackhole bh) {
+        JSONArray arr = new JSONArray(new String(json, StandardCharsets.UTF_8));
+        List<Double> prices = new ArrayList<>(arr.length());
+        List<Double> volumes = new ArrayList<>(arr.length());
+        for (int i = arr.length() - 1; i >= 0; i--) {
+            JSONObject candle = arr.getJSONObject(i);
+            prices.add(candle.getDouble("trade_price"));
+            volumes.add(candle.getDouble("candle_acc_trade_volume"));
+        }
+        bh.consume(prices);
+        bh.consume(volumes);
+    }
+
+    @Benchmark
+    public CandleColumns streaming() throws IOException {
+        UpbitJsonParser.parseCandles(json, columns);
+        return columns;
+    }
+}
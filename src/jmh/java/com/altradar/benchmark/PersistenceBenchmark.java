@@ -0,0 +1,153 @@
+package com.altradar.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.altradar.model.CryptoCoin;
+import com.altradar.model.PriceData;
+import com.altradar.repository.BulkWriteRepository;
+import com.altradar.repository.CryptoCoinRepository;
+import com.altradar.repository.PriceDataRepository;
+
+/**
+ * 가격 이력 저장 처리량 (rows/s): 행마다 save(기존 경로), 한 트랜잭션 saveAll(Hibernate 배치), JDBC batchUpdate,
+ * 그리고 코인 MERGE 배치. JPA 관련 자동 설정만 올린 스프링 컨텍스트와 메모리 H2를 사용합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersistenceBenchmark {
+
+    private static final int ROWS = 10_000;
+    private static final int COINS = 250;
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackageClasses = PriceData.class)
+    @EnableJpaRepositories(basePackageClasses = PriceDataRepository.class)
+    @Import(BulkWriteRepository.class)
+    public static class PersistenceConfig {
+    }
+
+    private ConfigurableApplicationContext context;
+    private PriceDataRepository priceDataRepository;
+    private BulkWriteRepository bulkWriteRepository;
+    private TransactionTemplate transactionTemplate;
+    private JdbcTemplate jdbcTemplate;
+    private CryptoCoin coin;
+    private List<PriceData> rows;
+    private List<CryptoCoin> coins;
+
+    @Setup
+    public void setup() {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        context = new SpringApplicationBuilder(PersistenceConfig.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.main.banner-mode=off", "logging.level.root=WARN", "logging.level.com.altradar=WARN",
+                        "spring.datasource.url=jdbc:h2:mem:persistence-benchmark;DB_CLOSE_ON_EXIT=FALSE")
+                .run();
+        priceDataRepository = context.getBean(PriceDataRepository.class);
+        bulkWriteRepository = context.getBean(BulkWriteRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        CryptoCoin c = new CryptoCoin();
+        c.setCoinId("KRW-BTC");
+        c.setName("비트코인");
+        c.setSymbol("KRW-BTC");
+        coin = context.getBean(CryptoCoinRepository.class).save(c);
+    }
+
+    // 저장된 엔티티는 id가 채워지므로 매번 새 행을 만듦 (측정 시간에서 제외)
+    @Setup(Level.Invocation)
+    public void newRows() {
+        rows = new ArrayList<>(ROWS);
+        LocalDateTime start = LocalDateTime.of(2026, 1, 1, 0, 0);
+        for (int i = 0; i < ROWS; i++) {
+            PriceData row = new PriceData();
+            row.setCoin(coin);
+            row.setTimestamp(start.plusMinutes(i));
+            row.setPrice(BigDecimal.valueOf(100_000 + i % 500, 2));
+            row.setVolume(BigDecimal.valueOf(i % 1_000, 1));
+            row.setRsi(BigDecimal.valueOf(50 + i % 30));
+            rows.add(row);
+        }
+        coins = new ArrayList<>(COINS);
+        for (int i = 0; i < COINS; i++) {
+            CryptoCoin c = new CryptoCoin();
+            c.setCoinId("KRW-C" + i);
+            c.setName("C" + i);
+            c.setSymbol("KRW-C" + i);
+            c.setCurrentPrice(BigDecimal.valueOf(1_000 + i));
+            c.setPumpScore(BigDecimal.valueOf(i % 100));
+            c.setLastUpdated(start);
+            coins.add(c);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void truncate() {
+        jdbcTemplate.execute("DELETE FROM price_data");
+    }
+
+    @TearDown
+    public void close() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void perRowSave() {
+        for (PriceData row : rows) {
+            priceDataRepository.save(row);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void saveAllBatched() {
+        transactionTemplate.executeWithoutResult(status -> priceDataRepository.saveAll(rows));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void jdbcBatchInsert() {
+        transactionTemplate.executeWithoutResult(status -> bulkWriteRepository.insertPriceData(coin, rows));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COINS)
+    public void mergeCoins() {
+        transactionTemplate.executeWithoutResult(status -> bulkWriteRepository.upsertCoins(coins));
+    }
+}
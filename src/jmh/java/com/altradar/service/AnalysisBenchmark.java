@@ -0,0 +1,121 @@
+package com.altradar.service;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.altradar.benchmark.BenchmarkData;
+import com.altradar.config.PumpScoreProperties;
+import com.altradar.model.dto.AnalysisResult;
+import com.altradar.util.BatchIndicatorKernel;
+import com.altradar.util.CandleRingBuffer;
+import com.altradar.util.DoubleSeries;
+import com.altradar.util.MarketBatch;
+import com.altradar.util.ScoreRuleBook;
+
+/**
+ * 분석 + 점수 비용: 마켓 하나(analyze)와 전체 마켓 배치(스칼라/SIMD 커널), 규칙 북 평가.
+ * 스프링 없이 기본 규칙(application.yml이 없을 때의 규칙)으로 서비스를 만듭니다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class AnalysisBenchmark {
+
+    @Param({"200", "1000"})
+    int window;
+
+    // 배치 벤치마크의 마켓 수 (업비트 KRW 마켓 규모)
+    @Param({"250"})
+    int markets;
+
+    private TechnicalAnalysisService service;
+    private ScoreRuleBook book;
+    private List<Double> closeList;
+    private List<Double> volumeList;
+    private DoubleSeries closes;
+    private DoubleSeries volumes;
+    private CandleRingBuffer buffer;
+    private MarketBatch batch;
+    private BatchIndicatorKernel scalarKernel;
+    private BatchIndicatorKernel vectorKernel;
+    private double[] features;
+    private double[] scores;
+
+    @Setup
+    public void setup() {
+        PumpScoreRules rules = new PumpScoreRules(new PumpScoreProperties());
+        rules.init();
+        service = new TechnicalAnalysisService(rules, new MarketRanking(), new OrderBookStore());
+        book = rules.book();
+
+        double[] c = BenchmarkData.closes(window);
+        double[] v = BenchmarkData.volumes(window);
+        closeList = BenchmarkData.boxed(c);
+        volumeList = BenchmarkData.boxed(v);
+        closes = DoubleSeries.of(c);
+        volumes = DoubleSeries.of(v);
+
+        buffer = BenchmarkData.buffer(window);
+        batch = new MarketBatch().reset(markets, window);
+        for (int m = 0; m < markets; m++) batch.load(m, buffer);
+        scalarKernel = new BatchIndicatorKernel(false, 32, ForkJoinPool.commonPool());
+        vectorKernel = new BatchIndicatorKernel(true, 32, ForkJoinPool.commonPool());
+
+        features = service.newFeatureVector();
+        scores = new double[book.names().size()];
+        scalarKernel.compute(batch);
+        service.batchResult(batch, 0, features);
+    }
+
+    // 기존 호출 경로: 박싱된 리스트 → DoubleSeries 복사 → 엔진 → 점수
+    @Benchmark
+    public AnalysisResult analyzeList() {
+        return service.analyze(closeList, volumeList);
+    }
+
+    @Benchmark
+    public AnalysisResult analyzeSeries() {
+        return service.analyze(closes, volumes);
+    }
+
+    @Benchmark
+    public void batchScalar(Blackhole bh) {
+        scalarKernel.compute(batch);
+        bh.consume(batch.rsi);
+    }
+
+    @Benchmark
+    public void batchVector(Blackhole bh) {
+        vectorKernel.compute(batch);
+        bh.consume(batch.rsi);
+    }
+
+    // 배치 커널 결과를 마켓별 AnalysisResult로 만드는 비용 (점수 포함)
+    @Benchmark
+    public void batchResults(Blackhole bh) {
+        for (int m = 0; m < markets; m++) bh.consume(service.batchResult(batch, m, features));
+    }
+
+    @Benchmark
+    public double[] ruleBookEvaluate() {
+        book.evaluate(features, scores);
+        return scores;
+    }
+}
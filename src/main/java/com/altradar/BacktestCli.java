@@ -0,0 +1,92 @@
+package com.altradar;
+
+import java.io.File;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import com.altradar.model.dto.BacktestParams;
+import com.altradar.model.dto.BacktestResult;
+import com.altradar.service.BacktestService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 백테스트 CLI. backtest.cli.enabled=true로 실행하면 백테스트 후 결과 JSON을 출력하고 종료합니다.
+ *
+ * java -jar altradar.jar --spring.main.web-application-type=none --backtest.cli.enabled=true \
+ *      --backtest.cli.markets=KRW-BTC,KRW-ETH --backtest.cli.days=90 --backtest.cli.entry-score=70 \
+ *      --backtest.cli.output=backtest.json
+ *
+ * 설정 이름은 REST API(/api/crypto/backtest) 파라미터의 kebab-case입니다 (예: take-profit, fee-rate).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "backtest.cli.enabled", havingValue = "true")
+public class BacktestCli implements ApplicationRunner {
+
+    private static final String PREFIX = "backtest.cli.";
+
+    private final BacktestService backtestService;
+    private final Environment environment;
+    private final ObjectMapper objectMapper;
+    private final ConfigurableApplicationContext context;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        int exitCode = 0;
+        try {
+            BacktestParams defaults = BacktestParams.defaults();
+            BacktestParams params = new BacktestParams(
+                    get("entry-score", Double.class, defaults.entryScore()),
+                    get("exit-score", Double.class, defaults.exitScore()),
+                    get("take-profit", Double.class, defaults.takeProfit()),
+                    get("stop-loss", Double.class, defaults.stopLoss()),
+                    get("max-hold-bars", Integer.class, defaults.maxHoldBars()),
+                    get("fee-rate", Double.class, defaults.feeRate()),
+                    get("slippage", Double.class, defaults.slippage()),
+                    get("pump-threshold", Double.class, defaults.pumpThreshold()),
+                    get("horizon-bars", Integer.class, defaults.horizonBars()),
+                    get("warmup-bars", Integer.class, defaults.warmupBars()));
+            String markets = get("markets", String.class, "");
+            List<String> targets = markets.isBlank() ? List.of() : Arrays.stream(markets.split(","))
+                    .map(String::trim)
+                    .filter(m -> !m.isEmpty())
+                    .toList();
+            LocalDateTime to = LocalDateTime.now(ZoneOffset.UTC);
+
+            BacktestResult result = backtestService.run(targets, to.minusDays(get("days", Integer.class, 30)), to, params);
+
+            ObjectMapper writer = objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT);
+            String output = get("output", String.class, "");
+            if (output.isBlank()) {
+                System.out.println(writer.writeValueAsString(result));
+            } else {
+                writer.writeValue(new File(output), result);
+                log.info("백테스트 결과 저장: {}", output);
+            }
+        } catch (Exception e) {
+            log.error("백테스트 실패: {}", e.getMessage(), e);
+            exitCode = 1;
+        }
+        int code = exitCode;
+        System.exit(SpringApplication.exit(context, () -> code));
+    }
+
+    private <T> T get(String key, Class<T> type, T defaultValue) {
+        return environment.getProperty(PREFIX + key, type, defaultValue);
+    }
+}
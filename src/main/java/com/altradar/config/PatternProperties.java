@@ -0,0 +1,41 @@
+package com.altradar.config;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * 캔들 패턴(복합 이벤트) 설정 (application.yml의 patterns).
+ * 패턴은 순서대로 일어나야 하는 단계 목록이며, 단계 조건은 Pump Score 규칙과 같은 DSL을 씁니다.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "patterns")
+public class PatternProperties {
+
+    // 최근 매칭 이벤트 보관 개수
+    private int maxEvents = 500;
+
+    private Map<String, Pattern> definitions = new LinkedHashMap<>();
+
+    @Data
+    public static class Pattern {
+        // 첫 단계부터 마지막 단계까지 허용 시간(분), 0이면 제한 없음
+        private long window;
+        private List<Step> steps = new ArrayList<>();
+    }
+
+    @Data
+    public static class Step {
+        private String name;
+        private String when;
+        // 직전 단계 이후 허용 시간(분), 0이면 window만 적용
+        private long within;
+    }
+}
@@ -0,0 +1,37 @@
+package com.altradar.config;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * Pump Score 규칙 설정 (application.yml의 pump-score).
+ * file을 지정하면 같은 형식의 외부 YAML을 주기적으로 확인해 바뀌면 다시 컴파일합니다.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "pump-score")
+public class PumpScoreProperties {
+
+    // 기본 점수로 쓸 규칙 집합 (비어 있으면 첫 번째)
+    private String active;
+
+    private double maxScore = 100;
+
+    // 핫 리로드용 외부 규칙 파일 (선택)
+    private String file;
+
+    private Map<String, List<Rule>> ruleSets = new LinkedHashMap<>();
+
+    @Data
+    public static class Rule {
+        private String name;
+        private String when;
+        private double score;
+    }
+}
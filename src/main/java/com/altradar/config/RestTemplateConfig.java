@@ -31,7 +31,7 @@ public class RestTemplateConfig {
     // ✅ live 프로파일 전용 secure RestTemplate
     @Bean
     @Profile("live")
-    public RestTemplate secureRestTemplate() {
+    public RestTemplate secureRestTemplate(UpbitThrottleInterceptor upbitThrottleInterceptor) {
         PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
         connectionManager.setDefaultMaxPerRoute(400);
         connectionManager.setMaxTotal(1000);
@@ -43,12 +43,14 @@ public class RestTemplateConfig {
                 .build();
 
         HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
-        return new RestTemplate(requestFactory);
+        RestTemplate restTemplate = new RestTemplate(requestFactory);
+        restTemplate.getInterceptors().add(upbitThrottleInterceptor);
+        return restTemplate;
     }
 
     @Bean
     @Profile("!live")
-    public RestTemplate insecureRestTemplate() throws KeyStoreException, NoSuchAlgorithmException, KeyManagementException { 
+    public RestTemplate insecureRestTemplate(UpbitThrottleInterceptor upbitThrottleInterceptor) throws KeyStoreException, NoSuchAlgorithmException, KeyManagementException { 
     	// Create an SSL context that bypasses certificate validation
 
     	        RestTemplateBuilder builder = new RestTemplateBuilder();
@@ -84,8 +86,10 @@ public class RestTemplateConfig {
     	        HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory(httpClient);
 
     	        // Build the RestTemplate using the custom request factory
+    	        // Remaining-Req 기반 속도 조절 및 429/5xx 재시도
     	        return builder
     	                .requestFactory(() -> factory)
+    	                .additionalInterceptors(upbitThrottleInterceptor)
     	                .build();
     	}
 }
\ No newline at end of file
@@ -0,0 +1,90 @@
+package com.altradar.config;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+import com.altradar.service.UpbitRateLimiter;
+import com.altradar.service.UpbitRateLimiter.EndpointGroup;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 업비트 응답의 Remaining-Req 헤더로 요청 속도를 조절하고,
+ * 429/5xx 응답은 해당 요청만 jitter가 있는 지수 백오프로 재시도합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UpbitThrottleInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final String UPBIT_HOST = "api.upbit.com";
+    private static final String REMAINING_REQ_HEADER = "Remaining-Req";
+
+    private final UpbitRateLimiter rateLimiter;
+
+    @Value("${upbit.retry.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${upbit.retry.base-backoff-ms:100}")
+    private long baseBackoffMs;
+
+    @Value("${upbit.retry.max-backoff-ms:2000}")
+    private long maxBackoffMs;
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (!UPBIT_HOST.equals(request.getURI().getHost())) {
+            return execution.execute(request, body);
+        }
+
+        EndpointGroup group = UpbitRateLimiter.groupOf(request.getURI().toString());
+        for (int attempt = 1; ; attempt++) {
+            ClientHttpResponse response = execution.execute(request, body);
+            rateLimiter.onRemainingReq(response.getHeaders().getFirst(REMAINING_REQ_HEADER), group);
+
+            HttpStatusCode status = response.getStatusCode();
+            // 재시도 여부와 관계없이 429마다 그룹 속도를 낮춤
+            if (status.value() == 429) {
+                rateLimiter.onThrottled(group);
+            }
+            boolean retryable = status.value() == 429 || status.is5xxServerError();
+            if (!retryable || attempt >= maxAttempts) {
+                return response;
+            }
+            response.close();
+
+            long backoff = backoffMillis(attempt);
+            log.debug("업비트 {} 응답, {} ms 후 재시도 ({}/{}): {}",
+                    status.value(), backoff, attempt, maxAttempts, request.getURI());
+            sleep(backoff);
+
+            // 재시도도 같은 그룹의 한도를 소비
+            rateLimiter.acquire(group);
+        }
+    }
+
+    // full jitter: [0, min(max, base * 2^(attempt-1))]
+    private long backoffMillis(int attempt) {
+        long ceiling = Math.min(maxBackoffMs, baseBackoffMs << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private void sleep(long millis) throws IOException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("재시도 대기 중 인터럽트", e);
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.altradar.controller;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -9,14 +11,21 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.altradar.model.CryptoCoin;
+import com.altradar.model.dto.BacktestParams;
+import com.altradar.model.dto.BacktestResult;
 import com.altradar.model.dto.PumpAnalysisResult;
+import com.altradar.model.dto.SweepResult;
+import com.altradar.model.dto.SweepSpec;
 import com.altradar.repository.CryptoCoinRepository;
+import com.altradar.service.BacktestService;
 import com.altradar.service.CryptoDataService;
+import com.altradar.service.ParameterSweepService;
 import com.altradar.service.TechnicalAnalysisService;
 
 import lombok.RequiredArgsConstructor;
@@ -31,6 +40,8 @@ public class CryptoController {
     private final CryptoCoinRepository cryptoCoinRepository;
     private final CryptoDataService cryptoDataService;
     private final TechnicalAnalysisService technicalAnalysisService;
+    private final BacktestService backtestService;
+    private final ParameterSweepService parameterSweepService;
     
     /**
      * 상위 급등 가능성 코인들을 조회합니다
@@ -184,6 +195,74 @@ public class CryptoController {
         }
     }
     
+    /**
+     * 저장된 가격 이력으로 pumpScore 신호를 백테스트합니다 (비율 값은 소수, 0.05 = 5%)
+     */
+    @PostMapping("/backtest")
+    public ResponseEntity<BacktestResult> backtest(
+            @RequestParam(required = false) List<String> markets,
+            @RequestParam(defaultValue = "30") int days,
+            @RequestParam(defaultValue = "70") double entryScore,
+            @RequestParam(defaultValue = "50") double exitScore,
+            @RequestParam(defaultValue = "0.05") double takeProfit,
+            @RequestParam(defaultValue = "0.03") double stopLoss,
+            @RequestParam(defaultValue = "60") int maxHoldBars,
+            @RequestParam(defaultValue = "0.0005") double feeRate,
+            @RequestParam(defaultValue = "0.001") double slippage,
+            @RequestParam(defaultValue = "0.05") double pumpThreshold,
+            @RequestParam(defaultValue = "60") int horizonBars,
+            @RequestParam(defaultValue = "60") int warmupBars) {
+        try {
+            BacktestParams params = new BacktestParams(entryScore, exitScore, takeProfit, stopLoss, maxHoldBars,
+                    feeRate, slippage, pumpThreshold, horizonBars, warmupBars);
+            LocalDateTime to = LocalDateTime.now(ZoneOffset.UTC);
+            return ResponseEntity.ok(backtestService.run(markets, to.minusDays(days), to, params));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * 지표 기간/점수 기준 파라미터 스윕을 시작합니다 (비동기, 진행 상황은 조회 API로 확인)
+     */
+    @PostMapping("/backtest/sweep")
+    public ResponseEntity<SweepResult> startSweep(@RequestBody SweepSpec spec) {
+        try {
+            return ResponseEntity.ok(parameterSweepService.start(spec));
+        } catch (IllegalArgumentException e) {
+            log.warn("파라미터 스윕 요청 오류: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * 파라미터 스윕 진행 상황과 상위 조합을 조회합니다
+     */
+    @GetMapping("/backtest/sweep/{id}")
+    public ResponseEntity<SweepResult> getSweep(@PathVariable String id,
+                                                @RequestParam(defaultValue = "20") int top) {
+        return parameterSweepService.status(id, top)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    @PostMapping("/backtest/sweep/{id}/cancel")
+    public ResponseEntity<SweepResult> cancelSweep(@PathVariable String id) {
+        return parameterSweepService.cancel(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    /**
+     * 취소/중단된 스윕을 마지막 체크포인트부터 이어서 실행합니다
+     */
+    @PostMapping("/backtest/sweep/{id}/resume")
+    public ResponseEntity<SweepResult> resumeSweep(@PathVariable String id) {
+        return parameterSweepService.resume(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
     /**
      * 특정 코인의 분석을 다시 수행합니다
      */
@@ -5,15 +5,34 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.altradar.model.dto.AnalysisResult;
+import com.altradar.model.dto.IndicatorSeriesResult;
+import com.altradar.model.dto.OrderBookFeatures;
+import com.altradar.model.dto.PatternEvent;
+import com.altradar.model.dto.SecondBar;
+import com.altradar.model.dto.VolumeProfile;
+import com.altradar.service.LiveMarketState;
+import com.altradar.service.MarketCatalog;
+import com.altradar.service.MarketRanking;
+import com.altradar.service.OrderBookService;
+import com.altradar.service.PatternDetector;
+import com.altradar.service.PumpScoreRules;
+import com.altradar.service.TradeTickPipeline;
 import com.altradar.service.UpbitDataService;
+import com.altradar.service.UpbitRateLimiter;
+import com.altradar.service.VolumeSketchStore;
 
 import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 @RestController
 @RequiredArgsConstructor
@@ -21,22 +40,39 @@ import lombok.RequiredArgsConstructor;
 public class UpbitController {
 
     private final UpbitDataService upbitDataService;
+    private final UpbitRateLimiter upbitRateLimiter;
+    private final LiveMarketState liveMarketState;
+    private final MarketCatalog marketCatalog;
+    private final PumpScoreRules pumpScoreRules;
+    private final VolumeSketchStore volumeSketchStore;
+    private final MarketRanking marketRanking;
+    private final PatternDetector patternDetector;
+    private final OrderBookService orderBookService;
+    private final TradeTickPipeline tradeTickPipeline;
 
     // ✅ 현재 시세 수집
     /**
      * 정기적인 데이터 업데이트
      */
     @PostMapping("/collect")
-    public Map<String, Object> collectCurrentData(@RequestParam(required = false) List<String> markets) {
+    public Map<String, Object> collectCurrentData(@RequestParam(required = false) List<String> markets,
+                                                  @RequestParam(defaultValue = "true") boolean concurrent,
+                                                  @RequestParam(defaultValue = "false") boolean batch) {
         Map<String, Object> res = new HashMap<>();
         try {
             if (markets == null || markets.isEmpty()) {
                 markets = upbitDataService.getAllKrwMarkets();
             }
-            List<Map<String, Object>> data = upbitDataService.getMultipleMarketAnalysis(markets);
+            long started = System.currentTimeMillis();
+            List<AnalysisResult> data = batch
+                    ? upbitDataService.getMultipleMarketAnalysisBatch(markets)
+                    : concurrent
+                    ? upbitDataService.getMultipleMarketAnalysisConcurrent(markets)
+                    : upbitDataService.getMultipleMarketAnalysis(markets);
 
             res.put("status", "success");
             res.put("message", "현재 시세 수집 완료 (" + data.size() + "개 마켓)");
+            res.put("scanTimeMs", System.currentTimeMillis() - started);
             res.put("timestamp", Instant.now().getEpochSecond());
             res.put("data", data);
         } catch (Exception e) {
@@ -46,6 +82,15 @@ public class UpbitController {
         return res;
     }
 
+    // ✅ 논블로킹 스캔: 분석이 끝나는 마켓부터 SSE로 전송
+    @GetMapping(value = "/collect/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<AnalysisResult> streamCurrentData(@RequestParam(required = false) List<String> markets) {
+        Mono<List<String>> targets = markets == null || markets.isEmpty()
+                ? Mono.fromCallable(upbitDataService::getAllKrwMarkets).subscribeOn(Schedulers.boundedElastic())
+                : Mono.just(markets);
+        return targets.flatMapMany(upbitDataService::streamMarketAnalysis);
+    }
+
     // ✅ 과거 데이터 수집 (예: 최근 200개 1분봉)
     @PostMapping("/collect/historical")
     public Map<String, Object> collectHistoricalData(@RequestParam(required = false) String market) {
@@ -54,8 +99,73 @@ public class UpbitController {
             if (market == null || market.isBlank()) {
                 market = "KRW-BTC"; // 기본값: 비트코인
             }
-            Map<String, Object> data = upbitDataService.getMarketAnalysis(market);
+            AnalysisResult data = upbitDataService.getMarketAnalysis(market);
+
+            res.put("status", "success");
+            res.put("timestamp", Instant.now().getEpochSecond());
+            res.put("data", data);
+        } catch (Exception e) {
+            res.put("status", "error");
+            res.put("message", e.getMessage());
+        }
+        return res;
+    }
+
+    // ✅ 지표 시계열 (차트용): 마지막 window개 봉 중 step 간격
+    @GetMapping("/collect/historical/series")
+    public Map<String, Object> collectIndicatorSeries(@RequestParam(required = false) String market,
+                                                      @RequestParam(defaultValue = "1m") String timeframe,
+                                                      @RequestParam(defaultValue = "200") int window,
+                                                      @RequestParam(defaultValue = "1") int step) {
+        Map<String, Object> res = new HashMap<>();
+        try {
+            if (market == null || market.isBlank()) {
+                market = "KRW-BTC"; // 기본값: 비트코인
+            }
+            IndicatorSeriesResult data = upbitDataService.getIndicatorSeries(market, timeframe,
+                    Math.max(1, window), Math.max(1, step));
+
+            res.put("status", "success");
+            res.put("timestamp", Instant.now().getEpochSecond());
+            res.put("data", data);
+        } catch (Exception e) {
+            res.put("status", "error");
+            res.put("message", e.getMessage());
+        }
+        return res;
+    }
+
+    // ✅ 거래량 분위수: 마지막 닫힌 1분봉 거래량의 1h/24h/7d 분포 내 위치
+    @GetMapping("/volume-profile")
+    public Map<String, Object> getVolumeProfile(@RequestParam(required = false) String market) {
+        Map<String, Object> res = new HashMap<>();
+        try {
+            if (market == null || market.isBlank()) {
+                market = "KRW-BTC"; // 기본값: 비트코인
+            }
+            VolumeProfile data = upbitDataService.getVolumeProfile(market);
+
+            res.put("status", "success");
+            res.put("timestamp", Instant.now().getEpochSecond());
+            res.put("data", data);
+        } catch (Exception e) {
+            res.put("status", "error");
+            res.put("message", e.getMessage());
+        }
+        return res;
+    }
 
+    // ✅ 호가 지표: 스프레드, 잔량 불균형(1/5/전체 단계), 깊이 기울기
+    @GetMapping("/orderbook")
+    public Map<String, Object> getOrderBook(@RequestParam(defaultValue = "KRW-BTC") String market) {
+        Map<String, Object> res = new HashMap<>();
+        try {
+            OrderBookFeatures data = orderBookService.getOrderBook(market);
+            if (data == null) {
+                res.put("status", "error");
+                res.put("message", "호가 없음: " + market);
+                return res;
+            }
             res.put("status", "success");
             res.put("timestamp", Instant.now().getEpochSecond());
             res.put("data", data);
@@ -66,6 +176,81 @@ public class UpbitController {
         return res;
     }
 
+    // ✅ 1초봉: 스트리밍 체결 틱으로 만든 최근 닫힌 1초봉 (VWAP, 매수/매도 거래량, 체결 수)
+    @GetMapping("/bars/1s")
+    public Map<String, Object> getSecondBars(@RequestParam(defaultValue = "KRW-BTC") String market,
+                                             @RequestParam(defaultValue = "60") int limit) {
+        Map<String, Object> res = new HashMap<>();
+        List<SecondBar> data = tradeTickPipeline.recentBars(market, limit);
+        res.put("status", "success");
+        res.put("timestamp", Instant.now().getEpochSecond());
+        res.put("data", data);
+        return res;
+    }
+
+    // ✅ 횡단면 순위: 지표(pumpScore, change1m, change5m, change1h)별 상위/하위 top개
+    @GetMapping("/ranking")
+    public Map<String, Object> getRanking(@RequestParam(defaultValue = "pumpScore") String metric,
+                                          @RequestParam(defaultValue = "10") int top,
+                                          @RequestParam(defaultValue = "desc") String order) {
+        Map<String, Object> res = new HashMap<>();
+        MarketRanking.Metric target = MarketRanking.Metric.fromLabel(metric);
+        if (target == null) {
+            res.put("status", "error");
+            res.put("message", "지원하지 않는 지표: " + metric);
+            return res;
+        }
+        res.put("status", "success");
+        res.put("timestamp", Instant.now().getEpochSecond());
+        res.put("data", marketRanking.top(target, top, !"asc".equalsIgnoreCase(order)));
+        return res;
+    }
+
+    // ✅ 마켓 하나의 지표별 순위/백분위/z-score
+    @GetMapping("/ranking/market")
+    public Map<String, Object> getMarketRanking(@RequestParam(required = false) String market) {
+        Map<String, Object> res = new HashMap<>();
+        if (market == null || market.isBlank()) {
+            market = "KRW-BTC"; // 기본값: 비트코인
+        }
+        res.put("status", "success");
+        res.put("timestamp", Instant.now().getEpochSecond());
+        res.put("data", marketRanking.positions(market));
+        return res;
+    }
+
+    // ✅ 캔들 패턴: 설정/처리 현황, 최근 매칭 이벤트, 실시간 이벤트(SSE)
+    @GetMapping("/patterns")
+    public Map<String, Object> getPatterns() {
+        return patternDetector.status();
+    }
+
+    @GetMapping("/patterns/events")
+    public Map<String, Object> getPatternEvents(@RequestParam(required = false) String market,
+                                                @RequestParam(defaultValue = "50") int limit) {
+        Map<String, Object> res = new HashMap<>();
+        res.put("status", "success");
+        res.put("timestamp", Instant.now().getEpochSecond());
+        res.put("data", patternDetector.recentEvents(market, Math.max(0, limit)));
+        return res;
+    }
+
+    @GetMapping(value = "/patterns/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<PatternEvent> streamPatternEvents() {
+        return patternDetector.events();
+    }
+
+    // ✅ Pump Score 규칙 조회 / 리로드
+    @GetMapping("/pump-score/rules")
+    public Map<String, Object> getPumpScoreRules() {
+        return pumpScoreRules.status();
+    }
+
+    @PostMapping("/pump-score/rules/reload")
+    public Map<String, Object> reloadPumpScoreRules() {
+        return pumpScoreRules.reload();
+    }
+
     // ✅ Upbit API 상태 확인
     @GetMapping("/status")
     public Map<String, Object> getUpbitApiStatus() {
@@ -74,6 +259,15 @@ public class UpbitController {
             List<String> markets = upbitDataService.getAllKrwMarkets();
             res.put("status", "running");
             res.put("marketCount", markets.size());
+            res.put("rateLimit", upbitRateLimiter.snapshot());
+            res.put("streaming", liveMarketState.snapshot());
+            res.put("catalog", marketCatalog.status());
+            res.put("singleFlight", upbitDataService.singleFlightMetrics());
+            res.put("batchKernel", upbitDataService.batchKernelInfo());
+            res.put("volumeSketch", volumeSketchStore.status());
+            res.put("ranking", marketRanking.status());
+            res.put("orderbook", orderBookService.status());
+            res.put("ticks", tradeTickPipeline.status());
             res.put("timestamp", Instant.now().getEpochSecond());
         } catch (Exception e) {
             res.put("status", "error");
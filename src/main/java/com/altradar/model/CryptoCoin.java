@@ -2,7 +2,8 @@ package com.altradar.model;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.Map;
+
+import com.altradar.model.dto.AnalysisResult;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -11,6 +12,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -22,9 +24,13 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 public class CryptoCoin {
+
+    // BulkWriteRepository도 같은 블록 크기로 id를 배정
+    public static final int ID_ALLOCATION_SIZE = 50;
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "crypto_coins_seq")
+    @SequenceGenerator(name = "crypto_coins_seq", sequenceName = "crypto_coins_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
     
     @Column(unique = true, nullable = false)
@@ -73,52 +79,24 @@ public class CryptoCoin {
         LOW, MEDIUM, HIGH
     }
     
-    public static CryptoCoin fromAnalysisResult(Map<String, Object> analysis) {
+    public static CryptoCoin fromAnalysisResult(AnalysisResult analysis) {
         CryptoCoin coin = new CryptoCoin();
 
-        coin.setCoinId((String) analysis.get("symbol"));
-        coin.setSymbol((String) analysis.get("symbol"));
-        coin.setName((String) analysis.getOrDefault("name", (String) analysis.get("symbol")));
-
-        // 가격 관련 값 변환 (null 안전 처리)
-        coin.setCurrentPrice(toBigDecimal(analysis.get("price")));
-        coin.setMarketCap(toBigDecimal(analysis.get("marketCap")));
-        coin.setVolume24h(toBigDecimal(analysis.get("volume24h")));
-        coin.setPriceChange24h(toBigDecimal(analysis.get("priceChange24h")));
-        coin.setPriceChangePercentage24h(toBigDecimal(analysis.get("priceChangePercentage24h")));
-        coin.setPumpScore(toBigDecimal(analysis.get("pumpScore")));
-
-        // 트렌드와 리스크는 분석 결과에 있으면 설정
-        if (analysis.containsKey("trend") && analysis.get("trend") != null) {
-            try {
-                coin.setTrend(TrendType.valueOf(((String) analysis.get("trend")).toUpperCase()));
-            } catch (IllegalArgumentException e) {
-                coin.setTrend(null);
-            }
-        }
+        coin.setCoinId(analysis.symbol());
+        coin.setSymbol(analysis.symbol());
+        coin.setName(analysis.name() != null ? analysis.name() : analysis.symbol());
 
-        if (analysis.containsKey("riskLevel") && analysis.get("riskLevel") != null) {
-            try {
-                coin.setRiskLevel(RiskLevel.valueOf(((String) analysis.get("riskLevel")).toUpperCase()));
-            } catch (IllegalArgumentException e) {
-                coin.setRiskLevel(null);
-            }
-        }
+        // 가격 관련 값 변환 (값이 없으면 null)
+        coin.setCurrentPrice(toBigDecimal(analysis.price()));
+        coin.setPumpScore(toBigDecimal(analysis.pumpScore()));
 
         coin.setLastUpdated(LocalDateTime.now());
-        coin.setSignals((String) analysis.get("signals"));
 
         return coin;
     }
 
-    private static BigDecimal toBigDecimal(Object value) {
-        if (value == null) return null;
-        if (value instanceof BigDecimal) return (BigDecimal) value;
-        try {
-            return new BigDecimal(value.toString());
-        } catch (NumberFormatException e) {
-            return null;
-        }
+    private static BigDecimal toBigDecimal(double value) {
+        return Double.isFinite(value) ? BigDecimal.valueOf(value) : null;
     }
     
 } 
\ No newline at end of file
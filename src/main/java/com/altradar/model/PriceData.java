@@ -13,9 +13,13 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 public class PriceData {
+
+    // 시퀀스 값 하나로 id 50개를 쓰는 pooled 방식 (IDENTITY는 INSERT마다 키를 받아야 해서 JDBC 배치가 꺼짐)
+    public static final int ID_ALLOCATION_SIZE = 50;
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "price_data_seq")
+    @SequenceGenerator(name = "price_data_seq", sequenceName = "price_data_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
     
     @ManyToOne
@@ -0,0 +1,122 @@
+package com.altradar.model.dto;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * 마켓 하나의 기술 분석 결과 (불변, primitive 필드).
+ * 분석 → 점수 → 저장 → JSON 응답까지 그대로 전달되며, 값이 없는 지표는 NaN입니다.
+ * symbol/name 등 마켓 정보는 withMarket으로 붙이고, timeframes는 상위 타임프레임별 결과입니다.
+ */
+@JsonSerialize(using = AnalysisResult.Serializer.class)
+public record AnalysisResult(
+        String symbol,
+        String name,
+        String englishName,
+        boolean marketWarning,
+        double price,
+        double ma5,
+        double ma20,
+        double ma60,
+        double rsi,
+        double bbUpper,
+        double bbMiddle,
+        double bbLower,
+        double macdLine,
+        double signalLine,
+        boolean volumeSpike,
+        double pumpScore,
+        List<String> scoreSets,
+        double[] scores,
+        int bars,
+        Map<String, AnalysisResult> timeframes) {
+
+    /**
+     * @param scoreSets 규칙 집합 이름 (규칙 북과 공유하는 불변 목록)
+     * @param scores    집합별 점수 (scoreSets 순서), pumpScore는 활성 집합의 점수
+     */
+    public static AnalysisResult of(double ma5, double ma20, double ma60, double rsi,
+                                    double bbUpper, double bbMiddle, double bbLower,
+                                    double macdLine, double signalLine, boolean volumeSpike,
+                                    double pumpScore, List<String> scoreSets, double[] scores) {
+        return new AnalysisResult(null, null, null, false, Double.NaN, ma5, ma20, ma60, rsi,
+                bbUpper, bbMiddle, bbLower, macdLine, signalLine, volumeSpike, pumpScore, scoreSets, scores, 0, null);
+    }
+
+    // 마켓 코드/현재가/이름을 붙인 사본
+    public AnalysisResult withMarket(String symbol, double price, String name, String englishName, boolean marketWarning) {
+        return new AnalysisResult(symbol, name, englishName, marketWarning, price, ma5, ma20, ma60, rsi,
+                bbUpper, bbMiddle, bbLower, macdLine, signalLine, volumeSpike, pumpScore, scoreSets, scores, bars, timeframes);
+    }
+
+    public AnalysisResult withBars(int bars) {
+        return new AnalysisResult(symbol, name, englishName, marketWarning, price, ma5, ma20, ma60, rsi,
+                bbUpper, bbMiddle, bbLower, macdLine, signalLine, volumeSpike, pumpScore, scoreSets, scores, bars, timeframes);
+    }
+
+    public AnalysisResult withTimeframes(Map<String, AnalysisResult> timeframes) {
+        return new AnalysisResult(symbol, name, englishName, marketWarning, price, ma5, ma20, ma60, rsi,
+                bbUpper, bbMiddle, bbLower, macdLine, signalLine, volumeSpike, pumpScore, scoreSets, scores, bars, timeframes);
+    }
+
+    /**
+     * primitive 필드를 바로 쓰는 직렬화기 (기존 Map 응답과 같은 키).
+     */
+    public static class Serializer extends StdSerializer<AnalysisResult> {
+
+        public Serializer() {
+            super(AnalysisResult.class);
+        }
+
+        @Override
+        public void serialize(AnalysisResult r, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            if (r.symbol != null) {
+                gen.writeStringField("symbol", r.symbol);
+                gen.writeNumberField("price", r.price);
+            }
+            if (r.name != null) {
+                gen.writeStringField("name", r.name);
+                gen.writeStringField("englishName", r.englishName);
+                gen.writeBooleanField("marketWarning", r.marketWarning);
+            }
+            gen.writeNumberField("ma5", r.ma5);
+            gen.writeNumberField("ma20", r.ma20);
+            gen.writeNumberField("ma60", r.ma60);
+            gen.writeNumberField("rsi", r.rsi);
+            gen.writeNumberField("bbUpper", r.bbUpper);
+            gen.writeNumberField("bbMiddle", r.bbMiddle);
+            gen.writeNumberField("bbLower", r.bbLower);
+            gen.writeNumberField("macdLine", r.macdLine);
+            gen.writeNumberField("signalLine", r.signalLine);
+            gen.writeBooleanField("volumeSpike", r.volumeSpike);
+            gen.writeNumberField("pumpScore", r.pumpScore);
+            // 규칙 집합이 여러 개면 집합별 점수도 함께 출력
+            if (r.scoreSets != null && r.scoreSets.size() > 1) {
+                gen.writeObjectFieldStart("scores");
+                for (int i = 0; i < r.scoreSets.size(); i++) {
+                    gen.writeNumberField(r.scoreSets.get(i), r.scores[i]);
+                }
+                gen.writeEndObject();
+            }
+            if (r.bars > 0) {
+                gen.writeNumberField("bars", r.bars);
+            }
+            if (r.timeframes != null) {
+                gen.writeObjectFieldStart("timeframes");
+                for (Map.Entry<String, AnalysisResult> entry : r.timeframes.entrySet()) {
+                    gen.writeFieldName(entry.getKey());
+                    serialize(entry.getValue(), gen, provider);
+                }
+                gen.writeEndObject();
+            }
+            gen.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.altradar.model.dto;
+
+/**
+ * 백테스트 설정. 비율 값은 모두 소수(0.05 = 5%)입니다.
+ *
+ * @param entryScore    pumpScore가 이 값 이상으로 올라서는 봉에서 신호 (다음 봉 종가에 진입)
+ * @param exitScore     보유 중 pumpScore가 이 값 미만이면 청산
+ * @param takeProfit    익절 수익률
+ * @param stopLoss      손절 손실률
+ * @param maxHoldBars   최대 보유 봉 수
+ * @param feeRate       매수/매도 각각의 수수료율 (업비트 KRW 0.05%)
+ * @param slippage      체결 가격 불리 비율 (매수는 위로, 매도는 아래로)
+ * @param pumpThreshold 급등 기준 상승률 (신호 적중/급등 구간 판정)
+ * @param horizonBars   급등 판정 구간 (신호 후 / 급등 전 봉 수)
+ * @param warmupBars    점수를 계산하기 시작하는 봉 수 (지표 워밍업)
+ */
+public record BacktestParams(
+        double entryScore,
+        double exitScore,
+        double takeProfit,
+        double stopLoss,
+        int maxHoldBars,
+        double feeRate,
+        double slippage,
+        double pumpThreshold,
+        int horizonBars,
+        int warmupBars) {
+
+    public BacktestParams {
+        if (maxHoldBars < 1 || horizonBars < 1 || warmupBars < 1) {
+            throw new IllegalArgumentException("maxHoldBars, horizonBars, warmupBars는 1 이상이어야 합니다");
+        }
+        if (feeRate < 0 || slippage < 0 || takeProfit <= 0 || stopLoss <= 0 || pumpThreshold <= 0) {
+            throw new IllegalArgumentException("비율 값이 올바르지 않습니다");
+        }
+    }
+
+    public BacktestParams withEntryScore(double entryScore) {
+        return new BacktestParams(entryScore, exitScore, takeProfit, stopLoss, maxHoldBars, feeRate, slippage,
+                pumpThreshold, horizonBars, warmupBars);
+    }
+
+    public static BacktestParams defaults() {
+        return new BacktestParams(70, 50, 0.05, 0.03, 60, 0.0005, 0.001, 0.05, 60, 60);
+    }
+}
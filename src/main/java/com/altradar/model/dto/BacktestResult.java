@@ -0,0 +1,65 @@
+package com.altradar.model.dto;
+
+import java.util.List;
+
+import com.altradar.util.Backtester;
+
+/**
+ * 백테스트 결과: 전체 합계와 마켓별 통계. 분모가 0인 비율은 NaN입니다.
+ *
+ * @param ruleSet     점수 계산에 쓴 규칙 집합 (활성 집합)
+ * @param parallelism fork/join 병렬도
+ * @param elapsedMs   로드 + 시뮬레이션 시간
+ */
+public record BacktestResult(
+        String ruleSet,
+        BacktestParams params,
+        int parallelism,
+        long elapsedMs,
+        MarketStats total,
+        List<MarketStats> markets) {
+
+    /**
+     * @param hitRate            신호 중 horizonBars 안에 pumpThreshold 이상 오른 비율
+     * @param pumpRecall         급등 구간 중 상승 시작 ~ 급등 사이에 신호가 있었던 비율
+     * @param avgLeadMs          적중 신호에서 목표 상승까지 걸린 평균 시간
+     * @param avgSignalLatencyMs 포착한 급등에서 상승 시작부터 신호까지 걸린 평균 시간
+     * @param totalReturn        수수료/슬리피지 반영 누적 수익률 (합계는 마켓 평균)
+     * @param buyAndHold         점수 계산 시작 시점부터 보유했을 때의 수익률 (합계는 마켓 평균)
+     * @param maxDrawdown        평가 손익 기준 최대 낙폭 (합계는 마켓 중 최대)
+     * @param exposure           포지션 보유 봉 비율
+     */
+    public record MarketStats(
+            String market,
+            long bars,
+            long signals,
+            long hits,
+            double hitRate,
+            long pumps,
+            long caught,
+            double pumpRecall,
+            double avgLeadMs,
+            double avgSignalLatencyMs,
+            long trades,
+            double winRate,
+            double avgTradeReturn,
+            double totalReturn,
+            double buyAndHold,
+            double maxDrawdown,
+            double exposure) {
+
+        public static MarketStats of(String market, Backtester.Stats s) {
+            return new MarketStats(market, s.bars,
+                    s.signals, s.hits, ratio(s.hits, s.signals),
+                    s.pumps, s.caught, ratio(s.caught, s.pumps),
+                    ratio(s.leadMsSum, s.hits), ratio(s.latencyMsSum, s.caught),
+                    s.trades, ratio(s.wins, s.trades), ratio(s.tradeReturnSum, s.trades),
+                    ratio(s.totalReturn, s.markets), ratio(s.buyAndHold, s.markets),
+                    s.maxDrawdown, ratio(s.exposureBars, s.bars));
+        }
+
+        private static double ratio(double value, double count) {
+            return count > 0 ? value / count : Double.NaN;
+        }
+    }
+}
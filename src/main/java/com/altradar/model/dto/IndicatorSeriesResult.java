@@ -0,0 +1,59 @@
+package com.altradar.model.dto;
+
+import java.io.IOException;
+
+import com.altradar.util.IndicatorSeries;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * 차트용 지표 시계열 응답. 지표별 배열이 같은 인덱스(같은 캔들 시각)로 정렬되어 있습니다.
+ */
+@JsonSerialize(using = IndicatorSeriesResult.Serializer.class)
+public record IndicatorSeriesResult(String market, String timeframe, int window, int step, IndicatorSeries series) {
+
+    /**
+     * 컬럼 배열을 그대로 JSON 배열로 쓰는 직렬화기 (size까지만).
+     */
+    public static class Serializer extends StdSerializer<IndicatorSeriesResult> {
+
+        public Serializer() {
+            super(IndicatorSeriesResult.class);
+        }
+
+        @Override
+        public void serialize(IndicatorSeriesResult r, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            IndicatorSeries s = r.series;
+            int n = s.size;
+            gen.writeStartObject();
+            gen.writeStringField("market", r.market);
+            gen.writeStringField("timeframe", r.timeframe);
+            gen.writeNumberField("window", r.window);
+            gen.writeNumberField("step", r.step);
+            gen.writeNumberField("size", n);
+            gen.writeFieldName("time");
+            gen.writeArray(s.startTimes, 0, n);
+            writeColumn(gen, "close", s.closes, n);
+            writeColumn(gen, "ma5", s.ma5, n);
+            writeColumn(gen, "ma20", s.ma20, n);
+            writeColumn(gen, "ma60", s.ma60, n);
+            writeColumn(gen, "rsi", s.rsi, n);
+            writeColumn(gen, "bbUpper", s.bbUpper, n);
+            writeColumn(gen, "bbMiddle", s.bbMiddle, n);
+            writeColumn(gen, "bbLower", s.bbLower, n);
+            writeColumn(gen, "macdLine", s.macdLine, n);
+            writeColumn(gen, "signalLine", s.signalLine, n);
+            gen.writeArrayFieldStart("volumeSpike");
+            for (int i = 0; i < n; i++) gen.writeBoolean(s.volumeSpike[i]);
+            gen.writeEndArray();
+            gen.writeEndObject();
+        }
+
+        private static void writeColumn(JsonGenerator gen, String name, double[] values, int n) throws IOException {
+            gen.writeFieldName(name);
+            gen.writeArray(values, 0, n);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.altradar.model.dto;
+
+import com.altradar.util.OrderBook;
+
+/**
+ * 호가 스냅샷 하나에서 계산한 지표. imbalance5는 상위 5단계, imbalance는 전체 단계 기준입니다.
+ */
+public record OrderBookFeatures(String market, long timestamp, int levels, double bestBid, double bestAsk,
+                                double spread, double imbalance1, double imbalance5, double imbalance,
+                                double bidSlope, double askSlope, double slopeRatio) {
+
+    public static OrderBookFeatures of(String market, OrderBook book) {
+        return new OrderBookFeatures(market, book.timestamp, book.levels, book.bestBid(), book.bestAsk(),
+                book.spread(), book.imbalance(1), book.imbalance(5), book.imbalance(0),
+                book.depthSlope(true), book.depthSlope(false), book.slopeRatio());
+    }
+}
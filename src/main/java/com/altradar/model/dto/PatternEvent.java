@@ -0,0 +1,7 @@
+package com.altradar.model.dto;
+
+/**
+ * 캔들 패턴 매칭 이벤트. startTime은 첫 단계, time은 마지막 단계가 성립한 1분봉의 시작 시각입니다.
+ */
+public record PatternEvent(String market, String pattern, long startTime, long time, double close) {
+}
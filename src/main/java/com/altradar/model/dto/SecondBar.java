@@ -0,0 +1,10 @@
+package com.altradar.model.dto;
+
+/**
+ * 체결 틱으로 만든 1초봉. vwap은 이 봉의, runningVwap은 UTC 자정(업비트 일봉 기준)부터 이 봉까지의 거래량 가중 평균가입니다.
+ * buyVolume/sellVolume은 매수/매도 체결(ask_bid) 거래량입니다.
+ */
+public record SecondBar(String market, long startTime, double open, double high, double low, double close,
+                        double volume, double vwap, double runningVwap, double buyVolume, double sellVolume,
+                        int trades) {
+}
@@ -0,0 +1,31 @@
+package com.altradar.model.dto;
+
+import java.util.List;
+
+/**
+ * 파라미터 스윕 작업 상태와 (완료된 마켓까지의) 조합 순위.
+ *
+ * @param combinations 평가할 조합 수
+ * @param progress     완료된 (조합, 마켓) 평가 비율
+ * @param ranking      objective 내림차순 상위 조합 (값이 없는 조합은 뒤로)
+ */
+public record SweepResult(
+        String id,
+        Status status,
+        SweepSpec.Objective objective,
+        String ruleSet,
+        long combinations,
+        int marketsDone,
+        int markets,
+        double progress,
+        long elapsedMs,
+        String error,
+        List<Row> ranking) {
+
+    public enum Status {
+        RUNNING, CANCELLED, DONE, FAILED
+    }
+
+    public record Row(int rank, double objective, SweepSpec.Config config, BacktestResult.MarketStats stats) {
+    }
+}
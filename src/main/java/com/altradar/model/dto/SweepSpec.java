@@ -0,0 +1,104 @@
+package com.altradar.model.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * 지표 기간/점수 기준 파라미터 스윕 요청. 각 목록은 후보 값이며 비어 있으면 현재 값 하나를 씁니다.
+ * 조합 번호는 목록 순서의 혼합 기수(maShort가 가장 빠르게 바뀜)라서 같은 요청이면 항상 같은 조합을 가리킵니다.
+ *
+ * @param mode      GRID는 유효한 조합 전체, RANDOM은 그중 samples개를 seed로 뽑음
+ * @param objective 순위 기준
+ * @param base      청산/수수료 등 조합과 무관한 백테스트 설정 (entryScore는 조합 값으로 대체)
+ */
+public record SweepSpec(
+        List<String> markets,
+        Integer days,
+        Mode mode,
+        Integer samples,
+        Long seed,
+        Objective objective,
+        List<Integer> maShort,
+        List<Integer> maMid,
+        List<Integer> maLong,
+        List<Integer> rsiPeriod,
+        List<Integer> bbPeriod,
+        List<Double> bbK,
+        List<Integer> macdFast,
+        List<Integer> macdSlow,
+        List<Integer> macdSignal,
+        List<Double> volumeMultiplier,
+        List<Double> entryScore,
+        BacktestParams base) {
+
+    public enum Mode {
+        GRID, RANDOM
+    }
+
+    public enum Objective {
+        // 마켓 평균 누적 수익률
+        RETURN,
+        // 신호 적중률
+        HIT_RATE,
+        // 급등 포착률
+        PUMP_RECALL,
+        // 수익률 / 최대 낙폭
+        RETURN_OVER_DRAWDOWN
+    }
+
+    /**
+     * 파라미터 조합 하나.
+     */
+    public record Config(int maShort, int maMid, int maLong, int rsiPeriod, int bbPeriod, double bbK,
+                         int macdFast, int macdSlow, int macdSignal, double volumeMultiplier, double entryScore) {
+
+        // 기간 순서가 뒤집힌 조합은 제외 (MA 단기 < 중기 < 장기, MACD 단기 < 장기)
+        @JsonIgnore
+        public boolean isValid() {
+            return maShort < maMid && maMid < maLong && macdFast < macdSlow
+                    && rsiPeriod > 0 && bbPeriod > 0 && macdSignal > 0 && maShort > 0 && macdFast > 0;
+        }
+    }
+
+    /**
+     * 빈 항목을 현재 분석 설정(MA 5/20/60, RSI 14, BB 20/2, MACD 12/26/9, 거래량 2배, 70점)과 기본값으로 채웁니다.
+     */
+    public SweepSpec withDefaults() {
+        BacktestParams params = base != null ? base : BacktestParams.defaults();
+        return new SweepSpec(markets != null ? markets : List.of(), days != null ? days : 30,
+                mode != null ? mode : Mode.GRID, samples != null ? samples : 1000, seed != null ? seed : 42L,
+                objective != null ? objective : Objective.RETURN,
+                or(maShort, 5), or(maMid, 20), or(maLong, 60), or(rsiPeriod, 14), or(bbPeriod, 20), or(bbK, 2.0),
+                or(macdFast, 12), or(macdSlow, 26), or(macdSignal, 9), or(volumeMultiplier, 2.0),
+                or(entryScore, params.entryScore()), params);
+    }
+
+    private static <T> List<T> or(List<T> values, T current) {
+        return values == null || values.isEmpty() ? List.of(current) : List.copyOf(values);
+    }
+
+    // 격자 전체 크기 (유효하지 않은 조합 포함)
+    public long gridSize() {
+        return (long) maShort.size() * maMid.size() * maLong.size() * rsiPeriod.size() * bbPeriod.size()
+                * bbK.size() * macdFast.size() * macdSlow.size() * macdSignal.size()
+                * volumeMultiplier.size() * entryScore.size();
+    }
+
+    public Config config(long index) {
+        long i = index;
+        int a = (int) (i % maShort.size()); i /= maShort.size();
+        int b = (int) (i % maMid.size()); i /= maMid.size();
+        int c = (int) (i % maLong.size()); i /= maLong.size();
+        int d = (int) (i % rsiPeriod.size()); i /= rsiPeriod.size();
+        int e = (int) (i % bbPeriod.size()); i /= bbPeriod.size();
+        int f = (int) (i % bbK.size()); i /= bbK.size();
+        int g = (int) (i % macdFast.size()); i /= macdFast.size();
+        int h = (int) (i % macdSlow.size()); i /= macdSlow.size();
+        int j = (int) (i % macdSignal.size()); i /= macdSignal.size();
+        int k = (int) (i % volumeMultiplier.size()); i /= volumeMultiplier.size();
+        int l = (int) (i % entryScore.size());
+        return new Config(maShort.get(a), maMid.get(b), maLong.get(c), rsiPeriod.get(d), bbPeriod.get(e), bbK.get(f),
+                macdFast.get(g), macdSlow.get(h), macdSignal.get(j), volumeMultiplier.get(k), entryScore.get(l));
+    }
+}
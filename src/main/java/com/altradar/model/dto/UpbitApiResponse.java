@@ -4,6 +4,8 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
 
 @Data
 public class UpbitApiResponse {
@@ -82,4 +84,64 @@ public class UpbitApiResponse {
     public BigDecimal getPriceChange24h() {
         return changePrice != null ? changePrice : BigDecimal.ZERO;
     }
+    
+    /**
+     * 현재가 응답의 박싱 없는 컬럼 표현.
+     * 조회할 마켓 순서대로 행이 고정되며, 같은 인스턴스를 여러 번 재사용할 수 있습니다.
+     */
+    public static class Columns {
+        private final String[] markets;
+        public final double[] tradePrice;
+        public final double[] changeRate;
+        public final double[] accTradePrice24h;
+        public final long[] timestamp;
+        
+        public Columns(List<String> markets) {
+            this.markets = markets.toArray(new String[0]);
+            int n = this.markets.length;
+            this.tradePrice = new double[n];
+            this.changeRate = new double[n];
+            this.accTradePrice24h = new double[n];
+            this.timestamp = new long[n];
+        }
+        
+        public void reset() {
+            Arrays.fill(tradePrice, Double.NaN);
+            Arrays.fill(changeRate, Double.NaN);
+            Arrays.fill(accTradePrice24h, Double.NaN);
+            Arrays.fill(timestamp, 0L);
+        }
+        
+        public int size() {
+            return markets.length;
+        }
+        
+        public String market(int row) {
+            return markets[row];
+        }
+        
+        public int indexOf(String market) {
+            for (int i = 0; i < markets.length; i++) {
+                if (markets[i].equals(market)) return i;
+            }
+            return -1;
+        }
+        
+        // 파서가 문자열을 만들지 않고 마켓 행을 찾을 때 사용
+        public int indexOf(char[] chars, int offset, int length) {
+            for (int i = 0; i < markets.length; i++) {
+                String m = markets[i];
+                if (m.length() != length) continue;
+                int j = 0;
+                while (j < length && m.charAt(j) == chars[offset + j]) j++;
+                if (j == length) return i;
+            }
+            return -1;
+        }
+        
+        public double tradePrice(String market) {
+            int row = indexOf(market);
+            return row >= 0 ? tradePrice[row] : Double.NaN;
+        }
+    }
 } 
\ No newline at end of file
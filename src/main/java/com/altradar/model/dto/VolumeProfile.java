@@ -0,0 +1,35 @@
+package com.altradar.model.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.altradar.util.VolumeSketch;
+
+/**
+ * 마지막 닫힌 1분봉 거래량을 구간별(1h/24h/7d) 거래량 분포와 비교한 결과.
+ * percentile은 구간 내 백분위(0~100), ratioToMedian은 중앙값 대비 배수이며 표본이 없으면 NaN입니다.
+ */
+public record VolumeProfile(String market, long candleTime, double volume, List<Horizon> horizons) {
+
+    public record Horizon(String horizon, int samples, double p50, double p90, double p99,
+                          double percentile, double ratioToMedian, boolean spike) {
+    }
+
+    /**
+     * @param spikeQuantile 이 분위수를 넘으면 급등으로 판단 (예: 0.99)
+     * @param minSamples    급등 판단에 필요한 최소 표본 수
+     */
+    public static VolumeProfile of(String market, VolumeSketch sketch, double spikeQuantile, int minSamples) {
+        double volume = sketch.lastVolume();
+        List<Horizon> horizons = new ArrayList<>();
+        for (VolumeSketch.Horizon horizon : VolumeSketch.Horizon.values()) {
+            int samples = sketch.count(horizon);
+            double median = sketch.quantile(horizon, 0.5);
+            boolean spike = samples >= minSamples && volume > sketch.quantile(horizon, spikeQuantile);
+            horizons.add(new Horizon(horizon.getLabel(), samples, median,
+                    sketch.quantile(horizon, 0.9), sketch.quantile(horizon, 0.99),
+                    sketch.percentile(horizon, volume), median > 0 ? volume / median : Double.NaN, spike));
+        }
+        return new VolumeProfile(market, sketch.lastStartTime(), volume, horizons);
+    }
+}
@@ -0,0 +1,176 @@
+package com.altradar.repository;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.altradar.model.CryptoCoin;
+import com.altradar.model.PriceData;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 가격 이력/코인 대량 저장용 JDBC 경로 (영속성 컨텍스트와 엔티티 상태 추적을 거치지 않음).
+ * price_data는 batch_size행씩 batchUpdate로 넣고, id는 엔티티와 같은 시퀀스에서 블록 단위(pooled)로 받아 씁니다.
+ * 코인은 coin_id 기준 MERGE 한 문장으로 갱신하거나 추가하며, 새 코인의 id도 같은 방식으로 crypto_coins_seq 블록에서 배정합니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BulkWriteRepository {
+
+    private static final String INSERT_PRICE_DATA = "INSERT INTO price_data (id, coin_id, timestamp, price, volume, "
+            + "rsi, macd, macd_signal, sma20, sma50, bb_upper, bb_lower, bb_middle, volume_ratio, volatility, momentum) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // 시퀀스 값 k개를 한 번에 받음 (H2)
+    private static final String NEXT_IDS = "SELECT NEXT VALUE FOR %s FROM SYSTEM_RANGE(1, ?)";
+
+    private static final String EXISTING_COIN_IDS = "SELECT coin_id FROM crypto_coins WHERE coin_id IN (%s)";
+
+    // 분석 결과로 채우는 컬럼만 갱신 (시가총액 등 다른 경로에서 채운 값은 유지)
+    private static final String MERGE_COIN = "MERGE INTO crypto_coins c USING (VALUES ("
+            + "CAST(? AS VARCHAR), CAST(? AS VARCHAR), CAST(? AS VARCHAR), CAST(? AS NUMERIC(20, 8)), "
+            + "CAST(? AS NUMERIC(10, 2)), CAST(? AS TIMESTAMP), CAST(? AS BIGINT))) "
+            + "s(coin_id, name, symbol, current_price, pump_score, last_updated, id) ON c.coin_id = s.coin_id "
+            + "WHEN MATCHED THEN UPDATE SET name = s.name, symbol = s.symbol, current_price = s.current_price, "
+            + "pump_score = s.pump_score, last_updated = s.last_updated "
+            + "WHEN NOT MATCHED THEN INSERT (id, coin_id, name, symbol, current_price, pump_score, last_updated) "
+            + "VALUES (COALESCE(s.id, NEXT VALUE FOR crypto_coins_seq), s.coin_id, s.name, s.symbol, s.current_price, s.pump_score, s.last_updated)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:500}")
+    private int batchSize;
+
+    private final IdBlocks priceDataIds = new IdBlocks("price_data_seq", PriceData.ID_ALLOCATION_SIZE);
+    private final IdBlocks coinIds = new IdBlocks("crypto_coins_seq", CryptoCoin.ID_ALLOCATION_SIZE);
+
+    /**
+     * 가격 데이터를 coin에 연결해 배치 INSERT합니다. 넣은 행에는 배정된 id를 채웁니다.
+     * @return 넣은 행 수
+     */
+    public int insertPriceData(CryptoCoin coin, List<PriceData> rows) {
+        if (rows.isEmpty()) return 0;
+        if (coin.getId() == null) {
+            throw new IllegalArgumentException("저장되지 않은 코인에는 가격 데이터를 연결할 수 없습니다: " + coin.getCoinId());
+        }
+        long[] ids = priceDataIds.next(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            rows.get(i).setCoin(coin);
+            rows.get(i).setId(ids[i]);
+        }
+        jdbcTemplate.batchUpdate(INSERT_PRICE_DATA, rows, Math.max(1, batchSize), (ps, row) -> {
+            ps.setLong(1, row.getId());
+            ps.setLong(2, coin.getId());
+            ps.setObject(3, row.getTimestamp());
+            ps.setBigDecimal(4, row.getPrice());
+            setDecimal(ps, 5, row.getVolume());
+            setDecimal(ps, 6, row.getRsi());
+            setDecimal(ps, 7, row.getMacd());
+            setDecimal(ps, 8, row.getMacdSignal());
+            setDecimal(ps, 9, row.getSma20());
+            setDecimal(ps, 10, row.getSma50());
+            setDecimal(ps, 11, row.getBbUpper());
+            setDecimal(ps, 12, row.getBbLower());
+            setDecimal(ps, 13, row.getBbMiddle());
+            setDecimal(ps, 14, row.getVolumeRatio());
+            setDecimal(ps, 15, row.getVolatility());
+            setDecimal(ps, 16, row.getMomentum());
+        });
+        return rows.size();
+    }
+
+    /**
+     * 코인들을 coin_id 기준으로 MERGE합니다 (이름, 심볼, 현재가, Pump Score, 갱신 시각).
+     * 아직 없는 coin_id에만 id 블록에서 id를 배정하므로 기존 코인 갱신은 시퀀스를 소모하지 않습니다.
+     * @return 처리한 코인 수
+     */
+    public int upsertCoins(List<CryptoCoin> coins) {
+        if (coins.isEmpty()) return 0;
+        Set<String> existing = new HashSet<>(jdbcTemplate.queryForList(
+                String.format(EXISTING_COIN_IDS, String.join(",", Collections.nCopies(coins.size(), "?"))),
+                String.class, coins.stream().map(CryptoCoin::getCoinId).toArray()));
+        long[] ids = coinIds.next((int) coins.stream().filter(coin -> !existing.contains(coin.getCoinId())).count());
+        List<CoinRow> rows = new ArrayList<>(coins.size());
+        int next = 0;
+        for (CryptoCoin coin : coins) {
+            // 조회 뒤 다른 경로가 먼저 추가했다면 MATCHED로 갱신되고 배정한 id는 쓰이지 않음 (반대로 지워졌다면 시퀀스 값을 바로 씀)
+            rows.add(new CoinRow(coin, existing.contains(coin.getCoinId()) ? null : ids[next++]));
+        }
+        jdbcTemplate.batchUpdate(MERGE_COIN, rows, Math.max(1, batchSize), (ps, row) -> {
+            CryptoCoin coin = row.coin();
+            ps.setString(1, coin.getCoinId());
+            ps.setString(2, coin.getName());
+            ps.setString(3, coin.getSymbol());
+            setDecimal(ps, 4, coin.getCurrentPrice());
+            setDecimal(ps, 5, coin.getPumpScore());
+            ps.setObject(6, coin.getLastUpdated());
+            ps.setObject(7, row.id(), Types.BIGINT);
+        });
+        return coins.size();
+    }
+
+    private record CoinRow(CryptoCoin coin, Long id) {
+    }
+
+    /**
+     * 시퀀스 하나에서 id를 블록 단위로 배정합니다. 시퀀스 값 hi 하나가 (hi - allocationSize, hi] 구간을 뜻하는
+     * Hibernate pooled 방식과 같으므로 엔티티 저장과 섞여도 id가 겹치지 않습니다. 모자란 블록은 한 번의 조회로 받습니다.
+     */
+    private final class IdBlocks {
+        private final String query;
+        private final int allocationSize;
+
+        // 받아 둔 id 블록 [nextId, idHi]
+        private long nextId = 1;
+        private long idHi = 0;
+
+        IdBlocks(String sequence, int allocationSize) {
+            this.query = String.format(NEXT_IDS, sequence);
+            this.allocationSize = allocationSize;
+        }
+
+        synchronized long[] next(int n) {
+            long[] ids = new long[n];
+            int filled = 0;
+            while (filled < n) {
+                if (nextId > idHi) {
+                    int blocks = (n - filled + allocationSize - 1) / allocationSize;
+                    List<Long> his = jdbcTemplate.queryForList(query, Long.class, blocks);
+                    for (int b = 0; b < his.size(); b++) {
+                        long hi = his.get(b);
+                        long from = Math.max(1, hi - allocationSize + 1);
+                        if (b == his.size() - 1) {
+                            // 마지막 블록은 남은 id를 다음 호출에서도 쓰도록 보관
+                            nextId = from;
+                            idHi = hi;
+                        } else {
+                            for (long id = from; id <= hi && filled < n; id++) ids[filled++] = id;
+                        }
+                    }
+                    continue;
+                }
+                ids[filled++] = nextId++;
+            }
+            return ids;
+        }
+    }
+
+    private static void setDecimal(PreparedStatement ps, int index, BigDecimal value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.NUMERIC);
+        } else {
+            ps.setBigDecimal(index, value);
+        }
+    }
+}
@@ -6,11 +6,28 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface PriceDataRepository extends JpaRepository<PriceData, Long> {
+
+    // 백테스트용 최소 컬럼 (코인 엔티티나 지표 컬럼을 읽지 않음)
+    interface PricePoint {
+        LocalDateTime getTimestamp();
+        BigDecimal getPrice();
+        BigDecimal getVolume();
+    }
+
+    @Query("SELECT DISTINCT pd.coin FROM PriceData pd")
+    List<CryptoCoin> findCoinsWithHistory();
+
+    @Query("SELECT pd.timestamp AS timestamp, pd.price AS price, pd.volume AS volume FROM PriceData pd "
+            + "WHERE pd.coin = :coin AND pd.timestamp >= :startDate AND pd.timestamp <= :endDate ORDER BY pd.timestamp ASC")
+    List<PricePoint> findPricePoints(@Param("coin") CryptoCoin coin,
+                                     @Param("startDate") LocalDateTime startDate,
+                                     @Param("endDate") LocalDateTime endDate);
     
     List<PriceData> findByCoinOrderByTimestampDesc(CryptoCoin coin);
     
@@ -0,0 +1,172 @@
+package com.altradar.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.ToDoubleFunction;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.altradar.model.CryptoCoin;
+import com.altradar.model.dto.BacktestParams;
+import com.altradar.model.dto.BacktestResult;
+import com.altradar.repository.CryptoCoinRepository;
+import com.altradar.repository.PriceDataRepository;
+import com.altradar.util.Backtester;
+import com.altradar.util.IndicatorEngine;
+import com.altradar.util.ScoreRuleBook;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 저장된 가격 이력(price_data)을 실시간 분석과 같은 지표 엔진/규칙 북으로 재생하는 백테스트.
+ * 마켓을 구간으로 나눠 fork/join 풀에서 병렬로 로드 + 시뮬레이션하고, 작업마다 엔진과 작업 배열을 재사용합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BacktestService {
+
+    private final CryptoCoinRepository cryptoCoinRepository;
+    private final PriceDataRepository priceDataRepository;
+    private final TechnicalAnalysisService technicalAnalysisService;
+    private final PumpScoreRules pumpScoreRules;
+
+    // 0이면 CPU 코어 수
+    @Value("${backtest.parallelism:0}")
+    private int parallelism;
+
+    @Value("${backtest.markets-per-task:4}")
+    private int marketsPerTask;
+
+    // 실시간 분석과 같은 거래량 기준 구간 (캔들 버퍼 크기 - 1)
+    @Value("${upbit.candles.buffer-size:200}")
+    private int bufferSize;
+
+    private ForkJoinPool pool;
+
+    @PostConstruct
+    void init() {
+        pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * @param markets 대상 코인 ID (비어 있으면 이력이 있는 전체 코인)
+     */
+    public BacktestResult run(List<String> markets, LocalDateTime from, LocalDateTime to, BacktestParams params) {
+        long started = System.currentTimeMillis();
+        List<CryptoCoin> coins = markets == null || markets.isEmpty()
+                ? priceDataRepository.findCoinsWithHistory()
+                : markets.stream()
+                        .map(cryptoCoinRepository::findByCoinId)
+                        .flatMap(Optional::stream)
+                        .toList();
+
+        // 실행 중 규칙이 리로드되어도 한 번의 백테스트는 같은 규칙으로 평가
+        ScoreRuleBook book = pumpScoreRules.book();
+        List<Result> results = pool.invoke(new MarketRange(coins, 0, coins.size(), from, to, params, book));
+
+        Backtester.Stats total = new Backtester.Stats();
+        List<BacktestResult.MarketStats> perMarket = new ArrayList<>(results.size());
+        for (Result r : results) {
+            total.merge(r.stats);
+            perMarket.add(BacktestResult.MarketStats.of(r.market, r.stats));
+        }
+        long elapsed = System.currentTimeMillis() - started;
+        log.info("백테스트 완료: {}개 마켓, {}봉, {}ms", coins.size(), total.bars, elapsed);
+        return new BacktestResult(book.activeName(), params, pool.getParallelism(), elapsed,
+                BacktestResult.MarketStats.of("TOTAL", total), perMarket);
+    }
+
+    // 오래된 순 가격 이력 (primitive 컬럼)
+    record PriceHistory(long[] times, double[] closes, double[] volumes, int size) {
+    }
+
+    PriceHistory loadHistory(CryptoCoin coin, LocalDateTime from, LocalDateTime to) {
+        List<PriceDataRepository.PricePoint> points = priceDataRepository.findPricePoints(coin, from, to);
+        int n = points.size();
+        long[] times = new long[n];
+        double[] closes = new double[n];
+        double[] volumes = new double[n];
+        for (int k = 0; k < n; k++) {
+            PriceDataRepository.PricePoint p = points.get(k);
+            times[k] = p.getTimestamp().toInstant(ZoneOffset.UTC).toEpochMilli();
+            closes[k] = p.getPrice().doubleValue();
+            volumes[k] = p.getVolume() != null ? p.getVolume().doubleValue() : 0;
+        }
+        return new PriceHistory(times, closes, volumes, n);
+    }
+
+    // 실시간 분석과 같은 거래량 기준 구간
+    int volumeWindow() {
+        return Math.max(1, bufferSize - 1);
+    }
+
+    private record Result(String market, Backtester.Stats stats) {
+    }
+
+    // 마켓 구간을 나눠 병렬 실행, 리프는 엔진 하나로 구간 안의 마켓을 순서대로 처리
+    private class MarketRange extends RecursiveTask<List<Result>> {
+
+        private final List<CryptoCoin> coins;
+        private final int from;
+        private final int to;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        private final BacktestParams params;
+        private final ScoreRuleBook book;
+
+        MarketRange(List<CryptoCoin> coins, int from, int to, LocalDateTime start, LocalDateTime end,
+                    BacktestParams params, ScoreRuleBook book) {
+            this.coins = coins;
+            this.from = from;
+            this.to = to;
+            this.start = start;
+            this.end = end;
+            this.params = params;
+            this.book = book;
+        }
+
+        @Override
+        protected List<Result> compute() {
+            if (to - from > Math.max(1, marketsPerTask)) {
+                int mid = (from + to) >>> 1;
+                MarketRange left = new MarketRange(coins, from, mid, start, end, params, book);
+                MarketRange right = new MarketRange(coins, mid, to, start, end, params, book);
+                left.fork();
+                List<Result> merged = new ArrayList<>(right.compute());
+                merged.addAll(0, left.join());
+                return merged;
+            }
+
+            double[] features = technicalAnalysisService.newFeatureVector();
+            double[] scores = new double[book.names().size()];
+            IndicatorEngine engine = IndicatorEngine.defaults(volumeWindow());
+            ToDoubleFunction<IndicatorEngine> scorer = e -> technicalAnalysisService.pumpScore(e, book, features, scores);
+            Backtester backtester = new Backtester();
+
+            List<Result> results = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                CryptoCoin coin = coins.get(i);
+                PriceHistory h = loadHistory(coin, start, end);
+                Backtester.Stats stats = backtester.run(params, engine, scorer,
+                        h.times(), h.closes(), h.volumes(), h.size());
+                results.add(new Result(coin.getCoinId(), stats));
+            }
+            return results;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.altradar.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.altradar.model.dto.AnalysisResult;
+import com.altradar.util.CandleColumns;
+import com.altradar.util.CandleRingBuffer;
+import com.altradar.util.IndicatorEngine;
+import com.altradar.util.TimeframeAggregator;
+import com.altradar.util.VolumeSketch;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 마켓별 1분봉 캐시.
+ * 마지막으로 보유한 캔들 이후 분량만 다시 받도록 요청 개수를 계산하고, 응답을 링 버퍼에 병합합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class CandleCache {
+
+    private static final long MINUTE_MS = 60_000L;
+    private static final int MAX_CANDLES_PER_REQUEST = 200;
+
+    @Value("${upbit.candles.buffer-size:200}")
+    private int bufferSize;
+
+    // 상위 타임프레임(5m/15m/60m/1d)별 보관 봉 수
+    @Value("${upbit.candles.timeframe-bars:200}")
+    private int timeframeBars;
+
+    private final PatternDetector patternDetector;
+
+    private final Map<String, MarketCandles> markets = new ConcurrentHashMap<>();
+
+    /**
+     * 마켓 하나의 캔들 버퍼와 마지막 분석 결과.
+     * 동기화/분석은 lock을 잡고 수행합니다.
+     */
+    public static class MarketCandles {
+        private final String market;
+        private final CandleRingBuffer buffer;
+        private final TimeframeAggregator timeframes;
+        // 1분봉 스트리밍 지표 (캔들 추가/갱신 시 O(1) 갱신)
+        private final IndicatorEngine indicators;
+        // 닫힌 1분봉 거래량 분포 (1h/24h/7d), 버퍼 초기화와 무관하게 유지
+        private final VolumeSketch volumeSketch = new VolumeSketch();
+        // 응답 파싱용 작업 공간 (lock 안에서만 사용, 매 동기화마다 재사용)
+        private final CandleColumns columns;
+        private final ReentrantLock lock = new ReentrantLock();
+        // 닫힌 1분봉마다 패턴 NFA 진행
+        private final PatternDetector patternDetector;
+        // 시계열 출력용 지표 엔진 (lock 안에서 재사용)
+        private IndicatorEngine seriesEngine;
+        // 상위 타임프레임 분석 (1분봉이 닫힐 때만 바뀜)
+        private Map<String, AnalysisResult> timeframeAnalysis;
+        private long analyzedStartTime = -1;
+        private long syncedAt = -1;
+
+        MarketCandles(String market, int capacity, int timeframeBars, PatternDetector patternDetector) {
+            this.market = market;
+            this.patternDetector = patternDetector;
+            this.buffer = new CandleRingBuffer(capacity);
+            this.timeframes = new TimeframeAggregator(timeframeBars);
+            this.indicators = IndicatorEngine.defaults(Math.max(1, capacity - 1));
+            this.columns = new CandleColumns(Math.min(capacity, MAX_CANDLES_PER_REQUEST));
+        }
+
+        public CandleRingBuffer buffer() {
+            return buffer;
+        }
+
+        public TimeframeAggregator timeframes() {
+            return timeframes;
+        }
+
+        public IndicatorEngine indicators() {
+            return indicators;
+        }
+
+        public VolumeSketch volumeSketch() {
+            return volumeSketch;
+        }
+
+        public ReentrantLock lock() {
+            return lock;
+        }
+
+        public IndicatorEngine seriesEngine() {
+            if (seriesEngine == null) {
+                seriesEngine = IndicatorEngine.defaults(Math.max(1, buffer.capacity() - 1));
+            }
+            return seriesEngine;
+        }
+
+        // 공백이 커서 버퍼를 다시 채울 때 지표 상태와 상위 타임프레임 봉도 초기화
+        public void reset() {
+            buffer.clear();
+            indicators.reset();
+            timeframes.reset();
+        }
+
+        /**
+         * 1분봉을 추가하거나 진행 중인 캔들을 갱신합니다 (lock 안에서 호출).
+         * 새 분의 캔들이 추가되면 직전 캔들이 닫힌 것이므로 상위 타임프레임에 반영합니다.
+         */
+        public boolean appendCandle(long startTime, double open, double high, double low, double close, double volume) {
+            return append(startTime, open, high, low, close, volume, true);
+        }
+
+        /**
+         * @param detectPatterns false면 과거 봉 채우기 (패턴 감지를 거치지 않음)
+         */
+        private boolean append(long startTime, double open, double high, double low, double close, double volume,
+                               boolean detectPatterns) {
+            int last = buffer.size() - 1;
+            long lastStart = buffer.lastStartTime();
+            if (last >= 0 && startTime > lastStart) {
+                timeframes.onClosedCandle(lastStart, buffer.open(last), buffer.high(last),
+                        buffer.low(last), buffer.close(last), buffer.volume(last));
+                volumeSketch.add(lastStart, buffer.volume(last));
+                // 지표 엔진은 아직 닫힌 봉까지만 반영된 상태.
+                // 횡단면/호가 입력은 현재 값이므로 방금 닫힌 봉(1분 이내)만 패턴에 넣음
+                if (detectPatterns && System.currentTimeMillis() - lastStart < 2 * MINUTE_MS) {
+                    patternDetector.onCandleClosed(market, lastStart, indicators);
+                }
+            }
+            boolean added = buffer.append(startTime, open, high, low, close, volume);
+            if (added) {
+                indicators.append(close, volume);
+            } else if (startTime == lastStart) {
+                indicators.amendLast(close, volume);
+            }
+            return added;
+        }
+
+        public CandleColumns columns() {
+            return columns;
+        }
+
+        // 마지막 REST 동기화 시각
+        public long syncedAt() {
+            return syncedAt;
+        }
+
+        public void markSynced(long at) {
+            this.syncedAt = at;
+        }
+
+        /**
+         * 마지막 분석 이후 새로 닫힌(시작된) 1분봉이 없으면 이전 상위 타임프레임 분석 반환.
+         * 1분봉 분석은 진행 중인 봉, 횡단면 순위, 호가 지표가 분 안에서도 바뀌므로 캐시하지 않습니다.
+         */
+        public Map<String, AnalysisResult> cachedTimeframeAnalysis() {
+            return timeframeAnalysis != null && analyzedStartTime == buffer.lastStartTime() ? timeframeAnalysis : null;
+        }
+
+        public void cacheTimeframeAnalysis(Map<String, AnalysisResult> timeframeAnalysis) {
+            this.timeframeAnalysis = timeframeAnalysis;
+            this.analyzedStartTime = buffer.lastStartTime();
+        }
+    }
+
+    public MarketCandles get(String market) {
+        return markets.computeIfAbsent(market, m -> new MarketCandles(m, bufferSize, timeframeBars, patternDetector));
+    }
+
+    // 지금까지 만든 모든 마켓 (스냅샷 저장 등 순회용)
+    public void forEach(BiConsumer<String, MarketCandles> action) {
+        markets.forEach(action);
+    }
+
+    /**
+     * 다음 조회에 필요한 캔들 개수.
+     * 마지막 동기화(또는 그 뒤 스트림으로 받은 마지막 캔들) 시각의 분부터 현재 분까지만 요청하며,
+     * 그 공백이 버퍼보다 길 때만 전체를 다시 받습니다.
+     * 체결이 없는 분에는 캔들이 없으므로, 마지막 캔들 시각만 보면 거래가 뜸한 마켓은 매번 전체를 다시 받게 됩니다.
+     */
+    public int candlesToFetch(MarketCandles candles, long nowMillis) {
+        CandleRingBuffer buffer = candles.buffer();
+        int full = Math.min(buffer.capacity(), MAX_CANDLES_PER_REQUEST);
+        if (buffer.isEmpty()) return full;
+
+        long covered = Math.max(candles.syncedAt(), buffer.lastStartTime());
+        long elapsedMinutes = (nowMillis - (covered - Math.floorMod(covered, MINUTE_MS))) / MINUTE_MS;
+        if (elapsedMinutes >= full) {
+            candles.reset();
+            return full;
+        }
+        return (int) Math.max(1, elapsedMinutes + 1);
+    }
+
+    /**
+     * 파싱된 업비트 캔들 응답(최신순)을 버퍼에 병합합니다.
+     * 빈 버퍼를 채우는 경우(최초 조회, 공백 후 재조회)는 과거 봉이므로 패턴 감지를 거치지 않습니다.
+     * @return 새로 추가된 캔들 수
+     */
+    public int merge(MarketCandles candles, CandleColumns response) {
+        boolean backfill = candles.buffer().isEmpty();
+        int added = 0;
+        for (int i = response.size - 1; i >= 0; i--) {
+            boolean appended = candles.append(response.startTimes[i], response.opens[i], response.highs[i],
+                    response.lows[i], response.closes[i], response.volumes[i], !backfill);
+            if (appended) added++;
+        }
+        return added;
+    }
+}
@@ -2,18 +2,19 @@ package com.altradar.service;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestTemplate;
 
 import com.altradar.model.CryptoCoin;
 import com.altradar.model.PriceData;
+import com.altradar.model.dto.AnalysisResult;
 import com.altradar.model.dto.CryptoApiResponse;
+import com.altradar.repository.BulkWriteRepository;
 import com.altradar.repository.CryptoCoinRepository;
-import com.altradar.repository.PriceDataRepository;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,8 +26,9 @@ public class CryptoDataService {
     
     private final RestTemplate restTemplate;
     private final CryptoCoinRepository cryptoCoinRepository;
-    private final PriceDataRepository priceDataRepository;
+    private final BulkWriteRepository bulkWriteRepository;
     private final UpbitDataService upbitDataService;
+    private final MarketCatalog marketCatalog;
     
     private static final String COINGECKO_BASE_URL = "https://api.coingecko.com/api/v3";
     
@@ -94,13 +96,11 @@ public class CryptoDataService {
     }
     
     /**
-     * 가격 데이터를 저장합니다
+     * 가격 데이터를 저장합니다 (JDBC 배치 INSERT, 한 트랜잭션)
      */
+    @Transactional
     public void savePriceData(CryptoCoin coin, List<PriceData> priceDataList) {
-        for (PriceData priceData : priceDataList) {
-            priceData.setCoin(coin);
-            priceDataRepository.save(priceData);
-        }
+        bulkWriteRepository.insertPriceData(coin, priceDataList);
     }
     
     
@@ -119,29 +119,19 @@ public class CryptoDataService {
      */
     public void updateAllTopCoins(int limit) {
         try {
-            // 업비트 마켓 전체 목록 조회
-            String marketsUrl = "https://api.upbit.com/v1/market/all?isDetails=false";
-            String response = restTemplate.getForObject(marketsUrl, String.class);
-
-            // JSON 파싱
-            org.json.JSONArray marketsArr = new org.json.JSONArray(response);
-
-            // KRW 마켓만 필터링
-            List<String> markets =
-                    java.util.stream.IntStream.range(0, marketsArr.length())
-                            .mapToObj(i -> marketsArr.getJSONObject(i).getString("market"))
-                            .filter(market -> market.startsWith("KRW-"))
-                            .limit(limit) // 상위 limit 개만
-                            .collect(Collectors.toList());
+            // 업비트 KRW 마켓 목록 (카탈로그 캐시에서 조회)
+            List<String> markets = marketCatalog.krwMarkets().stream()
+                    .limit(limit) // 상위 limit 개만
+                    .collect(Collectors.toList());
 
-            // 분석 실행
-            List<Map<String, Object>> analysisResults = upbitDataService.getMultipleMarketAnalysis(markets);
+            // 분석 실행 (전 마켓을 배치 커널로 한 번에 계산)
+            List<AnalysisResult> analysisResults = upbitDataService.getMultipleMarketAnalysisBatch(markets);
 
-            // DB 저장/업데이트
-            for (Map<String, Object> analysis : analysisResults) {
-                CryptoCoin coin = CryptoCoin.fromAnalysisResult(analysis);
-                cryptoCoinRepository.save(coin);
-            }
+            // DB 저장/업데이트 (coin_id 기준 MERGE 배치)
+            List<CryptoCoin> coins = analysisResults.stream()
+                    .map(CryptoCoin::fromAnalysisResult)
+                    .toList();
+            bulkWriteRepository.upsertCoins(coins);
 
             log.info("총 {}개 코인 데이터 업데이트 완료", markets.size());
         } catch (Exception e) {
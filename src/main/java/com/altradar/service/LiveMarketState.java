@@ -0,0 +1,114 @@
+package com.altradar.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+import com.altradar.util.CandleRingBuffer;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 웹소켓 스트림으로 갱신되는 실시간 시세 상태.
+ * 스트리밍이 연결되어 있으면 UpbitDataService는 REST 조회 대신 이 상태를 읽습니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class LiveMarketState {
+
+    private static final long MINUTE_MS = 60_000L;
+    // 이 시간 동안 메시지가 없으면 스트림이 멈춘 것으로 간주
+    private static final long STALE_AFTER_MS = 30_000L;
+
+    private final CandleCache candleCache;
+    private final MarketRanking marketRanking;
+
+    private final Map<String, double[]> tickers = new ConcurrentHashMap<>();
+    private final AtomicLong messageCount = new AtomicLong();
+    private final AtomicLong reconnectCount = new AtomicLong();
+
+    private volatile boolean connected;
+    private volatile long connectedAt = -1;
+    private volatile long lastMessageAt;
+
+    public void onConnected() {
+        connected = true;
+        connectedAt = System.currentTimeMillis();
+    }
+
+    public void onDisconnected() {
+        connected = false;
+        reconnectCount.incrementAndGet();
+    }
+
+    // 연결되어 있고 최근에 메시지를 받은 경우에만 실시간 상태를 신뢰
+    public boolean isLive() {
+        return connected && System.currentTimeMillis() - lastMessageAt < STALE_AFTER_MS;
+    }
+
+    // 현재 연결이 시작된 시각; 이전에 동기화한 캔들은 공백이 있을 수 있음
+    public long getConnectedAt() {
+        return connectedAt;
+    }
+
+    public void onTicker(String market, double tradePrice, long timestamp) {
+        touch();
+        tickers.put(market, new double[]{tradePrice, timestamp});
+    }
+
+    /**
+     * 체결 하나를 해당 분의 1분봉에 반영합니다.
+     * 새 분의 첫 체결이면 새 캔들을 시작하므로 직전 캔들은 닫힌 것으로 처리됩니다.
+     */
+    public void onTrade(String market, double price, double volume, long tradeTimestamp) {
+        touch();
+        CandleCache.MarketCandles candles = candleCache.get(market);
+        candles.lock().lock();
+        try {
+            CandleRingBuffer buffer = candles.buffer();
+            // REST로 초기 동기화되기 전에는 체결을 반영하지 않음
+            if (buffer.isEmpty()) return;
+
+            long start = tradeTimestamp - Math.floorMod(tradeTimestamp, MINUTE_MS);
+            long last = buffer.lastStartTime();
+            if (start == last) {
+                int i = buffer.size() - 1;
+                candles.appendCandle(start, buffer.open(i), Math.max(buffer.high(i), price),
+                        Math.min(buffer.low(i), price), price, buffer.volume(i) + volume);
+            } else if (start > last) {
+                candles.appendCandle(start, price, price, price, price, volume);
+            } else {
+                return;
+            }
+            marketRanking.onCandles(market, buffer);
+        } finally {
+            candles.lock().unlock();
+        }
+    }
+
+    // 스트림으로 받은 현재가, 없으면 NaN
+    public double price(String market) {
+        double[] ticker = tickers.get(market);
+        return ticker != null ? ticker[0] : Double.NaN;
+    }
+
+    private void touch() {
+        messageCount.incrementAndGet();
+        lastMessageAt = System.currentTimeMillis();
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> res = new LinkedHashMap<>();
+        res.put("connected", connected);
+        res.put("live", isLive());
+        res.put("connectedAt", connectedAt);
+        res.put("lastMessageAt", lastMessageAt);
+        res.put("messageCount", messageCount.get());
+        res.put("reconnectCount", reconnectCount.get());
+        res.put("trackedMarkets", tickers.size());
+        return res;
+    }
+}
@@ -0,0 +1,112 @@
+package com.altradar.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 업비트 마켓 목록 캐시.
+ * /v1/market/all 을 주기적으로(upbit.catalog.ttl-seconds) 백그라운드에서 갱신하고,
+ * 조회는 I/O 없이 메모리의 스냅샷에서 처리합니다. 갱신에 실패하면 이전 스냅샷을 유지합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MarketCatalog {
+
+    private static final String MARKET_ALL_URL = "https://api.upbit.com/v1/market/all?isDetails=true";
+
+    private final RestTemplate restTemplate;
+    private final UpbitRateLimiter rateLimiter;
+
+    public record MarketInfo(String market, String koreanName, String englishName, boolean warning) {
+    }
+
+    private record Snapshot(List<String> krwMarkets, Map<String, MarketInfo> markets, long refreshedAt) {
+    }
+
+    private volatile Snapshot snapshot;
+
+    @Scheduled(fixedDelayString = "${upbit.catalog.ttl-seconds:600}", timeUnit = TimeUnit.SECONDS)
+    public void refresh() {
+        try {
+            rateLimiter.acquire(UpbitRateLimiter.EndpointGroup.MARKET);
+            JSONArray arr = new JSONArray(restTemplate.getForObject(MARKET_ALL_URL, String.class));
+
+            List<String> krwMarkets = new ArrayList<>();
+            Map<String, MarketInfo> markets = new LinkedHashMap<>();
+            for (int i = 0; i < arr.length(); i++) {
+                JSONObject m = arr.getJSONObject(i);
+                String market = m.getString("market");
+                markets.put(market, new MarketInfo(market,
+                        m.optString("korean_name", market),
+                        m.optString("english_name", market),
+                        isWarning(m)));
+                if (market.startsWith("KRW-")) {
+                    krwMarkets.add(market);
+                }
+            }
+
+            snapshot = new Snapshot(Collections.unmodifiableList(krwMarkets),
+                    Collections.unmodifiableMap(markets), System.currentTimeMillis());
+            log.debug("마켓 목록 갱신: 전체 {}개, KRW {}개", markets.size(), krwMarkets.size());
+        } catch (Exception e) {
+            if (snapshot == null) throw e;
+            log.warn("마켓 목록 갱신 실패, 이전 목록 유지: {}", e.getMessage());
+        }
+    }
+
+    // 유의 종목 여부 (구 market_warning 필드와 신규 market_event.warning 모두 지원)
+    private static boolean isWarning(JSONObject m) {
+        if ("CAUTION".equals(m.optString("market_warning"))) return true;
+        JSONObject event = m.optJSONObject("market_event");
+        return event != null && event.optBoolean("warning", false);
+    }
+
+    private Snapshot current() {
+        Snapshot s = snapshot;
+        if (s == null) {
+            synchronized (this) {
+                if (snapshot == null) refresh();
+                s = snapshot;
+            }
+        }
+        return s;
+    }
+
+    public List<String> krwMarkets() {
+        return current().krwMarkets();
+    }
+
+    public MarketInfo info(String market) {
+        return current().markets().get(market);
+    }
+
+    // 한글 이름, 목록에 없으면 마켓 코드
+    public String koreanName(String market) {
+        MarketInfo info = info(market);
+        return info != null ? info.koreanName() : market;
+    }
+
+    public Map<String, Object> status() {
+        Map<String, Object> res = new LinkedHashMap<>();
+        Snapshot s = snapshot;
+        res.put("loaded", s != null);
+        res.put("marketCount", s != null ? s.markets().size() : 0);
+        res.put("krwMarketCount", s != null ? s.krwMarkets().size() : 0);
+        res.put("refreshedAt", s != null ? s.refreshedAt() : 0);
+        return res;
+    }
+}
@@ -0,0 +1,209 @@
+package com.altradar.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import com.altradar.util.CandleRingBuffer;
+import com.altradar.util.OrderStatisticTree;
+import com.altradar.util.ScoreRuleBook;
+
+/**
+ * 마켓 횡단면 순위 (pumpScore, 1분/5분/1시간 가격 변화율).
+ * 점수와 캔들이 들어올 때마다 지표별 순서 통계 트리를 O(log n)으로 갱신하므로,
+ * 상위/하위 K개, 마켓 순위, 백분위, z-score를 전체 정렬 없이 바로 조회합니다.
+ * 변화율의 백분위와 z-score는 Pump Score 규칙 입력(change1mPercentile, change1hZ 등)으로도 쓰입니다.
+ */
+@Component
+public class MarketRanking {
+
+    private static final long MINUTE_MS = 60_000L;
+
+    public enum Metric {
+        PUMP_SCORE("pumpScore", 0),
+        CHANGE_1M("change1m", 1),
+        CHANGE_5M("change5m", 5),
+        CHANGE_1H("change1h", 60);
+
+        private final String label;
+        private final int minutes;
+
+        Metric(String label, int minutes) {
+            this.label = label;
+            this.minutes = minutes;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        // "pumpScore", "change1m", "change5m", "change1h" → 지표, 없으면 null
+        public static Metric fromLabel(String label) {
+            for (Metric metric : values()) {
+                if (metric.label.equalsIgnoreCase(label)) return metric;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * 지표 하나에서 마켓의 위치. rank는 내림차순 1위부터, percentile은 같은 값을 절반씩 센 백분위(0~100)입니다.
+     */
+    public record Position(String market, double value, int rank, int count, double percentile, double zScore) {
+    }
+
+    private static final Metric[] METRICS = Metric.values();
+    private static final Metric[] CHANGES = {Metric.CHANGE_1M, Metric.CHANGE_5M, Metric.CHANGE_1H};
+    private static final ScoreRuleBook.Feature[] PERCENTILE_FEATURES = {
+            ScoreRuleBook.Feature.CHANGE_1M_PERCENTILE,
+            ScoreRuleBook.Feature.CHANGE_5M_PERCENTILE,
+            ScoreRuleBook.Feature.CHANGE_1H_PERCENTILE};
+    private static final ScoreRuleBook.Feature[] Z_FEATURES = {
+            ScoreRuleBook.Feature.CHANGE_1M_Z,
+            ScoreRuleBook.Feature.CHANGE_5M_Z,
+            ScoreRuleBook.Feature.CHANGE_1H_Z};
+
+    // 마켓 코드 ↔ 트리 id
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> markets = new ArrayList<>();
+    private final OrderStatisticTree[] trees = new OrderStatisticTree[METRICS.length];
+
+    public MarketRanking() {
+        for (int i = 0; i < trees.length; i++) trees[i] = new OrderStatisticTree(256);
+    }
+
+    public synchronized void updateScore(String market, double pumpScore) {
+        trees[Metric.PUMP_SCORE.ordinal()].put(id(market), pumpScore);
+    }
+
+    /**
+     * 1분봉 버퍼의 현재가(마지막 캔들 종가)로 변화율 순위를 갱신합니다 (캔들 lock 안에서 호출).
+     * 버퍼가 해당 구간을 덮지 못하면 그 변화율은 순위에서 뺍니다.
+     */
+    public void onCandles(String market, CandleRingBuffer buffer) {
+        if (buffer.isEmpty()) return;
+        double change1m = change(buffer, Metric.CHANGE_1M.minutes);
+        double change5m = change(buffer, Metric.CHANGE_5M.minutes);
+        double change1h = change(buffer, Metric.CHANGE_1H.minutes);
+        synchronized (this) {
+            int id = id(market);
+            trees[Metric.CHANGE_1M.ordinal()].put(id, change1m);
+            trees[Metric.CHANGE_5M.ordinal()].put(id, change5m);
+            trees[Metric.CHANGE_1H.ordinal()].put(id, change1h);
+        }
+    }
+
+    // 마지막 캔들 시작 minutes분 전 시점의 종가 대비 현재가 변화율, 기준 캔들이 없으면 NaN
+    private static double change(CandleRingBuffer buffer, int minutes) {
+        int last = buffer.size() - 1;
+        long target = buffer.startTime(last) - minutes * MINUTE_MS;
+        // target 이전에 시작한 마지막 캔들 (시작 시각 오름차순 이진 탐색)
+        int lo = 0;
+        int hi = last - 1;
+        int found = -1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (buffer.startTime(mid) <= target) {
+                found = mid;
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        if (found < 0) return Double.NaN;
+        double base = buffer.close(found);
+        return base > 0 ? buffer.close(last) / base - 1 : Double.NaN;
+    }
+
+    public synchronized void remove(String market) {
+        Integer id = ids.get(market);
+        if (id == null) return;
+        for (OrderStatisticTree tree : trees) tree.remove(id);
+    }
+
+    /**
+     * 상위(descending) 또는 하위 k개 마켓. O(k log n).
+     */
+    public synchronized List<Position> top(Metric metric, int k, boolean descending) {
+        OrderStatisticTree tree = trees[metric.ordinal()];
+        int n = Math.min(Math.max(0, k), tree.size());
+        List<Position> result = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            int id = tree.select(descending ? tree.size() - 1 - i : i);
+            result.add(position(metric, id));
+        }
+        return result;
+    }
+
+    // 지표에서 마켓의 위치, 순위에 없으면 null
+    public synchronized Position position(Metric metric, String market) {
+        Integer id = ids.get(market);
+        return id != null && trees[metric.ordinal()].contains(id) ? position(metric, id) : null;
+    }
+
+    // 모든 지표에서 마켓의 위치 (순위에 없는 지표는 생략)
+    public synchronized Map<String, Position> positions(String market) {
+        Map<String, Position> res = new LinkedHashMap<>();
+        for (Metric metric : METRICS) {
+            Position position = position(metric, market);
+            if (position != null) res.put(metric.label, position);
+        }
+        return res;
+    }
+
+    private Position position(Metric metric, int id) {
+        OrderStatisticTree tree = trees[metric.ordinal()];
+        double value = tree.value(id);
+        int n = tree.size();
+        return new Position(markets.get(id), value, n - tree.rank(id), n,
+                percentile(tree, value), zScore(tree, value));
+    }
+
+    /**
+     * 변화율의 횡단면 백분위와 z-score를 Pump Score 입력 배열에 채웁니다. 순위에 없으면 NaN.
+     */
+    public synchronized void fillFeatures(String market, double[] features) {
+        Integer id = market != null ? ids.get(market) : null;
+        for (int i = 0; i < CHANGES.length; i++) {
+            OrderStatisticTree tree = trees[CHANGES[i].ordinal()];
+            double value = id != null ? tree.value(id) : Double.NaN;
+            boolean ranked = !Double.isNaN(value);
+            features[PERCENTILE_FEATURES[i].ordinal()] = ranked ? percentile(tree, value) : Double.NaN;
+            features[Z_FEATURES[i].ordinal()] = ranked ? zScore(tree, value) : Double.NaN;
+        }
+    }
+
+    private static double percentile(OrderStatisticTree tree, double value) {
+        int less = tree.countLess(value);
+        int equal = tree.countLessOrEqual(value) - less;
+        return (less + equal / 2.0) * 100.0 / tree.size();
+    }
+
+    private static double zScore(OrderStatisticTree tree, double value) {
+        double std = tree.stdDev();
+        return std > 0 ? (value - tree.mean()) / std : 0;
+    }
+
+    private int id(String market) {
+        Integer id = ids.get(market);
+        if (id == null) {
+            id = markets.size();
+            ids.put(market, id);
+            markets.add(market);
+        }
+        return id;
+    }
+
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> res = new LinkedHashMap<>();
+        res.put("markets", markets.size());
+        for (Metric metric : METRICS) {
+            res.put(metric.label, trees[metric.ordinal()].size());
+        }
+        return res;
+    }
+}
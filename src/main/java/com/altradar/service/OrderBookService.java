@@ -0,0 +1,137 @@
+package com.altradar.service;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import com.altradar.model.dto.OrderBookFeatures;
+import com.altradar.util.OrderBook;
+import com.altradar.util.UpbitJsonParser;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 업비트 호가 수집. REST(/v1/orderbook)는 여러 마켓을 한 번에 요청하고,
+ * 웹소켓 orderbook 채널 메시지도 같은 스트리밍 파서로 읽어 OrderBookStore에 반영합니다.
+ * upbit.orderbook.enabled=true 일 때 스캔 전에 호가를 갱신하고 웹소켓에서도 구독합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderBookService {
+
+    private static final String UPBIT_ORDERBOOK_URL = "https://api.upbit.com/v1/orderbook?markets=%s";
+
+    private final RestTemplate restTemplate;
+    private final UpbitRateLimiter rateLimiter;
+    private final OrderBookStore store;
+
+    @Value("${upbit.orderbook.enabled:false}")
+    private boolean enabled;
+
+    // 요청 하나에 담을 마켓 수
+    @Value("${upbit.orderbook.markets-per-request:20}")
+    private int marketsPerRequest;
+
+    // 웹소켓 메시지 파싱용 (리스너 스레드 하나에서만 사용)
+    private final OrderBook streamScratch = new OrderBook();
+    // 웹소켓으로 구독한 마켓 코드 (메시지의 마켓 키를 문자열 생성 없이 찾는 데 사용)
+    private volatile List<String> streamMarkets = List.of();
+    private final AtomicLong restUpdates = new AtomicLong();
+    private final AtomicLong streamUpdates = new AtomicLong();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 마켓들의 호가를 markets-per-request개씩 묶어 조회합니다. 실패한 묶음은 건너뜁니다.
+     * @return 갱신된 마켓 수
+     */
+    public int refresh(List<String> markets) {
+        OrderBook scratch = new OrderBook();
+        int updated = 0;
+        int batchSize = Math.max(1, marketsPerRequest);
+        for (int i = 0; i < markets.size(); i += batchSize) {
+            List<String> batch = markets.subList(i, Math.min(i + batchSize, markets.size()));
+            try {
+                updated += fetch(batch, scratch);
+            } catch (Exception e) {
+                log.warn("호가 조회 실패 {}: {}", batch, e.getMessage());
+            }
+        }
+        restUpdates.addAndGet(updated);
+        return updated;
+    }
+
+    private int fetch(List<String> batch, OrderBook scratch) throws IOException {
+        rateLimiter.acquire(UpbitRateLimiter.EndpointGroup.ORDERBOOK);
+        byte[] response = restTemplate.getForObject(String.format(UPBIT_ORDERBOOK_URL, String.join(",", batch)),
+                byte[].class);
+        if (response == null) return 0;
+        int[] updated = {0};
+        UpbitJsonParser.parseOrderbooks(response, scratch, book -> {
+            // 요청한 마켓 코드와 문자 단위로 비교해 키를 찾음 (응답마다 문자열을 만들지 않음)
+            for (String market : batch) {
+                if (book.isMarket(market)) {
+                    store.update(market, book);
+                    updated[0]++;
+                    return;
+                }
+            }
+        });
+        return updated[0];
+    }
+
+    /**
+     * 마켓의 최신 호가 지표. 저장된 호가가 없거나 오래되었으면 REST로 먼저 갱신합니다 (enabled와 무관).
+     */
+    public OrderBookFeatures getOrderBook(String market) {
+        if (!store.isFresh(market)) {
+            refresh(List.of(market));
+        }
+        return store.features(market);
+    }
+
+    /**
+     * 웹소켓 orderbook 채널로 구독한 마켓 목록을 기록합니다 (구독 메시지를 보낼 때마다 호출).
+     */
+    public void onSubscribed(List<String> markets) {
+        streamMarkets = List.copyOf(markets);
+    }
+
+    /**
+     * 웹소켓 orderbook 메시지 하나를 반영합니다.
+     * @return 호가 메시지였으면 true
+     */
+    public synchronized boolean onStreamMessage(String json) throws IOException {
+        if (!UpbitJsonParser.parseOrderbook(json, streamScratch)) return false;
+        store.update(streamMarket(streamScratch), streamScratch);
+        streamUpdates.incrementAndGet();
+        return true;
+    }
+
+    // 구독한 마켓 코드와 문자 단위로 비교해 키를 찾음 (목록에 없을 때만 문자열을 만듦)
+    private String streamMarket(OrderBook book) {
+        for (String market : streamMarkets) {
+            if (book.isMarket(market)) return market;
+        }
+        return book.market();
+    }
+
+    public Map<String, Object> status() {
+        Map<String, Object> res = new LinkedHashMap<>();
+        res.put("enabled", enabled);
+        res.put("markets", store.size());
+        res.put("restUpdates", restUpdates.get());
+        res.put("streamUpdates", streamUpdates.get());
+        return res;
+    }
+}
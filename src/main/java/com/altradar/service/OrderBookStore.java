@@ -0,0 +1,85 @@
+package com.altradar.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.altradar.model.dto.OrderBookFeatures;
+import com.altradar.util.OrderBook;
+import com.altradar.util.ScoreRuleBook;
+
+/**
+ * 마켓별 최신 호가 스냅샷.
+ * 마켓마다 OrderBook 하나를 만들어 두고 갱신 때마다 같은 배열에 복사하므로, 갱신 중에는 할당이 없습니다.
+ * 호가 지표는 Pump Score 규칙 입력(bookImbalance, bookSpread, bookSlopeRatio)으로 쓰입니다.
+ */
+@Component
+public class OrderBookStore {
+
+    // 이보다 오래된 호가는 규칙 입력에서 제외 (NaN)
+    @Value("${upbit.orderbook.max-age-ms:10000}")
+    private long maxAgeMs;
+
+    private final Map<String, OrderBook> books = new ConcurrentHashMap<>();
+
+    /**
+     * 파싱된 호가를 해당 마켓 스냅샷에 복사합니다. 이전 스냅샷보다 오래된 호가는 무시합니다.
+     */
+    public void update(String market, OrderBook parsed) {
+        OrderBook book = books.computeIfAbsent(market, m -> new OrderBook());
+        synchronized (book) {
+            if (parsed.timestamp < book.timestamp) return;
+            book.copyFrom(parsed);
+        }
+    }
+
+    // 마켓의 최신 호가 지표, 없으면 null
+    public OrderBookFeatures features(String market) {
+        OrderBook book = books.get(market);
+        if (book == null) return null;
+        synchronized (book) {
+            return book.isEmpty() ? null : OrderBookFeatures.of(market, book);
+        }
+    }
+
+    // max-age 이내의 호가가 있는지
+    public boolean isFresh(String market) {
+        OrderBook book = books.get(market);
+        if (book == null) return false;
+        synchronized (book) {
+            return isFresh(book);
+        }
+    }
+
+    private boolean isFresh(OrderBook book) {
+        return !book.isEmpty() && System.currentTimeMillis() - book.timestamp <= maxAgeMs;
+    }
+
+    /**
+     * 호가 지표를 Pump Score 입력 배열에 채웁니다. 호가가 없거나 max-age보다 오래되었으면 NaN.
+     */
+    public void fillFeatures(String market, double[] features) {
+        double imbalance = Double.NaN;
+        double spread = Double.NaN;
+        double slopeRatio = Double.NaN;
+        OrderBook book = market != null ? books.get(market) : null;
+        if (book != null) {
+            synchronized (book) {
+                if (isFresh(book)) {
+                    imbalance = book.imbalance(5);
+                    spread = book.spread();
+                    slopeRatio = book.slopeRatio();
+                }
+            }
+        }
+        features[ScoreRuleBook.Feature.BOOK_IMBALANCE.ordinal()] = imbalance;
+        features[ScoreRuleBook.Feature.BOOK_SPREAD.ordinal()] = spread;
+        features[ScoreRuleBook.Feature.BOOK_SLOPE_RATIO.ordinal()] = slopeRatio;
+    }
+
+    public int size() {
+        return books.size();
+    }
+}
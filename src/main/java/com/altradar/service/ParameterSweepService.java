@@ -0,0 +1,437 @@
+package com.altradar.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.altradar.model.CryptoCoin;
+import com.altradar.model.dto.BacktestParams;
+import com.altradar.model.dto.BacktestResult;
+import com.altradar.model.dto.SweepResult;
+import com.altradar.model.dto.SweepSpec;
+import com.altradar.repository.CryptoCoinRepository;
+import com.altradar.repository.PriceDataRepository;
+import com.altradar.util.Backtester;
+import com.altradar.util.IndicatorColumns;
+import com.altradar.util.ScoreRuleBook;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 지표 기간/거래량 배수/진입 점수 조합을 저장된 가격 이력으로 백테스트해 순위를 매기는 스윕 작업.
+ *
+ * 마켓 단위로 진행합니다: 마켓 하나의 이력을 읽어 후보 기간별 지표 컬럼(SMA, 표준편차, RSI, EMA, MACD 시그널)을
+ * 한 번씩만 계산하고, 모든 조합을 fork/join 풀에 나눠 그 컬럼으로 점수 → 시뮬레이션합니다.
+ * 마켓이 끝날 때마다 조합별 누적 결과를 체크포인트 파일에 기록하므로, 취소하거나 서버가 재시작된 뒤에도
+ * 마지막으로 끝난 마켓 다음부터 이어서 실행할 수 있습니다 (진행 중이던 마켓은 처음부터 다시 평가).
+ * 점수 규칙은 실행(재개)할 때의 활성 규칙 북을 씁니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ParameterSweepService {
+
+    // 조합 번호를 나열할 수 있는 최대 격자 크기
+    private static final long MAX_GRID = 10_000_000L;
+
+    private final CryptoCoinRepository cryptoCoinRepository;
+    private final PriceDataRepository priceDataRepository;
+    private final BacktestService backtestService;
+    private final TechnicalAnalysisService technicalAnalysisService;
+    private final PumpScoreRules pumpScoreRules;
+    private final ObjectMapper objectMapper;
+
+    // 0이면 CPU 코어 수
+    @Value("${sweep.parallelism:0}")
+    private int parallelism;
+
+    @Value("${sweep.max-combinations:100000}")
+    private int maxCombinations;
+
+    @Value("${sweep.combinations-per-task:8}")
+    private int combinationsPerTask;
+
+    @Value("${sweep.checkpoint-dir:sweeps}")
+    private String checkpointDir;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final ExecutorService drivers = Executors.newVirtualThreadPerTaskExecutor();
+    private ForkJoinPool pool;
+
+    @PostConstruct
+    void init() {
+        pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        jobs.values().forEach(job -> job.cancelRequested = true);
+        drivers.shutdownNow();
+        pool.shutdownNow();
+    }
+
+    /**
+     * 스윕 작업을 시작하고 바로 반환합니다. 진행 상황은 status로 확인합니다.
+     */
+    public SweepResult start(SweepSpec request) {
+        SweepSpec spec = request.withDefaults();
+        long[] combos = combinations(spec);
+
+        List<String> markets = spec.markets().isEmpty()
+                ? priceDataRepository.findCoinsWithHistory().stream().map(CryptoCoin::getCoinId).sorted().toList()
+                : List.copyOf(new LinkedHashSet<>(spec.markets()));
+        LocalDateTime to = LocalDateTime.now(ZoneOffset.UTC);
+
+        Job job = new Job(UUID.randomUUID().toString().substring(0, 8), spec, combos,
+                to.minusDays(spec.days()), to, markets, 0, 0, newStats(combos.length));
+        jobs.put(job.id, job);
+        log.info("파라미터 스윕 시작: {} (조합 {}개, 마켓 {}개)", job.id, combos.length, markets.size());
+        launch(job);
+        return result(job, 20);
+    }
+
+    public Optional<SweepResult> status(String id, int top) {
+        return Optional.ofNullable(jobs.get(id)).map(job -> result(job, top));
+    }
+
+    /**
+     * 실행 중인 작업을 멈춥니다. 진행 중인 마켓은 버리고 마지막 체크포인트에서 멈춥니다.
+     */
+    public Optional<SweepResult> cancel(String id) {
+        Job job = jobs.get(id);
+        if (job == null) return Optional.empty();
+        job.cancelRequested = true;
+        return Optional.of(result(job, 20));
+    }
+
+    /**
+     * 취소/실패한 작업을 이어서 실행합니다. 메모리에 없으면 체크포인트 파일에서 복원합니다.
+     */
+    public Optional<SweepResult> resume(String id) {
+        Job job = jobs.computeIfAbsent(id, this::restore);
+        if (job == null) return Optional.empty();
+        synchronized (job) {
+            if (job.status != SweepResult.Status.RUNNING && job.status != SweepResult.Status.DONE) {
+                launch(job);
+            }
+        }
+        return Optional.of(result(job, 20));
+    }
+
+    // 유효한 조합 번호 (GRID는 전체, RANDOM은 seed로 섞은 앞쪽 samples개)
+    private long[] combinations(SweepSpec spec) {
+        long grid = spec.gridSize();
+        if (grid > MAX_GRID) {
+            throw new IllegalArgumentException("격자가 너무 큽니다: " + grid + " (최대 " + MAX_GRID + ")");
+        }
+        long[] valid = new long[(int) grid];
+        int count = 0;
+        for (long i = 0; i < grid; i++) {
+            if (spec.config(i).isValid()) valid[count++] = i;
+        }
+        if (spec.mode() == SweepSpec.Mode.RANDOM) {
+            int samples = Math.min(count, Math.max(1, spec.samples()));
+            SplittableRandom random = new SplittableRandom(spec.seed());
+            for (int i = 0; i < samples; i++) {
+                int j = i + random.nextInt(count - i);
+                long tmp = valid[i];
+                valid[i] = valid[j];
+                valid[j] = tmp;
+            }
+            count = samples;
+        }
+        if (count == 0) throw new IllegalArgumentException("유효한 조합이 없습니다");
+        if (count > maxCombinations) {
+            throw new IllegalArgumentException("조합이 너무 많습니다: " + count + " (최대 " + maxCombinations
+                    + ", RANDOM 모드로 samples를 지정하세요)");
+        }
+        return Arrays.copyOf(valid, count);
+    }
+
+    private void launch(Job job) {
+        job.status = SweepResult.Status.RUNNING;
+        job.cancelRequested = false;
+        job.error = null;
+        drivers.submit(() -> drive(job));
+    }
+
+    // 마켓을 순서대로 처리하며 마켓마다 체크포인트 기록
+    private void drive(Job job) {
+        long runStarted = System.currentTimeMillis();
+        job.runStartedAt = runStarted;
+        ScoreRuleBook book = pumpScoreRules.book();
+        job.ruleSet = book.activeName();
+        try {
+            while (job.marketsDone < job.markets.size()) {
+                if (job.cancelRequested) break;
+                String market = job.markets.get(job.marketsDone);
+                Backtester.Stats[] pending = newStats(job.combos.length);
+                job.evaluated.set(0);
+
+                Optional<CryptoCoin> coin = cryptoCoinRepository.findByCoinId(market);
+                if (coin.isPresent()) {
+                    BacktestService.PriceHistory history = backtestService.loadHistory(coin.get(), job.from, job.to);
+                    IndicatorColumns columns = new IndicatorColumns(history.closes(), history.volumes(),
+                            history.size(), backtestService.volumeWindow());
+                    prepare(job.spec, columns);
+                    pool.invoke(new ComboRange(job, book, history, columns, pending, 0, job.combos.length));
+                    if (job.cancelRequested) break;
+                } else {
+                    log.warn("스윕 {}: 마켓 {} 없음, 건너뜀", job.id, market);
+                }
+
+                synchronized (job) {
+                    for (int c = 0; c < pending.length; c++) job.totals[c].merge(pending[c]);
+                    job.marketsDone++;
+                }
+                job.elapsedBefore += System.currentTimeMillis() - runStarted;
+                runStarted = System.currentTimeMillis();
+                job.runStartedAt = runStarted;
+                checkpoint(job);
+            }
+            job.status = job.marketsDone < job.markets.size() ? SweepResult.Status.CANCELLED : SweepResult.Status.DONE;
+        } catch (Exception e) {
+            log.error("파라미터 스윕 {} 실패: {}", job.id, e.getMessage(), e);
+            job.error = e.getMessage();
+            job.status = SweepResult.Status.FAILED;
+        } finally {
+            job.elapsedBefore += System.currentTimeMillis() - runStarted;
+            job.runStartedAt = 0;
+            job.evaluated.set(0);
+            checkpoint(job);
+        }
+        log.info("파라미터 스윕 {}: {} ({}/{} 마켓)", job.id, job.status, job.marketsDone, job.markets.size());
+    }
+
+    // 후보 기간별 지표 컬럼을 한 번씩 미리 계산 (조합 작업들은 읽기만 함)
+    private static void prepare(SweepSpec spec, IndicatorColumns columns) {
+        Set<Integer> maPeriods = new LinkedHashSet<>();
+        maPeriods.addAll(spec.maShort());
+        maPeriods.addAll(spec.maMid());
+        maPeriods.addAll(spec.maLong());
+        maPeriods.addAll(spec.bbPeriod());
+        maPeriods.forEach(columns::sma);
+        spec.bbPeriod().forEach(columns::stddev);
+        spec.rsiPeriod().forEach(columns::rsi);
+        for (int fast : spec.macdFast()) {
+            for (int slow : spec.macdSlow()) {
+                if (fast >= slow) continue;
+                for (int signal : spec.macdSignal()) columns.signal(fast, slow, signal);
+            }
+        }
+        columns.volumeBaseline();
+    }
+
+    // 조합 구간을 나눠 병렬 평가, 리프는 작업 배열과 시뮬레이터를 재사용
+    private class ComboRange extends RecursiveAction {
+
+        private final Job job;
+        private final ScoreRuleBook book;
+        private final BacktestService.PriceHistory history;
+        private final IndicatorColumns columns;
+        private final Backtester.Stats[] out;
+        private final int from;
+        private final int to;
+
+        ComboRange(Job job, ScoreRuleBook book, BacktestService.PriceHistory history, IndicatorColumns columns,
+                   Backtester.Stats[] out, int from, int to) {
+            this.job = job;
+            this.book = book;
+            this.history = history;
+            this.columns = columns;
+            this.out = out;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > Math.max(1, combinationsPerTask)) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new ComboRange(job, book, history, columns, out, from, mid),
+                        new ComboRange(job, book, history, columns, out, mid, to));
+                return;
+            }
+            int n = history.size();
+            double[] features = technicalAnalysisService.newFeatureVector();
+            double[] setScores = new double[book.names().size()];
+            double[] scores = new double[n];
+            Backtester backtester = new Backtester();
+            for (int c = from; c < to; c++) {
+                if (job.cancelRequested) return;
+                SweepSpec.Config config = job.spec.config(job.combos[c]);
+                BacktestParams params = job.spec.base().withEntryScore(config.entryScore());
+                score(config, params.warmupBars(), features, setScores, scores);
+                out[c] = backtester.simulate(params, history.times(), history.closes(), scores, n);
+                job.evaluated.incrementAndGet();
+            }
+        }
+
+        // 공유 컬럼에서 조합의 지표 값을 골라 봉별 점수 계산
+        private void score(SweepSpec.Config config, int warmupBars, double[] features, double[] setScores,
+                           double[] scores) {
+            double[] maShort = columns.sma(config.maShort());
+            double[] maMid = columns.sma(config.maMid());
+            double[] maLong = columns.sma(config.maLong());
+            double[] rsi = columns.rsi(config.rsiPeriod());
+            double[] bbMiddle = columns.sma(config.bbPeriod());
+            double[] bbStd = columns.stddev(config.bbPeriod());
+            double[] signal = columns.signal(config.macdFast(), config.macdSlow(), config.macdSignal());
+            double k = config.bbK();
+            for (int t = 0; t < history.size(); t++) {
+                if (t + 1 < warmupBars) {
+                    scores[t] = Double.NaN;
+                    continue;
+                }
+                double mid = bbMiddle[t];
+                scores[t] = technicalAnalysisService.pumpScore(maShort[t], maMid[t], maLong[t], rsi[t],
+                        mid + k * bbStd[t], mid, mid - k * bbStd[t],
+                        columns.macdLine(config.macdFast(), config.macdSlow(), config.macdSignal(), t), signal[t],
+                        columns.isVolumeSpike(t, config.volumeMultiplier()), columns.close(t),
+                        book, features, setScores);
+            }
+        }
+    }
+
+    private SweepResult result(Job job, int top) {
+        int combos = job.combos.length;
+        List<SweepResult.Row> rows = new ArrayList<>(combos);
+        synchronized (job) {
+            for (int c = 0; c < combos; c++) {
+                BacktestResult.MarketStats stats = BacktestResult.MarketStats.of("", job.totals[c]);
+                rows.add(new SweepResult.Row(0, objective(job.spec.objective(), stats),
+                        job.spec.config(job.combos[c]), stats));
+            }
+        }
+        // NaN은 가장 뒤로
+        rows.sort(Comparator.comparingDouble((SweepResult.Row r) -> Double.isNaN(r.objective())
+                ? Double.NEGATIVE_INFINITY : r.objective()).reversed());
+        List<SweepResult.Row> ranking = new ArrayList<>(Math.min(top, rows.size()));
+        for (int i = 0; i < Math.min(Math.max(0, top), rows.size()); i++) {
+            SweepResult.Row r = rows.get(i);
+            ranking.add(new SweepResult.Row(i + 1, r.objective(), r.config(), r.stats()));
+        }
+
+        long total = (long) combos * job.markets.size();
+        double progress = total == 0 ? 1 : ((double) job.marketsDone * combos + job.evaluated.get()) / total;
+        long runStarted = job.runStartedAt;
+        long elapsed = job.elapsedBefore + (runStarted > 0 ? System.currentTimeMillis() - runStarted : 0);
+        return new SweepResult(job.id, job.status, job.spec.objective(), job.ruleSet, combos, job.marketsDone,
+                job.markets.size(), Math.min(1, progress), elapsed, job.error, ranking);
+    }
+
+    private static double objective(SweepSpec.Objective objective, BacktestResult.MarketStats stats) {
+        return switch (objective) {
+            case RETURN -> stats.totalReturn();
+            case HIT_RATE -> stats.hitRate();
+            case PUMP_RECALL -> stats.pumpRecall();
+            case RETURN_OVER_DRAWDOWN -> stats.totalReturn() / Math.max(stats.maxDrawdown(), 1e-9);
+        };
+    }
+
+    private static Backtester.Stats[] newStats(int size) {
+        Backtester.Stats[] stats = new Backtester.Stats[size];
+        for (int i = 0; i < size; i++) stats[i] = new Backtester.Stats();
+        return stats;
+    }
+
+    // 체크포인트 파일 형식 (조합 번호는 spec에서 다시 계산)
+    record Checkpoint(String id, SweepSpec spec, LocalDateTime from, LocalDateTime to, List<String> markets,
+                      int marketsDone, long elapsedMs, SweepResult.Status status, List<Backtester.Stats> totals) {
+    }
+
+    private void checkpoint(Job job) {
+        try {
+            Path dir = Path.of(checkpointDir);
+            Files.createDirectories(dir);
+            Path tmp = dir.resolve(job.id + ".json.tmp");
+            synchronized (job) {
+                objectMapper.writeValue(tmp.toFile(), new Checkpoint(job.id, job.spec, job.from, job.to, job.markets,
+                        job.marketsDone, job.elapsedBefore, job.status, Arrays.asList(job.totals)));
+            }
+            // 기록 중 중단돼도 이전 체크포인트가 깨지지 않도록 교체
+            Files.move(tmp, dir.resolve(job.id + ".json"), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("스윕 {} 체크포인트 기록 실패: {}", job.id, e.getMessage());
+        }
+    }
+
+    private Job restore(String id) {
+        Path file = Path.of(checkpointDir, id + ".json");
+        if (!id.matches("[0-9a-f]{8}") || !Files.exists(file)) return null;
+        try {
+            Checkpoint cp = objectMapper.readValue(file.toFile(), Checkpoint.class);
+            long[] combos = combinations(cp.spec());
+            if (cp.totals().size() != combos.length) {
+                throw new IllegalStateException("체크포인트 조합 수가 맞지 않습니다");
+            }
+            Job job = new Job(cp.id(), cp.spec(), combos, cp.from(), cp.to(), cp.markets(), cp.marketsDone(),
+                    cp.elapsedMs(), cp.totals().toArray(Backtester.Stats[]::new));
+            job.status = cp.status() == SweepResult.Status.DONE ? SweepResult.Status.DONE : SweepResult.Status.CANCELLED;
+            log.info("스윕 {} 체크포인트 복원 ({}/{} 마켓)", id, cp.marketsDone(), cp.markets().size());
+            return job;
+        } catch (IOException | RuntimeException e) {
+            log.warn("스윕 {} 체크포인트 복원 실패: {}", id, e.getMessage());
+            return null;
+        }
+    }
+
+    private static final class Job {
+        final String id;
+        final SweepSpec spec;
+        final long[] combos;
+        final LocalDateTime from;
+        final LocalDateTime to;
+        final List<String> markets;
+        final Backtester.Stats[] totals;
+        final AtomicLong evaluated = new AtomicLong();
+
+        volatile int marketsDone;
+        volatile long elapsedBefore;
+        volatile long runStartedAt;
+        volatile SweepResult.Status status = SweepResult.Status.CANCELLED;
+        volatile boolean cancelRequested;
+        volatile String ruleSet;
+        volatile String error;
+
+        Job(String id, SweepSpec spec, long[] combos, LocalDateTime from, LocalDateTime to, List<String> markets,
+            int marketsDone, long elapsedBefore, Backtester.Stats[] totals) {
+            this.id = id;
+            this.spec = spec;
+            this.combos = combos;
+            this.from = from;
+            this.to = to;
+            this.markets = markets;
+            this.marketsDone = marketsDone;
+            this.elapsedBefore = elapsedBefore;
+            this.totals = totals;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.altradar.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+import com.altradar.config.PatternProperties;
+import com.altradar.model.dto.PatternEvent;
+import com.altradar.util.IndicatorEngine;
+import com.altradar.util.PatternMatcher;
+import com.altradar.util.ScoreRuleBook;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+/**
+ * 닫힌 1분봉마다 마켓별 패턴 NFA를 진행시키고, 완성된 패턴을 이벤트로 내보냅니다.
+ * 패턴은 patterns 설정에서 한 번 컴파일해 모든 마켓이 공유하며, 마켓별 상태는 단계 수만큼의 고정 배열입니다.
+ * 최근 이벤트는 patterns.max-events개까지 보관하고, 구독자에게는 SSE로 바로 전달합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PatternDetector {
+
+    private final PatternProperties properties;
+    private final TechnicalAnalysisService technicalAnalysisService;
+
+    private volatile PatternMatcher matcher;
+    private final Map<String, MarketState> states = new ConcurrentHashMap<>();
+
+    private final ArrayDeque<PatternEvent> recent = new ArrayDeque<>();
+    private final Sinks.Many<PatternEvent> sink = Sinks.many().multicast().directBestEffort();
+    private final AtomicLong candles = new AtomicLong();
+    private final AtomicLong matches = new AtomicLong();
+
+    // 마켓별 NFA 상태와 작업 배열 (해당 마켓의 캔들 lock 안에서만 사용)
+    private final class MarketState implements PatternMatcher.Listener {
+        final String market;
+        final PatternMatcher matcher;
+        final PatternMatcher.State state;
+        final double[] features = new double[ScoreRuleBook.Feature.COUNT];
+
+        MarketState(String market, PatternMatcher matcher) {
+            this.market = market;
+            this.matcher = matcher;
+            this.state = matcher.newState();
+        }
+
+        @Override
+        public void onMatch(String pattern, long startTime, long time, double[] features) {
+            emit(new PatternEvent(market, pattern, startTime, time, features[ScoreRuleBook.Feature.CLOSE.ordinal()]));
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        if (properties.getDefinitions().isEmpty()) {
+            log.info("캔들 패턴 없음, 패턴 감지 비활성");
+            return;
+        }
+        Map<String, PatternMatcher.PatternDef> patterns = new LinkedHashMap<>();
+        properties.getDefinitions().forEach((name, pattern) -> patterns.put(name, new PatternMatcher.PatternDef(
+                pattern.getWindow(),
+                pattern.getSteps().stream()
+                        .map(s -> new PatternMatcher.StepDef(s.getName(), s.getWhen(), s.getWithin()))
+                        .toList())));
+        matcher = PatternMatcher.compile(patterns);
+        log.info("캔들 패턴 로드: {} (단계 {}개, 조건 {}개)", matcher.names(), matcher.stepCount(),
+                matcher.clauseCount());
+    }
+
+    public boolean isEnabled() {
+        return matcher != null;
+    }
+
+    /**
+     * 닫힌 1분봉 하나를 처리합니다 (해당 마켓의 캔들 lock 안에서 호출).
+     *
+     * @param engine 방금 닫힌 봉까지 반영된 1분봉 지표 엔진
+     */
+    public void onCandleClosed(String market, long startTime, IndicatorEngine engine) {
+        PatternMatcher current = matcher;
+        if (current == null) return;
+        MarketState ms = states.get(market);
+        if (ms == null || ms.matcher != current) {
+            ms = new MarketState(market, current);
+            states.put(market, ms);
+        }
+        technicalAnalysisService.features(engine, market, ms.features);
+        candles.incrementAndGet();
+        ms.matcher.advance(ms.state, startTime, ms.features, ms);
+    }
+
+    private void emit(PatternEvent event) {
+        matches.incrementAndGet();
+        log.debug("캔들 패턴 매칭: {} {} ({} ~ {})", event.market(), event.pattern(), event.startTime(), event.time());
+        // 보관과 SSE 전달을 한 번에 한 스레드씩 (sink는 동시 emit을 허용하지 않음)
+        synchronized (recent) {
+            recent.addLast(event);
+            while (recent.size() > Math.max(1, properties.getMaxEvents())) recent.removeFirst();
+            sink.tryEmitNext(event);
+        }
+    }
+
+    // 최근 이벤트 (최신순, market이 있으면 해당 마켓만)
+    public List<PatternEvent> recentEvents(String market, int limit) {
+        List<PatternEvent> res = new ArrayList<>();
+        synchronized (recent) {
+            Iterator<PatternEvent> it = recent.descendingIterator();
+            while (it.hasNext() && res.size() < limit) {
+                PatternEvent event = it.next();
+                if (market == null || market.equals(event.market())) res.add(event);
+            }
+        }
+        return res;
+    }
+
+    public Flux<PatternEvent> events() {
+        return sink.asFlux();
+    }
+
+    public Map<String, Object> status() {
+        Map<String, Object> res = new LinkedHashMap<>();
+        PatternMatcher current = matcher;
+        res.put("enabled", current != null);
+        if (current != null) {
+            res.put("patterns", current.definitions());
+            res.put("steps", current.stepCount());
+            res.put("clauses", current.clauseCount());
+        }
+        res.put("markets", states.size());
+        res.put("candles", candles.get());
+        res.put("matches", matches.get());
+        return res;
+    }
+}
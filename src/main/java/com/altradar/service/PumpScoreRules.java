@@ -0,0 +1,161 @@
+package com.altradar.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.yaml.snakeyaml.Yaml;
+
+import com.altradar.config.PumpScoreProperties;
+import com.altradar.util.ScoreRuleBook;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 컴파일된 Pump Score 규칙 집합을 보관하고 교체합니다.
+ * 시작 시 pump-score 설정(또는 외부 파일)을 컴파일하고, 외부 파일이 바뀌면 다시 컴파일해 원자적으로 교체합니다.
+ * 컴파일에 실패하면 이전 규칙을 유지합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PumpScoreRules {
+
+    // 설정이 없을 때 쓰는 기존 하드코딩 규칙
+    private static final Map<String, List<ScoreRuleBook.RuleDef>> DEFAULT_RULES = Map.of("default", List.of(
+            new ScoreRuleBook.RuleDef("rsi-band", "rsi > 50 && rsi < 70", 20),
+            new ScoreRuleBook.RuleDef("volume-spike", "volumeSpike", 30),
+            new ScoreRuleBook.RuleDef("ma-cross", "ma5 > ma20", 30),
+            new ScoreRuleBook.RuleDef("macd-cross", "macdLine > signalLine", 20)));
+
+    private final PumpScoreProperties properties;
+
+    private volatile ScoreRuleBook book;
+    private volatile String source;
+    private volatile long loadedAt;
+    private volatile long fileModifiedAt = -1;
+
+    @PostConstruct
+    void init() {
+        if (hasFile()) {
+            reload();
+        }
+        if (book == null) {
+            install(ScoreRuleBook.compile(fromProperties(), properties.getActive(), properties.getMaxScore()),
+                    "application.yml");
+        }
+    }
+
+    public ScoreRuleBook book() {
+        return book;
+    }
+
+    // 외부 규칙 파일이 바뀌었으면 다시 불러옴
+    @Scheduled(fixedDelayString = "${pump-score.reload-interval-seconds:10}", timeUnit = TimeUnit.SECONDS)
+    public void pollFile() {
+        if (!hasFile()) return;
+        try {
+            long modified = Files.getLastModifiedTime(Path.of(properties.getFile())).toMillis();
+            if (modified != fileModifiedAt) {
+                reload();
+            }
+        } catch (IOException e) {
+            log.debug("규칙 파일 확인 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 외부 규칙 파일을 다시 컴파일합니다. 파일이 없으면 application.yml 규칙을 다시 컴파일합니다.
+     */
+    public synchronized Map<String, Object> reload() {
+        try {
+            if (hasFile()) {
+                Path path = Path.of(properties.getFile());
+                // 실패한 파일도 바뀔 때까지 다시 시도하지 않음
+                fileModifiedAt = Files.getLastModifiedTime(path).toMillis();
+                install(compileFile(path), path.toString());
+            } else {
+                install(ScoreRuleBook.compile(fromProperties(), properties.getActive(), properties.getMaxScore()),
+                        "application.yml");
+            }
+        } catch (IOException | RuntimeException e) {
+            // 잘못된 규칙으로 교체하지 않음
+            log.warn("Pump Score 규칙 리로드 실패, 이전 규칙 유지: {}", e.getMessage());
+            Map<String, Object> res = status();
+            res.put("error", e.getMessage());
+            return res;
+        }
+        return status();
+    }
+
+    private void install(ScoreRuleBook compiled, String from) {
+        book = compiled;
+        source = from;
+        loadedAt = System.currentTimeMillis();
+        log.info("Pump Score 규칙 로드: {} (집합 {}, 조건 {}개, 활성 {})",
+                from, compiled.names(), compiled.clauseCount(), compiled.activeName());
+    }
+
+    private boolean hasFile() {
+        return properties.getFile() != null && !properties.getFile().isBlank();
+    }
+
+    private Map<String, List<ScoreRuleBook.RuleDef>> fromProperties() {
+        if (properties.getRuleSets().isEmpty()) return DEFAULT_RULES;
+        Map<String, List<ScoreRuleBook.RuleDef>> sets = new LinkedHashMap<>();
+        properties.getRuleSets().forEach((name, rules) -> sets.put(name, rules.stream()
+                .map(r -> new ScoreRuleBook.RuleDef(r.getName(), r.getWhen(), r.getScore()))
+                .toList()));
+        return sets;
+    }
+
+    // 외부 파일 형식: active, max-score, rule-sets (application.yml의 pump-score 아래와 같음)
+    @SuppressWarnings("unchecked")
+    private ScoreRuleBook compileFile(Path path) throws IOException {
+        Map<String, Object> root;
+        try (InputStream in = Files.newInputStream(path)) {
+            root = new Yaml().load(in);
+        }
+        if (root == null) throw new IllegalArgumentException("빈 규칙 파일: " + path);
+
+        Map<String, List<ScoreRuleBook.RuleDef>> sets = new LinkedHashMap<>();
+        Map<String, Object> ruleSets = (Map<String, Object>) root.get("rule-sets");
+        if (ruleSets == null) throw new IllegalArgumentException("rule-sets가 없습니다: " + path);
+        ruleSets.forEach((name, value) -> {
+            List<ScoreRuleBook.RuleDef> rules = new ArrayList<>();
+            for (Map<String, Object> rule : (List<Map<String, Object>>) value) {
+                rules.add(new ScoreRuleBook.RuleDef(String.valueOf(rule.get("name")),
+                        (String) rule.get("when"), ((Number) rule.get("score")).doubleValue()));
+            }
+            sets.put(name, rules);
+        });
+
+        Object active = root.get("active");
+        Object maxScore = root.get("max-score");
+        return ScoreRuleBook.compile(sets, active != null ? active.toString() : null,
+                maxScore instanceof Number n ? n.doubleValue() : properties.getMaxScore());
+    }
+
+    public Map<String, Object> status() {
+        Map<String, Object> res = new LinkedHashMap<>();
+        ScoreRuleBook current = book;
+        res.put("source", source);
+        res.put("loadedAt", loadedAt);
+        if (current != null) {
+            res.put("active", current.activeName());
+            res.put("ruleSets", current.definitions());
+            res.put("clauses", current.clauseCount());
+        }
+        return res;
+    }
+}
@@ -1,67 +1,198 @@
 
 package com.altradar.service;
 
-import com.altradar.util.TechnicalAnalysisUtil;
+import com.altradar.model.dto.AnalysisResult;
+import com.altradar.util.BatchIndicatorKernel;
+import com.altradar.util.CandleRingBuffer;
+import com.altradar.util.DoubleSeries;
+import com.altradar.util.IndicatorEngine;
+import com.altradar.util.MarketBatch;
+import com.altradar.util.ScoreRuleBook;
+import com.altradar.util.TimeframeAggregator;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 @Service
+@RequiredArgsConstructor
 public class TechnicalAnalysisService {
 
-    public Map<String, Object> analyze(List<Double> prices, List<Double> volumes) {
-        Map<String, Object> result = new HashMap<>();
+    private final PumpScoreRules pumpScoreRules;
+    private final MarketRanking marketRanking;
+    private final OrderBookStore orderBookStore;
 
-        // 이동평균
-        result.put("ma5", TechnicalAnalysisUtil.movingAverage(prices, 5));
-        result.put("ma20", TechnicalAnalysisUtil.movingAverage(prices, 20));
-        result.put("ma60", TechnicalAnalysisUtil.movingAverage(prices, 60));
+    // 배치 분석: SIMD 커널 사용 여부와 fork/join 작업당 마켓 수
+    @Value("${analysis.batch.vector:true}")
+    private boolean batchVector;
 
-        // RSI
-        result.put("rsi", TechnicalAnalysisUtil.rsi(prices, 14));
+    @Value("${analysis.batch.markets-per-task:32}")
+    private int batchMarketsPerTask;
 
-        // 볼린저 밴드
-        double[] bb = TechnicalAnalysisUtil.bollingerBands(prices, 20, 2);
-        result.put("bbUpper", bb[0]);
-        result.put("bbMiddle", bb[1]);
-        result.put("bbLower", bb[2]);
+    private BatchIndicatorKernel batchKernel;
 
-        // MACD
-        double[] macd = TechnicalAnalysisUtil.macd(prices, 12, 26, 9);
-        result.put("macdLine", macd[0]);
-        result.put("signalLine", macd[1]);
+    @PostConstruct
+    void initBatchKernel() {
+        batchKernel = new BatchIndicatorKernel(batchVector, batchMarketsPerTask, ForkJoinPool.commonPool());
+    }
+
+    public AnalysisResult analyze(List<Double> prices, List<Double> volumes) {
+        return analyze(DoubleSeries.copyOf(prices), DoubleSeries.copyOf(volumes));
+    }
+
+    public AnalysisResult analyze(DoubleSeries prices, DoubleSeries volumes) {
+        // 윈도우 전체를 한 번 순회해 스트리밍 엔진 상태를 만든 뒤 현재 값을 읽음 (O(n))
+        IndicatorEngine engine = IndicatorEngine.defaults(Math.max(1, volumes.length() - 1));
+        for (int i = 0; i < prices.length(); i++) {
+            engine.append(prices.get(i), i < volumes.length() ? volumes.get(i) : 0);
+        }
+        return analyze(engine);
+    }
+
+    /**
+     * 스트리밍 지표 엔진의 현재 값으로 분석 결과를 만듭니다 (윈도우 재계산 없음).
+     */
+    public AnalysisResult analyze(IndicatorEngine engine) {
+        return analyze(engine, null);
+    }
+
+    /**
+     * market의 횡단면 순위(변화율 백분위/z-score)와 호가 지표까지 규칙 입력으로 넣어 분석합니다.
+     */
+    public AnalysisResult analyze(IndicatorEngine engine, String market) {
+        // Pump Score 계산 (설정된 모든 규칙 집합을 한 번에 평가)
+        double[] features = new double[ScoreRuleBook.Feature.COUNT];
+        features(engine, market, features);
+        return score(features);
+    }
+
+    /**
+     * 엔진의 현재 지표 값(과 market이 있으면 횡단면 순위, 호가 지표)을 규칙 입력 배열에 채웁니다 (할당 없음).
+     */
+    public void features(IndicatorEngine engine, String market, double[] features) {
+        // 볼린저 값을 features 앞 3칸에 잠시 받아 둠 (인자로 먼저 읽힌 뒤 덮어씀)
+        engine.bollingerBands(features);
+        fillFeatures(features, engine.maShort(), engine.maMid(), engine.maLong(), engine.rsi(),
+                features[0], features[1], features[2], engine.macdLine(), engine.signalLine(),
+                engine.isVolumeSpike(2.0), engine.lastClose());
+        if (market != null) {
+            marketRanking.fillFeatures(market, features);
+            orderBookStore.fillFeatures(market, features);
+        }
+    }
 
-        // 거래량 급등 여부
-        result.put("volumeSpike", TechnicalAnalysisUtil.isVolumeSpike(volumes, 2.0));
+    /**
+     * 엔진의 현재 값으로 book의 활성 집합 점수만 계산합니다 (백테스트처럼 봉마다 호출하는 경로용, 할당 없음).
+     *
+     * @param features newFeatureVector()로 만든 작업 배열
+     * @param scores   book.names() 크기의 작업 배열
+     */
+    public double pumpScore(IndicatorEngine engine, ScoreRuleBook book, double[] features, double[] scores) {
+        // 볼린저 값을 features 앞 3칸에 잠시 받아 둠 (인자로 먼저 읽힌 뒤 덮어씀)
+        engine.bollingerBands(features);
+        return pumpScore(engine.maShort(), engine.maMid(), engine.maLong(), engine.rsi(),
+                features[0], features[1], features[2], engine.macdLine(), engine.signalLine(),
+                engine.isVolumeSpike(2.0), engine.lastClose(), book, features, scores);
+    }
 
-        // Pump Score 계산
-        double score = calculatePumpScore(result);
-        result.put("pumpScore", score);
+    // 이미 계산된 지표 값으로 활성 집합 점수 계산 (파라미터 스윕의 지표 컬럼 경로)
+    public double pumpScore(double ma5, double ma20, double ma60, double rsi,
+                            double bbUpper, double bbMiddle, double bbLower,
+                            double macdLine, double signalLine, boolean volumeSpike, double close,
+                            ScoreRuleBook book, double[] features, double[] scores) {
+        fillFeatures(features, ma5, ma20, ma60, rsi, bbUpper, bbMiddle, bbLower, macdLine, signalLine,
+                volumeSpike, close);
+        book.evaluate(features, scores);
+        return scores[book.activeIndex()];
+    }
 
+    /**
+     * 1분봉에서 직접 집계한 상위 타임프레임 봉으로 같은 분석을 수행합니다.
+     * 봉이 아직 없는 타임프레임은 건너뜁니다.
+     */
+    public Map<String, AnalysisResult> analyzeTimeframes(TimeframeAggregator aggregator) {
+        Map<String, AnalysisResult> result = new LinkedHashMap<>();
+        for (TimeframeAggregator.Timeframe timeframe : TimeframeAggregator.Timeframe.values()) {
+            CandleRingBuffer bars = aggregator.bars(timeframe);
+            if (bars.isEmpty()) continue;
+            result.put(timeframe.getLabel(), analyze(aggregator.indicators(timeframe)).withBars(bars.size()));
+        }
         return result;
     }
 
-    private double calculatePumpScore(Map<String, Object> indicators) {
-        double score = 0;
+    /**
+     * 여러 마켓을 한 번에 분석합니다 (structure-of-arrays 배치, SIMD + fork/join).
+     * 결과는 batch의 마켓별 결과 배열에 채워집니다.
+     */
+    public void analyzeBatch(MarketBatch batch) {
+        batchKernel.compute(batch);
+    }
+
+    // 배치 결과 중 마켓 하나를 analyze()와 같은 결과 타입으로 변환
+    public AnalysisResult batchResult(MarketBatch batch, int market, double[] features) {
+        return batchResult(batch, market, null, features);
+    }
 
-        // 예시 점수 계산
-        Double rsi = (Double) indicators.get("rsi");
-        if (rsi != null && rsi < 70 && rsi > 50) score += 20;
+    // symbol이 있으면 횡단면 순위와 호가 지표도 규칙 입력으로 사용
+    public AnalysisResult batchResult(MarketBatch batch, int market, String symbol, double[] features) {
+        fillFeatures(features, batch.ma5[market], batch.ma20[market], batch.ma60[market], batch.rsi[market],
+                batch.bbUpper[market], batch.bbMiddle[market], batch.bbLower[market],
+                batch.macdLine[market], batch.signalLine[market], batch.volumeSpike[market],
+                batch.lastClose(market));
+        if (symbol != null) {
+            marketRanking.fillFeatures(symbol, features);
+            orderBookStore.fillFeatures(symbol, features);
+        }
+        return score(features);
+    }
 
-        Boolean volumeSpike = (Boolean) indicators.get("volumeSpike");
-        if (volumeSpike != null && volumeSpike) score += 30;
+    public double[] newFeatureVector() {
+        return new double[ScoreRuleBook.Feature.COUNT];
+    }
 
-        Double ma5 = (Double) indicators.get("ma5");
-        Double ma20 = (Double) indicators.get("ma20");
-        if (ma5 != null && ma20 != null && ma5 > ma20) score += 30;
+    public Map<String, Object> batchKernelInfo() {
+        Map<String, Object> res = new LinkedHashMap<>();
+        res.put("vectorized", batchKernel.isVectorized());
+        res.put("lanes", batchKernel.lanes());
+        return res;
+    }
 
-        Double macdLine = (Double) indicators.get("macdLine");
-        Double signalLine = (Double) indicators.get("signalLine");
-        if (macdLine != null && signalLine != null && macdLine > signalLine) score += 20;
+    private static void fillFeatures(double[] f, double ma5, double ma20, double ma60, double rsi,
+                                     double bbUpper, double bbMiddle, double bbLower,
+                                     double macdLine, double signalLine, boolean volumeSpike, double close) {
+        f[ScoreRuleBook.Feature.MA5.ordinal()] = ma5;
+        f[ScoreRuleBook.Feature.MA20.ordinal()] = ma20;
+        f[ScoreRuleBook.Feature.MA60.ordinal()] = ma60;
+        f[ScoreRuleBook.Feature.RSI.ordinal()] = rsi;
+        f[ScoreRuleBook.Feature.BB_UPPER.ordinal()] = bbUpper;
+        f[ScoreRuleBook.Feature.BB_MIDDLE.ordinal()] = bbMiddle;
+        f[ScoreRuleBook.Feature.BB_LOWER.ordinal()] = bbLower;
+        f[ScoreRuleBook.Feature.MACD_LINE.ordinal()] = macdLine;
+        f[ScoreRuleBook.Feature.SIGNAL_LINE.ordinal()] = signalLine;
+        f[ScoreRuleBook.Feature.VOLUME_SPIKE.ordinal()] = volumeSpike ? 1 : 0;
+        f[ScoreRuleBook.Feature.CLOSE.ordinal()] = close;
+        // 횡단면/호가 입력은 실시간 분석에서만 채움 (백테스트 등에서는 비교가 false가 되도록 NaN)
+        for (int i = ScoreRuleBook.Feature.CHANGE_1M_PERCENTILE.ordinal(); i < ScoreRuleBook.Feature.COUNT; i++) {
+            f[i] = Double.NaN;
+        }
+    }
 
-        return Math.min(score, 100);
+    // 규칙 북으로 집합별 점수를 계산해 결과 생성 (pumpScore = 활성 집합 점수)
+    private AnalysisResult score(double[] f) {
+        ScoreRuleBook book = pumpScoreRules.book();
+        double[] scores = new double[book.names().size()];
+        book.evaluate(f, scores);
+        return AnalysisResult.of(f[ScoreRuleBook.Feature.MA5.ordinal()], f[ScoreRuleBook.Feature.MA20.ordinal()],
+                f[ScoreRuleBook.Feature.MA60.ordinal()], f[ScoreRuleBook.Feature.RSI.ordinal()],
+                f[ScoreRuleBook.Feature.BB_UPPER.ordinal()], f[ScoreRuleBook.Feature.BB_MIDDLE.ordinal()],
+                f[ScoreRuleBook.Feature.BB_LOWER.ordinal()], f[ScoreRuleBook.Feature.MACD_LINE.ordinal()],
+                f[ScoreRuleBook.Feature.SIGNAL_LINE.ordinal()], f[ScoreRuleBook.Feature.VOLUME_SPIKE.ordinal()] != 0,
+                scores[book.activeIndex()], book.names(), scores);
     }
     
     
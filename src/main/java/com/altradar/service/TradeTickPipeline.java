@@ -0,0 +1,286 @@
+package com.altradar.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.altradar.model.dto.SecondBar;
+import com.altradar.util.LatencyHistogram;
+import com.altradar.util.TradeRingBuffer;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 웹소켓 체결 틱 수집 단계.
+ * 웹소켓 리스너(생산자 하나)는 틱을 TradeRingBuffer에 넣기만 하고, 소비자 스레드 두 개가 각자 속도로 읽습니다.
+ * - candles: LiveMarketState에 반영 (1분봉 → 지표 엔진, 횡단면 순위, 패턴 감지)
+ * - bars: 마켓별 1초봉(OHLC, VWAP, 매수/매도 거래량, 체결 수)과 UTC 자정부터의 누적 VWAP, 수신→1초봉 반영 지연
+ * 생산/소비 경로에는 락이 없으며, 스트리밍이 켜질 때 UpbitStreamingService가 start()를 호출합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TradeTickPipeline {
+
+    private static final long SECOND_MS = 1_000L;
+    private static final long DAY_MS = 86_400_000L;
+    // 틱이 없으면 잠깐 돌다가 양보하고, 그래도 없으면 park (코어가 하나면 생산자와 경쟁하므로 바로 park)
+    private static final boolean MULTI_CORE = Runtime.getRuntime().availableProcessors() > 1;
+    private static final int SPIN_TRIES = MULTI_CORE ? 100 : 0;
+    private static final int YIELD_TRIES = MULTI_CORE ? 100 : 0;
+    private static final long PARK_NANOS = 50_000L;
+
+    private final LiveMarketState liveState;
+
+    @Value("${upbit.ticks.ring-size:65536}")
+    private int ringSize;
+
+    // 마켓별로 보관할 닫힌 1초봉 수
+    @Value("${upbit.ticks.bar-history:300}")
+    private int barHistory;
+
+    private record Worker(String name, TradeRingBuffer.Consumer consumer, Thread thread) {
+    }
+
+    private volatile TradeRingBuffer ring;
+    private volatile boolean running;
+    private final List<Worker> workers = new ArrayList<>();
+
+    // 생산자 전용 마켓 코드 → 번호 (이름 배열은 소비자가 읽으므로 새 배열로 교체)
+    private final Map<String, Integer> marketIds = new HashMap<>();
+    private volatile String[] marketNames = new String[0];
+
+    // bars 소비자 전용
+    private MarketBars[] barsById = new MarketBars[0];
+    private final Map<String, MarketBars> bars = new ConcurrentHashMap<>();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    /**
+     * 마켓 하나의 1초봉. 진행 중인 봉은 bars 소비자만 읽고 쓰며, 닫힌 봉은 불변 객체로 history에 넣어 공개합니다.
+     */
+    private static final class MarketBars {
+        final String market;
+        final SecondBar[] history;
+        volatile long closed;   // 지금까지 닫힌 봉 수; 다음 봉은 history[closed % length]
+
+        long start = -1;
+        double open;
+        double high;
+        double low;
+        double close;
+        double volume;
+        double notional;
+        double buyVolume;
+        double sellVolume;
+        int trades;
+
+        long day = -1;
+        double dayVolume;
+        double dayNotional;
+
+        MarketBars(String market, int history) {
+            this.market = market;
+            this.history = new SecondBar[history];
+        }
+
+        void add(double price, double qty, long time, byte side) {
+            long second = time - Math.floorMod(time, SECOND_MS);
+            if (second > start) {
+                if (start >= 0) closeBar();
+                start = second;
+                open = high = low = close = price;
+                volume = notional = buyVolume = sellVolume = 0;
+                trades = 0;
+            } else if (second == start) {
+                high = Math.max(high, price);
+                low = Math.min(low, price);
+                close = price;
+            }
+            // 늦게 도착한 이전 초의 체결은 가격(OHLC)은 그대로 두고 진행 중인 봉의 거래량에만 합침
+            volume += qty;
+            notional += price * qty;
+            if (side == TradeRingBuffer.BUY) {
+                buyVolume += qty;
+            } else {
+                sellVolume += qty;
+            }
+            trades++;
+
+            long tradeDay = time - Math.floorMod(time, DAY_MS);
+            if (tradeDay > day) {
+                day = tradeDay;
+                dayVolume = dayNotional = 0;
+            }
+            dayVolume += qty;
+            dayNotional += price * qty;
+        }
+
+        private void closeBar() {
+            history[(int) (closed % history.length)] = new SecondBar(market, start, open, high, low, close, volume,
+                    volume > 0 ? notional / volume : close, dayVolume > 0 ? dayNotional / dayVolume : close,
+                    buyVolume, sellVolume, trades);
+            closed = closed + 1;
+        }
+
+        // 닫힌 봉 최대 limit개 (오래된 순). 복사하는 동안 덮어쓰였을 수 있는 앞쪽 봉은 제외
+        List<SecondBar> recent(int limit) {
+            long end = closed;
+            int n = (int) Math.min(Math.min(limit, end), history.length);
+            SecondBar[] copy = new SecondBar[n];
+            for (int i = 0; i < n; i++) {
+                copy[i] = history[(int) ((end - n + i) % history.length)];
+            }
+            long skip = Math.max(0, closed - history.length - (end - n) + 1);
+            return Arrays.asList(copy).subList((int) Math.min(skip, n), n);
+        }
+    }
+
+    /**
+     * 링 버퍼와 소비자 스레드를 시작합니다 (한 번만).
+     */
+    public synchronized void start() {
+        if (running) return;
+        TradeRingBuffer buffer = new TradeRingBuffer(ringSize);
+        TradeRingBuffer.Consumer candles = buffer.newConsumer();
+        TradeRingBuffer.Consumer seconds = buffer.newConsumer();
+        workers.clear();
+        running = true;
+        workers.add(startWorker("trade-ticks-candles", candles, this::onCandleTick));
+        workers.add(startWorker("trade-ticks-bars", seconds, this::onBarTick));
+        ring = buffer;
+        log.info("체결 틱 파이프라인 시작: 링 {}칸, 소비자 {}개", buffer.capacity(), workers.size());
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (!running) return;
+        running = false;
+        // 링이 가득 차 소비자를 기다리던 생산자도 풀려나도록 닫음
+        ring.close();
+        for (Worker worker : workers) {
+            try {
+                worker.thread().join(1_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private Worker startWorker(String name, TradeRingBuffer.Consumer consumer, TradeRingBuffer.Handler handler) {
+        Thread thread = Thread.ofPlatform().name(name).daemon().start(() -> {
+            int idle = 0;
+            while (running) {
+                if (consumer.poll(handler) > 0) {
+                    idle = 0;
+                } else if (idle < SPIN_TRIES) {
+                    idle++;
+                    Thread.onSpinWait();
+                } else if (idle < SPIN_TRIES + YIELD_TRIES) {
+                    idle++;
+                    Thread.yield();
+                } else {
+                    LockSupport.parkNanos(PARK_NANOS);
+                }
+            }
+            // 종료 전에 남은 틱 처리
+            consumer.poll(handler);
+        });
+        return new Worker(name, consumer, thread);
+    }
+
+    /**
+     * 체결 하나를 링에 넣습니다 (웹소켓 리스너 스레드 하나에서만 호출).
+     *
+     * @param buy          매수 체결(ask_bid = BID)이면 true
+     * @param receivedNanos 메시지를 받은 System.nanoTime()
+     * @return 파이프라인이 시작되지 않았거나 멈췄으면 false
+     */
+    public boolean publish(String market, double price, double volume, long tradeTime, boolean buy,
+                           long receivedNanos) {
+        TradeRingBuffer buffer = ring;
+        if (buffer == null) return false;
+        Integer id = marketIds.get(market);
+        if (id == null) {
+            id = register(market);
+        }
+        return buffer.publish(id, price, volume, tradeTime, buy ? TradeRingBuffer.BUY : TradeRingBuffer.SELL,
+                receivedNanos);
+    }
+
+    private int register(String market) {
+        String[] names = Arrays.copyOf(marketNames, marketNames.length + 1);
+        names[names.length - 1] = market;
+        marketNames = names;
+        marketIds.put(market, names.length - 1);
+        return names.length - 1;
+    }
+
+    private void onCandleTick(TradeRingBuffer ring, int slot, boolean endOfBatch) {
+        try {
+            liveState.onTrade(marketNames[ring.market(slot)], ring.price(slot), ring.volume(slot),
+                    ring.tradeTime(slot));
+        } catch (Exception e) {
+            log.debug("체결 반영 실패: {}", e.getMessage());
+        }
+    }
+
+    private void onBarTick(TradeRingBuffer ring, int slot, boolean endOfBatch) {
+        int id = ring.market(slot);
+        MarketBars marketBars = id < barsById.length ? barsById[id] : null;
+        if (marketBars == null) {
+            marketBars = newBars(id);
+        }
+        marketBars.add(ring.price(slot), ring.volume(slot), ring.tradeTime(slot), ring.side(slot));
+        latency.record(System.nanoTime() - ring.receivedNanos(slot));
+    }
+
+    private MarketBars newBars(int id) {
+        if (id >= barsById.length) {
+            barsById = Arrays.copyOf(barsById, Math.max(id + 1, barsById.length * 2));
+        }
+        MarketBars marketBars = new MarketBars(marketNames[id], Math.max(1, barHistory));
+        barsById[id] = marketBars;
+        bars.put(marketBars.market, marketBars);
+        return marketBars;
+    }
+
+    // 마켓의 최근 닫힌 1초봉 (오래된 순, 최대 limit개)
+    public List<SecondBar> recentBars(String market, int limit) {
+        MarketBars marketBars = bars.get(market);
+        return marketBars != null ? marketBars.recent(Math.max(0, limit)) : List.of();
+    }
+
+    public Map<String, Object> status() {
+        Map<String, Object> res = new LinkedHashMap<>();
+        TradeRingBuffer buffer = ring;
+        res.put("running", running);
+        if (buffer == null) return res;
+        res.put("ringSize", buffer.capacity());
+        res.put("published", buffer.cursor() + 1);
+        res.put("producerWaits", buffer.producerWaits());
+        res.put("markets", marketNames.length);
+        Map<String, Object> lag = new LinkedHashMap<>();
+        for (Worker worker : workers) {
+            lag.put(worker.name(), worker.consumer().lag());
+        }
+        res.put("consumerLag", lag);
+        Map<String, Object> ingestToBar = new LinkedHashMap<>();
+        ingestToBar.put("count", latency.count());
+        ingestToBar.put("p50Micros", latency.quantile(0.5) / 1_000.0);
+        ingestToBar.put("p99Micros", latency.quantile(0.99) / 1_000.0);
+        ingestToBar.put("p999Micros", latency.quantile(0.999) / 1_000.0);
+        ingestToBar.put("maxMicros", latency.max() / 1_000.0);
+        res.put("ingestToBarLatency", ingestToBar);
+        return res;
+    }
+}
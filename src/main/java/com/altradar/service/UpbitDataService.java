@@ -1,19 +1,47 @@
 
 package com.altradar.service;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
-import org.json.JSONArray;
-import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 
+import com.altradar.model.dto.AnalysisResult;
+import com.altradar.model.dto.IndicatorSeriesResult;
+import com.altradar.model.dto.UpbitApiResponse;
+import com.altradar.model.dto.VolumeProfile;
+import com.altradar.util.CandleRingBuffer;
+import com.altradar.util.IndicatorSeries;
+import com.altradar.util.MarketBatch;
+import com.altradar.util.SingleFlight;
+import com.altradar.util.TimeframeAggregator;
+import com.altradar.util.UpbitJsonParser;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
 
 @Slf4j
 @Service
@@ -21,119 +49,557 @@ import lombok.extern.slf4j.Slf4j;
 public class UpbitDataService {
 	
 
-	// 글로벌 속도 제한 (초당 약 8~9회 요청)
-	private long lastRequestTime = 0;
-	private final long REQUEST_INTERVAL_MS = 120;
+	// 동시 스캔: 마켓별 작업을 가상 스레드로 실행하고 동시 요청 수는 세마포어로 제한
+	@Value("${upbit.scan.max-concurrency:8}")
+	private int maxConcurrency;
+
+	private final ExecutorService scanExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+	// 논블로킹 스캔: 동시 요청 수와 요청별 타임아웃
+	@Value("${upbit.reactive.max-concurrency:16}")
+	private int reactiveConcurrency;
+
+	@Value("${upbit.reactive.request-timeout-ms:5000}")
+	private long requestTimeoutMs;
+
+	@Value("${upbit.retry.max-attempts:3}")
+	private int maxRetryAttempts;
+
+	@Value("${upbit.retry.base-backoff-ms:100}")
+	private long retryBaseBackoffMs;
+
+	// 겹치는 수집 요청이 같은 마켓 데이터를 공유하는 시간
+	@Value("${upbit.single-flight.freshness-ms:2000}")
+	private long singleFlightFreshnessMs;
+
+	// 거래량 분포 기반 급등 판단: 넘어야 할 분위수와 최소 표본 수
+	@Value("${upbit.volume-sketch.spike-quantile:0.99}")
+	private double volumeSpikeQuantile;
+
+	@Value("${upbit.volume-sketch.min-samples:30}")
+	private int volumeSpikeMinSamples;
+
+	private SingleFlight<String, AnalysisResult> candleFlight;
+	private SingleFlight<String, CandleCache.MarketCandles> syncFlight;
+	private SingleFlight<List<String>, UpbitApiResponse.Columns> tickerFlight;
 
     private final TechnicalAnalysisService technicalAnalysisService;
     private final RestTemplate restTemplate;
+    private final WebClient webClient;
+    private final UpbitRateLimiter rateLimiter;
+    private final CandleCache candleCache;
+    private final LiveMarketState liveState;
+    private final MarketCatalog marketCatalog;
+    private final MarketRanking marketRanking;
+    private final OrderBookService orderBookService;
 
     private static final String UPBIT_TICKER_URL = "https://api.upbit.com/v1/ticker?markets=%s";
-    private static final String UPBIT_CANDLES_URL = "https://api.upbit.com/v1/candles/minutes/1?market=%s&count=200";
+    private static final String UPBIT_CANDLES_URL = "https://api.upbit.com/v1/candles/minutes/1?market=%s&count=%d";
 
-    public Map<String, Object> getMarketAnalysis(String market) {
+    public AnalysisResult getMarketAnalysis(String market) {
         try {
-            // 가격 데이터 가져오기
-            String candleUrl = String.format(UPBIT_CANDLES_URL, market);
-            JSONArray candles = new JSONArray(restTemplate.getForObject(candleUrl, String.class));
-
-            List<Double> prices = new ArrayList<>();
-            List<Double> volumes = new ArrayList<>();
+            refreshOrderBooks(List.of(market));
+            // 가격 데이터 동기화 및 분석 실행
+            AnalysisResult analysis = analyzeCandles(market);
 
-            for (int i = candles.length() - 1; i >= 0; i--) {
-                JSONObject candle = candles.getJSONObject(i);
-                prices.add(candle.getDouble("trade_price"));
-                volumes.add(candle.getDouble("candle_acc_trade_volume"));
+            // 현재가 정보 (스트리밍 중이면 실시간 상태 사용)
+            double price = livePrice(market);
+            if (Double.isNaN(price)) {
+                price = fetchTickers(List.of(market)).tradePrice[0];
             }
 
-            // 분석 실행
-            Map<String, Object> analysis = technicalAnalysisService.analyze(prices, volumes);
-
-            // 현재가 정보
-            String tickerUrl = String.format(UPBIT_TICKER_URL, market);
-            JSONArray tickerArr = new JSONArray(restTemplate.getForObject(tickerUrl, String.class));
-            JSONObject ticker = tickerArr.getJSONObject(0);
-
-            Map<String, Object> result = new HashMap<>();
-            result.put("symbol", market);
-            result.put("price", ticker.getDouble("trade_price"));
-            result.putAll(analysis);
-
-            return result;
+            return withMarketInfo(analysis, market, price);
         } catch (Exception e) {
             log.error("Error fetching market analysis for {}: {}", market, e.getMessage());
             return null;
         }
     }
 
-    public List<Map<String, Object>> getMultipleMarketAnalysis(List<String> markets) {
-        List<Map<String, Object>> results = new ArrayList<>();
+    public List<AnalysisResult> getMultipleMarketAnalysis(List<String> markets) {
+        List<AnalysisResult> results = new ArrayList<>();
+        refreshOrderBooks(markets);
 
         // 한 번에 10개씩 끊어서 처리
         for (int i = 0; i < markets.size(); i += 10) {
             List<String> batch = markets.subList(i, Math.min(i + 10, markets.size()));
 
+            // 1. 가격 정보는 batch로 한 번에 가져오기 (스트림에 모두 있으면 생략)
+            UpbitApiResponse.Columns tickers = null;
             try {
-                // 1. 가격 정보는 batch로 한 번에 가져오기
-                String tickerUrl = String.format("https://api.upbit.com/v1/ticker?markets=%s", String.join(",", batch));
-                JSONArray tickerArr = new JSONArray(restTemplate.getForObject(tickerUrl, String.class));
-
-                // 2. 각 마켓별 캔들 데이터 가져오기
-                for (int j = 0; j < batch.size(); j++) {
-                    String market = batch.get(j);
-                    JSONObject ticker = tickerArr.getJSONObject(j);
-
-                    // 캔들 API 호출 (속도 제한 적용)
-                    rateLimit(); // 요청 전 대기
-                    String candleUrl = String.format("https://api.upbit.com/v1/candles/minutes/1?market=%s&count=200", market);
-                    JSONArray candles = new JSONArray(restTemplate.getForObject(candleUrl, String.class));
-
-                    List<Double> prices = new ArrayList<>();
-                    List<Double> volumes = new ArrayList<>();
-                    for (int k = candles.length() - 1; k >= 0; k--) {
-                        JSONObject candle = candles.getJSONObject(k);
-                        prices.add(candle.getDouble("trade_price"));
-                        volumes.add(candle.getDouble("candle_acc_trade_volume"));
-                    }
+                if (!allLive(batch)) {
+                    tickers = fetchTickers(batch);
+                }
+            } catch (Exception e) {
+                log.error("Error fetching tickers for {}: {}", batch, e.getMessage());
+                continue;
+            }
+
+            // 2. 각 마켓별 캔들 데이터 가져오기 (실패한 마켓만 건너뜀)
+            for (int j = 0; j < batch.size(); j++) {
+                String market = batch.get(j);
+                try {
+                    double price = tickers != null ? tickers.tradePrice[j] : livePrice(market);
+
+                    // 캔들 동기화 및 기술 분석 실행
+                    AnalysisResult analysis = analyzeCandles(market);
+                    results.add(withMarketInfo(analysis, market, price));
+                } catch (Exception e) {
+                    log.error("Error fetching market analysis for {}: {}", market, e.getMessage());
+                }
+            }
+        }
 
-                    // 기술 분석 실행
-                    Map<String, Object> analysis = technicalAnalysisService.analyze(prices, volumes);
-                    analysis.put("symbol", market);
-                    analysis.put("price", ticker.getDouble("trade_price"));
+        return results;
+    }
+    
+    // 마켓 목록은 MarketCatalog가 백그라운드로 갱신한 메모리 스냅샷에서 조회
+    public List<String> getAllKrwMarkets() {
+        return marketCatalog.krwMarkets();
+    }
+    /**
+     * 여러 마켓을 가상 스레드로 동시에 분석합니다.
+     * 캔들이 도착하는 즉시 해당 마켓의 분석을 수행하며, 결과는 입력 마켓 순서를 유지합니다.
+     */
+    public List<AnalysisResult> getMultipleMarketAnalysisConcurrent(List<String> markets) {
+        long started = System.nanoTime();
+        Semaphore permits = new Semaphore(Math.max(1, maxConcurrency));
 
-                    results.add(analysis);
+        // 1. 가격 정보는 10개 단위 batch로 동시에 요청
+        Map<String, CompletableFuture<Double>> tickers = tickerPrices(markets, permits);
+        refreshOrderBooks(markets);
 
-                    // 캔들 API 호출 간격 유지
-                    rateLimit();
+        // 2. 마켓별 캔들 조회 → 도착 즉시 분석
+        List<CompletableFuture<AnalysisResult>> futures = new ArrayList<>(markets.size());
+        for (String market : markets) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    AnalysisResult analysis = throttled(permits, () -> analyzeCandles(market));
+                    CompletableFuture<Double> price = tickers.get(market);
+                    return withMarketInfo(analysis, market, price != null ? price.join() : livePrice(market));
+                } catch (Exception e) {
+                    log.error("Error fetching market analysis for {}: {}", market, e.getMessage());
+                    return null;
                 }
+            }, scanExecutor));
+        }
 
+        // 3. 입력 순서대로 결과 수집
+        List<AnalysisResult> results = new ArrayList<>(markets.size());
+        for (CompletableFuture<AnalysisResult> future : futures) {
+            AnalysisResult analysis = future.join();
+            if (analysis != null) {
+                results.add(analysis);
+            }
+        }
+
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+        log.info("동시 스캔 완료: {}/{}개 마켓, {} ms", results.size(), markets.size(), elapsedMs);
+        return results;
+    }
+
+    /**
+     * 여러 마켓을 배치 커널로 한 번에 분석합니다.
+     * 캔들 동기화는 가상 스레드로 동시에 수행하고, 모든 마켓의 윈도우를 structure-of-arrays로 모아
+     * 지표와 Pump Score를 한 번의 패스(SIMD + fork/join)로 계산합니다. 결과는 입력 마켓 순서를 유지합니다.
+     * 커널은 버퍼에 남은 윈도우(capacity개)만으로 EMA/MACD/Wilder RSI를 처음부터 다시 계산하므로,
+     * 스트리밍으로 capacity개를 넘게 누적한 마켓에서는 전체 이력을 이어 온 IndicatorEngine 값(getMarketAnalysis)과
+     * 조금 다를 수 있습니다 (SMA/볼린저처럼 윈도우 안에서 끝나는 지표는 같음).
+     */
+    public List<AnalysisResult> getMultipleMarketAnalysisBatch(List<String> markets) {
+        long started = System.nanoTime();
+        Semaphore permits = new Semaphore(Math.max(1, maxConcurrency));
+        Map<String, CompletableFuture<Double>> tickers = tickerPrices(markets, permits);
+        refreshOrderBooks(markets);
+
+        // 1. 마켓별 캔들 동기화만 수행 (분석은 커널이 함, 같은 마켓의 동기화는 single-flight로 합침)
+        List<CompletableFuture<CandleCache.MarketCandles>> synced = new ArrayList<>(markets.size());
+        for (String market : markets) {
+            synced.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return throttled(permits, () -> syncCandles(market));
+                } catch (Exception e) {
+                    log.error("Error fetching market analysis for {}: {}", market, e.getMessage());
+                    return null;
+                }
+            }, scanExecutor));
+        }
+
+        List<String> loaded = new ArrayList<>(markets.size());
+        List<CandleCache.MarketCandles> loadedCandles = new ArrayList<>(markets.size());
+        int window = 0;
+        for (int i = 0; i < markets.size(); i++) {
+            CandleCache.MarketCandles candles = synced.get(i).join();
+            if (candles == null) continue;
+            loaded.add(markets.get(i));
+            loadedCandles.add(candles);
+            window = Math.max(window, candles.buffer().capacity());
+        }
+
+        // 2. 캔들 윈도우를 배치로 복사 (상위 타임프레임은 마켓별 스트리밍 지표에서 바로 읽음)
+        MarketBatch batch = new MarketBatch().reset(loaded.size(), window);
+        List<Map<String, AnalysisResult>> timeframes = new ArrayList<>(loaded.size());
+        for (int m = 0; m < loaded.size(); m++) {
+            CandleCache.MarketCandles candles = loadedCandles.get(m);
+            int market = m;
+            timeframes.add(withLock(candles, () -> {
+                batch.load(market, candles.buffer());
+                return technicalAnalysisService.analyzeTimeframes(candles.timeframes());
+            }));
+        }
+
+        // 3. 전 마켓 지표 계산 후 규칙 집합별 점수 평가
+        long kernelStarted = System.nanoTime();
+        technicalAnalysisService.analyzeBatch(batch);
+        long kernelMicros = (System.nanoTime() - kernelStarted) / 1_000;
+
+        List<AnalysisResult> results = new ArrayList<>(loaded.size());
+        double[] features = technicalAnalysisService.newFeatureVector();
+        for (int m = 0; m < loaded.size(); m++) {
+            String market = loaded.get(m);
+            try {
+                AnalysisResult analysis = technicalAnalysisService.batchResult(batch, m, market, features)
+                        .withTimeframes(timeframes.get(m));
+                CompletableFuture<Double> price = tickers.get(market);
+                results.add(withMarketInfo(analysis, market, price != null ? price.join() : livePrice(market)));
             } catch (Exception e) {
-                log.error("Error fetching batch market analysis: {}", e.getMessage(), e);
+                log.error("Error fetching market analysis for {}: {}", market, e.getMessage());
             }
         }
 
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+        log.info("배치 스캔 완료: {}/{}개 마켓, {} ms (지표 계산 {} us)", results.size(), markets.size(), elapsedMs, kernelMicros);
         return results;
     }
-    
-    public List<String> getAllKrwMarkets() {
-        String url = "https://api.upbit.com/v1/market/all?isDetails=false";
-        String response = restTemplate.getForObject(url, String.class);
 
-        org.json.JSONArray arr = new org.json.JSONArray(response);
-        return java.util.stream.IntStream.range(0, arr.length())
-                .mapToObj(i -> arr.getJSONObject(i).getString("market"))
-                .filter(m -> m.startsWith("KRW-"))
-                .collect(Collectors.toList());
+    /**
+     * 마켓 하나의 지표 시계열(차트용)을 한 번의 선형 패스로 계산합니다.
+     * timeframe은 1m(기본, 1분봉 버퍼) 또는 5m/15m/60m/1d(1분봉에서 집계한 봉)이며,
+     * 마지막 window개 봉 중 step 간격의 시점만 반환합니다.
+     */
+    public IndicatorSeriesResult getIndicatorSeries(String market, String timeframe, int window, int step) {
+        TimeframeAggregator.Timeframe aggregated = null;
+        if (!"1m".equalsIgnoreCase(timeframe)) {
+            aggregated = TimeframeAggregator.Timeframe.fromLabel(timeframe);
+            if (aggregated == null) {
+                throw new IllegalArgumentException("지원하지 않는 타임프레임: " + timeframe);
+            }
+        }
+        TimeframeAggregator.Timeframe tf = aggregated;
+        CandleCache.MarketCandles candles = syncCandles(market);
+        IndicatorSeries series = withLock(candles, () -> {
+            CandleRingBuffer bars = tf == null ? candles.buffer() : candles.timeframes().bars(tf);
+            int points = (Math.min(window, bars.size()) + step - 1) / step;
+            return new IndicatorSeries(Math.max(1, points)).fill(bars, window, step, candles.seriesEngine());
+        });
+        return new IndicatorSeriesResult(market, tf == null ? "1m" : tf.getLabel(), window, step, series);
+    }
+
+    /**
+     * 마지막 닫힌 1분봉 거래량을 최근 1h/24h/7d 거래량 분포의 분위수와 비교합니다.
+     * 분포는 닫힌 봉마다 O(1)로 갱신되는 스케치에서 읽으므로 윈도우를 다시 훑지 않습니다.
+     */
+    public VolumeProfile getVolumeProfile(String market) {
+        CandleCache.MarketCandles candles = syncCandles(market);
+        return withLock(candles, () -> VolumeProfile.of(market, candles.volumeSketch(),
+                volumeSpikeQuantile, volumeSpikeMinSamples));
+    }
+
+    // 현재가를 10개 단위 batch로 동시에 요청 (스트림에 모두 있는 batch는 생략)
+    private Map<String, CompletableFuture<Double>> tickerPrices(List<String> markets, Semaphore permits) {
+        Map<String, CompletableFuture<Double>> tickers = new HashMap<>();
+        for (int i = 0; i < markets.size(); i += 10) {
+            List<String> batch = markets.subList(i, Math.min(i + 10, markets.size()));
+            if (allLive(batch)) continue;
+            CompletableFuture<UpbitApiResponse.Columns> batchTickers = CompletableFuture.supplyAsync(
+                    () -> throttled(permits, () -> fetchTickers(batch)), scanExecutor);
+            for (int j = 0; j < batch.size(); j++) {
+                int row = j;
+                tickers.put(batch.get(j), batchTickers.thenApply(columns -> columns.tradePrice[row]));
+            }
+        }
+        return tickers;
+    }
+
+    // 같은 batch의 현재가 조회가 겹치면 한 번만 요청하고 결과를 공유
+    private UpbitApiResponse.Columns fetchTickers(List<String> batch) {
+        return tickerFlight.execute(List.copyOf(batch), () -> loadTickers(batch));
+    }
+
+    private UpbitApiResponse.Columns loadTickers(List<String> batch) {
+        String tickerUrl = String.format(UPBIT_TICKER_URL, String.join(",", batch));
+        UpbitApiResponse.Columns columns = new UpbitApiResponse.Columns(batch);
+        try {
+            UpbitJsonParser.parseTickers(upbitGetBytes(tickerUrl), columns);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return columns;
+    }
+
+    /**
+     * 캐시된 캔들 이후 분량만 받아 병합하고 분석합니다.
+     * 스트리밍으로 캔들이 갱신되고 있으면 REST 조회를 생략하며,
+     * 상위 타임프레임 분석은 마지막 분석 이후 닫힌 1분봉이 없으면 재사용합니다.
+     * 같은 마켓에 대한 동시 요청(정기 업데이트, 수동 수집 등)은 single-flight로 한 번만 실행하며,
+     * 동기화 단계는 배치 스캔/시계열 조회와도 syncFlight로 합칩니다.
+     */
+    private AnalysisResult analyzeCandles(String market) {
+        return candleFlight.execute(market, () -> {
+            CandleCache.MarketCandles candles = syncCandles(market);
+            return withLock(candles, () -> analyzeBuffered(market, candles));
+        });
     }
-    private synchronized void rateLimit() {
+
+    // 캔들 조회/병합과 변화율 순위 갱신만 수행 (분석 없음)
+    private CandleCache.MarketCandles syncCandles(String market) {
+        return syncFlight.execute(market, () -> {
+            CandleCache.MarketCandles candles = candleCache.get(market);
+            withLock(candles, () -> {
+                syncLocked(market, candles);
+                marketRanking.onCandles(market, candles.buffer());
+                return null;
+            });
+            return candles;
+        });
+    }
+
+    // lock을 잡은 상태에서 호출
+    private void syncLocked(String market, CandleCache.MarketCandles candles) {
         long now = System.currentTimeMillis();
-        long waitTime = REQUEST_INTERVAL_MS - (now - lastRequestTime);
-        if (waitTime > 0) {
+        int count = candlesToFetch(candles, now);
+        if (count > 0) {
+            String candleUrl = String.format(UPBIT_CANDLES_URL, market, count);
+            mergeCandles(candles, upbitGetBytes(candleUrl), now);
+        }
+    }
+
+    // 조회할 캔들 수; 스트림이 캔들을 채우고 있으면 0
+    private int candlesToFetch(CandleCache.MarketCandles candles, long now) {
+        // 현재 스트림 연결 이후 한 번 동기화했다면 이후 캔들은 체결 스트림이 채움
+        boolean streamed = liveState.isLive()
+                && !candles.buffer().isEmpty()
+                && candles.syncedAt() >= liveState.getConnectedAt();
+        return streamed ? 0 : candleCache.candlesToFetch(candles, now);
+    }
+
+    // lock을 잡은 상태에서 호출
+    private void mergeCandles(CandleCache.MarketCandles candles, byte[] response, long syncedAt) {
+        try {
+            UpbitJsonParser.parseCandles(response, candles.columns());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        candleCache.merge(candles, candles.columns());
+        candles.markSynced(syncedAt);
+    }
+
+    // lock을 잡은 상태에서 호출
+    private AnalysisResult analyzeBuffered(String market, CandleCache.MarketCandles candles) {
+        // 변화율 순위를 먼저 갱신해야 이 마켓의 횡단면 입력이 최신 값이 됨
+        marketRanking.onCandles(market, candles.buffer());
+        // 1분봉 점수는 매번 계산 (엔진 값 읽기라 O(1)), 상위 타임프레임 분석만 닫힌 봉 기준으로 재사용
+        Map<String, AnalysisResult> timeframes = candles.cachedTimeframeAnalysis();
+        if (timeframes == null) {
+            timeframes = technicalAnalysisService.analyzeTimeframes(candles.timeframes());
+            candles.cacheTimeframeAnalysis(timeframes);
+        }
+        return technicalAnalysisService.analyze(candles.indicators(), market).withTimeframes(timeframes);
+    }
+
+    /**
+     * WebClient 기반 논블로킹 스캔.
+     * 요청은 rate limiter 토큰을 비동기로 받은 뒤에만 나가고(backpressure), 동시 요청 수와 요청별 타임아웃이 적용됩니다.
+     * 분석이 끝나는 순서대로 마켓별 결과를 내보냅니다.
+     */
+    public Flux<AnalysisResult> streamMarketAnalysis(List<String> markets) {
+        List<List<String>> batches = new ArrayList<>();
+        for (int i = 0; i < markets.size(); i += 10) {
+            batches.add(markets.subList(i, Math.min(i + 10, markets.size())));
+        }
+
+        return Flux.fromIterable(batches)
+                .flatMap(batch -> tickersReactive(batch)
+                        .onErrorResume(e -> {
+                            log.error("Error fetching tickers for {}: {}", batch, e.getMessage());
+                            return Mono.empty();
+                        })
+                        .flatMapMany(tickers -> Flux.range(0, batch.size())
+                                .map(row -> Map.entry(batch.get(row), tickers.tradePrice[row]))),
+                        reactiveConcurrency)
+                .flatMap(entry -> analyzeCandlesReactive(entry.getKey())
+                        .map(analysis -> withMarketInfo(analysis, entry.getKey(), entry.getValue()))
+                        .onErrorResume(e -> {
+                            log.error("Error fetching market analysis for {}: {}", entry.getKey(), e.getMessage());
+                            return Mono.empty();
+                        }),
+                        reactiveConcurrency);
+    }
+
+    private Mono<UpbitApiResponse.Columns> tickersReactive(List<String> batch) {
+        return Mono.fromFuture(() -> tickerFlight.executeAsync(List.copyOf(batch),
+                () -> loadTickersReactive(batch).toFuture()));
+    }
+
+    private Mono<UpbitApiResponse.Columns> loadTickersReactive(List<String> batch) {
+        if (allLive(batch)) {
+            UpbitApiResponse.Columns columns = new UpbitApiResponse.Columns(batch);
+            for (int row = 0; row < batch.size(); row++) {
+                columns.tradePrice[row] = livePrice(batch.get(row));
+            }
+            return Mono.just(columns);
+        }
+        String tickerUrl = String.format(UPBIT_TICKER_URL, String.join(",", batch));
+        return upbitGetReactive(tickerUrl).map(bytes -> {
+            UpbitApiResponse.Columns columns = new UpbitApiResponse.Columns(batch);
             try {
-                Thread.sleep(waitTime);
-            } catch (InterruptedException ignored) {}
+                UpbitJsonParser.parseTickers(bytes, columns);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return columns;
+        });
+    }
+
+    private Mono<AnalysisResult> analyzeCandlesReactive(String market) {
+        return Mono.fromFuture(() -> candleFlight.executeAsync(market,
+                () -> syncAndAnalyzeReactive(market).toFuture()));
+    }
+
+    /**
+     * 마켓 lock은 다른 경로에서 블로킹 REST 동기화 동안 잡혀 있을 수 있으므로,
+     * lock을 잡는 구간은 모두 boundedElastic에서 실행합니다 (이벤트 루프/parallel 스레드를 세우지 않음).
+     */
+    private Mono<AnalysisResult> syncAndAnalyzeReactive(String market) {
+        CandleCache.MarketCandles candles = candleCache.get(market);
+        long now = System.currentTimeMillis();
+        return Mono.fromCallable(() -> withLock(candles, () -> candlesToFetch(candles, now)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(count -> {
+                    if (count == 0) {
+                        return Mono.fromCallable(() -> withLock(candles, () -> analyzeBuffered(market, candles)))
+                                .subscribeOn(Schedulers.boundedElastic());
+                    }
+                    String candleUrl = String.format(UPBIT_CANDLES_URL, market, count);
+                    return upbitGetReactive(candleUrl)
+                            .publishOn(Schedulers.boundedElastic())
+                            .map(bytes -> withLock(candles, () -> {
+                                mergeCandles(candles, bytes, now);
+                                return analyzeBuffered(market, candles);
+                            }));
+                });
+    }
+
+    private <T> T withLock(CandleCache.MarketCandles candles, Supplier<T> action) {
+        candles.lock().lock();
+        try {
+            return action.get();
+        } finally {
+            candles.lock().unlock();
+        }
+    }
+
+    /**
+     * 논블로킹 업비트 GET.
+     * rate limiter의 비동기 토큰을 기다린 뒤 요청하고, Remaining-Req 헤더를 반영하며,
+     * 429/5xx는 jitter 백오프로 해당 요청만 재시도합니다.
+     */
+    private Mono<byte[]> upbitGetReactive(String url) {
+        UpbitRateLimiter.EndpointGroup group = UpbitRateLimiter.groupOf(url);
+        return Mono.defer(() -> Mono.fromFuture(rateLimiter.acquireAsync(group))
+                        .then(webClient.get().uri(URI.create(url))
+                                .exchangeToMono(response -> {
+                                    rateLimiter.onRemainingReq(
+                                            response.headers().asHttpHeaders().getFirst("Remaining-Req"), group);
+                                    if (response.statusCode().value() == 429) {
+                                        rateLimiter.onThrottled(group);
+                                    }
+                                    if (response.statusCode().isError()) {
+                                        return response.createError();
+                                    }
+                                    return response.bodyToMono(byte[].class);
+                                })
+                                .timeout(Duration.ofMillis(requestTimeoutMs))))
+                .retryWhen(Retry.backoff(Math.max(0, maxRetryAttempts - 1), Duration.ofMillis(retryBaseBackoffMs))
+                        .jitter(0.5)
+                        .filter(UpbitDataService::isRetryable));
+    }
+
+    private static boolean isRetryable(Throwable error) {
+        if (error instanceof WebClientResponseException e) {
+            return e.getStatusCode().value() == 429 || e.getStatusCode().is5xxServerError();
+        }
+        return error instanceof TimeoutException;
+    }
+
+    // 분석 결과에 마켓 코드/현재가/이름(카탈로그 메모리 조회)을 추가
+    // 모든 분석 경로가 거치는 지점이므로 여기서 pumpScore 순위도 갱신
+    private AnalysisResult withMarketInfo(AnalysisResult analysis, String market, double price) {
+        marketRanking.updateScore(market, analysis.pumpScore());
+        MarketCatalog.MarketInfo info = marketCatalog.info(market);
+        if (info == null) {
+            return analysis.withMarket(market, price, null, null, false);
+        }
+        return analysis.withMarket(market, price, info.koreanName(), info.englishName(), info.warning());
+    }
+
+    // 호가 수집이 켜져 있고 웹소켓 호가 스트림이 없으면 분석 전에 REST로 호가를 갱신
+    private void refreshOrderBooks(List<String> markets) {
+        if (orderBookService.isEnabled() && !liveState.isLive()) {
+            orderBookService.refresh(markets);
+        }
+    }
+
+    // 스트림으로 받은 현재가 (스트리밍 중이 아니거나 없으면 NaN)
+    private double livePrice(String market) {
+        return liveState.isLive() ? liveState.price(market) : Double.NaN;
+    }
+
+    private boolean allLive(List<String> batch) {
+        for (String market : batch) {
+            if (Double.isNaN(livePrice(market))) return false;
+        }
+        return true;
+    }
+
+    // 동시 요청 수 제한을 적용해 호출 (요청 간격은 그룹별 rate limiter가 담당)
+    private <T> T throttled(Semaphore permits, Supplier<T> call) {
+        permits.acquireUninterruptibly();
+        try {
+            return call.get();
+        } finally {
+            permits.release();
         }
-        lastRequestTime = System.currentTimeMillis();
+    }
+
+    // 모든 업비트 조회는 엔드포인트 그룹별 rate limiter를 거쳐 호출
+    // 스트리밍 파서용으로 문자열 디코딩 없이 응답 바이트를 그대로 받음
+    private byte[] upbitGetBytes(String url) {
+        rateLimiter.acquire(UpbitRateLimiter.groupOf(url));
+        return restTemplate.getForObject(url, byte[].class);
+    }
+
+    @PostConstruct
+    void initSingleFlight() {
+        candleFlight = new SingleFlight<>(singleFlightFreshnessMs);
+        syncFlight = new SingleFlight<>(singleFlightFreshnessMs);
+        tickerFlight = new SingleFlight<>(singleFlightFreshnessMs);
+    }
+
+    public Map<String, Object> singleFlightMetrics() {
+        Map<String, Object> res = new LinkedHashMap<>();
+        res.put("candles", candleFlight.metrics());
+        res.put("candleSync", syncFlight.metrics());
+        res.put("tickers", tickerFlight.metrics());
+        return res;
+    }
+
+    public Map<String, Object> batchKernelInfo() {
+        return technicalAnalysisService.batchKernelInfo();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scanExecutor.shutdownNow();
     }
     
 }
@@ -18,6 +18,8 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class UpbitOrderService {
 
+    private final UpbitRateLimiter rateLimiter;
+
     @Value("${upbit.accessKey}")
     private String accessKey;
 
@@ -46,7 +48,14 @@ public class UpbitOrderService {
                     .POST(HttpRequest.BodyPublishers.noBody())
                     .build();
 
+            rateLimiter.acquire(UpbitRateLimiter.EndpointGroup.ORDER);
             HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            // 주문은 재시도하지 않고 Remaining-Req/429만 속도 조절에 반영
+            rateLimiter.onRemainingReq(response.headers().firstValue("Remaining-Req").orElse(null),
+                    UpbitRateLimiter.EndpointGroup.ORDER);
+            if (response.statusCode() == 429) {
+                rateLimiter.onThrottled(UpbitRateLimiter.EndpointGroup.ORDER);
+            }
             return response.body();
 
         } catch (Exception e) {
@@ -0,0 +1,178 @@
+package com.altradar.service;
+
+import java.net.URI;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+import com.altradar.util.TokenBucket;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 업비트 API 그룹별 요청 수 제한기.
+ * 업비트는 market / candles / ticker 등 엔드포인트 그룹마다 별도 한도를 적용하므로 그룹별로 버킷을 둡니다.
+ */
+@Slf4j
+@Component
+public class UpbitRateLimiter {
+
+    // 적응형 조절: 잔여량이 충분하면 조금씩 올리고(가산), 429/잔여 부족 시 크게 내림(곱셈)
+    private static final double MIN_PERMITS_PER_SECOND = 1.0;
+    private static final double INCREASE_STEP = 0.5;
+    private static final double DECREASE_FACTOR = 0.5;
+
+    public enum EndpointGroup {
+        MARKET("market", 10, 5),
+        CANDLES("candles", 10, 5),
+        TICKER("ticker", 10, 5),
+        ORDERBOOK("orderbook", 10, 5),
+        TRADES("trades", 10, 5),
+        ORDER("order", 8, 4),
+        DEFAULT("default", 30, 10);
+
+        private final String headerName;
+        private final double permitsPerSecond;
+        private final int burst;
+
+        EndpointGroup(String headerName, double permitsPerSecond, int burst) {
+            this.headerName = headerName;
+            this.permitsPerSecond = permitsPerSecond;
+            this.burst = burst;
+        }
+
+        // Remaining-Req 헤더의 group 값
+        public String getHeaderName() {
+            return headerName;
+        }
+
+        public double getPermitsPerSecond() {
+            return permitsPerSecond;
+        }
+
+        public static EndpointGroup fromHeaderName(String name) {
+            for (EndpointGroup group : values()) {
+                if (group.headerName.equals(name)) return group;
+            }
+            return null;
+        }
+    }
+
+    // 그룹별 최근 Remaining-Req 값과 조절 상태
+    private static class ThrottleState {
+        volatile int remainingSec = -1;
+        volatile long lastHeaderAt;
+        volatile long lastThrottledAt;
+        final AtomicLong throttledCount = new AtomicLong();
+    }
+
+    private final Map<EndpointGroup, TokenBucket> buckets = new EnumMap<>(EndpointGroup.class);
+    private final Map<EndpointGroup, ThrottleState> states = new EnumMap<>(EndpointGroup.class);
+
+    public UpbitRateLimiter() {
+        for (EndpointGroup group : EndpointGroup.values()) {
+            buckets.put(group, new TokenBucket(group.permitsPerSecond, group.burst));
+            states.put(group, new ThrottleState());
+        }
+    }
+
+    public void acquire(EndpointGroup group) {
+        buckets.get(group).acquire();
+    }
+
+    public CompletableFuture<Void> acquireAsync(EndpointGroup group) {
+        return buckets.get(group).acquireAsync();
+    }
+
+    public boolean tryAcquire(EndpointGroup group) {
+        return buckets.get(group).tryAcquire();
+    }
+
+    public TokenBucket bucket(EndpointGroup group) {
+        return buckets.get(group);
+    }
+
+    // 요청 URL 경로로 엔드포인트 그룹 판별
+    public static EndpointGroup groupOf(String url) {
+        String path = URI.create(url).getPath();
+        if (path.startsWith("/v1/market/")) return EndpointGroup.MARKET;
+        if (path.startsWith("/v1/candles/")) return EndpointGroup.CANDLES;
+        if (path.startsWith("/v1/ticker")) return EndpointGroup.TICKER;
+        if (path.startsWith("/v1/orderbook")) return EndpointGroup.ORDERBOOK;
+        if (path.startsWith("/v1/trades/")) return EndpointGroup.TRADES;
+        if (path.equals("/v1/orders")) return EndpointGroup.ORDER;
+        return EndpointGroup.DEFAULT;
+    }
+
+    /**
+     * 업비트 Remaining-Req 헤더(예: "group=default; min=1800; sec=29")를 반영해 요청 속도를 조절합니다.
+     * 헤더에 그룹이 없으면 요청 URL로 판별한 그룹을 사용합니다.
+     */
+    public void onRemainingReq(String headerValue, EndpointGroup fallback) {
+        if (headerValue == null || headerValue.isBlank()) return;
+
+        EndpointGroup group = fallback;
+        int remainingSec = -1;
+        for (String part : headerValue.split(";")) {
+            String[] kv = part.trim().split("=", 2);
+            if (kv.length != 2) continue;
+            if (kv[0].equals("group")) {
+                EndpointGroup named = EndpointGroup.fromHeaderName(kv[1].trim());
+                if (named != null) group = named;
+            } else if (kv[0].equals("sec")) {
+                try {
+                    remainingSec = Integer.parseInt(kv[1].trim());
+                } catch (NumberFormatException ignored) {
+                }
+            }
+        }
+        if (remainingSec < 0) return;
+
+        ThrottleState state = states.get(group);
+        state.remainingSec = remainingSec;
+        state.lastHeaderAt = System.currentTimeMillis();
+
+        TokenBucket bucket = buckets.get(group);
+        double rate = bucket.getRate();
+        if (remainingSec <= 1) {
+            bucket.setRate(Math.max(MIN_PERMITS_PER_SECOND, rate * DECREASE_FACTOR));
+        } else if (remainingSec * 2 >= group.permitsPerSecond && rate < group.permitsPerSecond) {
+            bucket.setRate(Math.min(group.permitsPerSecond, rate + INCREASE_STEP));
+        }
+    }
+
+    // 429 응답 수신 시 해당 그룹 속도를 즉시 낮춤
+    public void onThrottled(EndpointGroup group) {
+        ThrottleState state = states.get(group);
+        state.throttledCount.incrementAndGet();
+        state.lastThrottledAt = System.currentTimeMillis();
+
+        TokenBucket bucket = buckets.get(group);
+        double reduced = Math.max(MIN_PERMITS_PER_SECOND, bucket.getRate() * DECREASE_FACTOR);
+        bucket.setRate(reduced);
+        log.warn("업비트 요청 제한(429) 수신: group={}, 속도 {}/s로 감소", group.getHeaderName(), reduced);
+    }
+
+    // 그룹별 현재 설정/잔여 토큰 (상태 조회용)
+    public Map<String, Object> snapshot() {
+        Map<String, Object> res = new LinkedHashMap<>();
+        buckets.forEach((group, bucket) -> {
+            Map<String, Object> info = new LinkedHashMap<>();
+            ThrottleState state = states.get(group);
+            info.put("permitsPerSecond", bucket.getRate());
+            info.put("maxPermitsPerSecond", group.permitsPerSecond);
+            info.put("burst", bucket.getBurst());
+            info.put("available", bucket.availablePermits());
+            info.put("remainingSec", state.remainingSec);
+            info.put("throttled", bucket.getRate() < group.permitsPerSecond);
+            info.put("throttledCount", state.throttledCount.get());
+            info.put("lastThrottledAt", state.lastThrottledAt);
+            res.put(group.getHeaderName(), info);
+        });
+        return res;
+    }
+}
@@ -0,0 +1,209 @@
+package com.altradar.service;
+
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 업비트 웹소켓 ticker/trade 채널을 구독해 LiveMarketState를 계속 갱신합니다 (체결은 TradeTickPipeline을 거침).
+ * upbit.streaming.enabled=true 일 때만 동작하며, 연결이 끊기면 지수 백오프로 재연결 후 다시 구독합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "upbit.streaming", name = "enabled", havingValue = "true")
+public class UpbitStreamingService implements WebSocket.Listener {
+
+    private static final long MAX_RECONNECT_DELAY_SECONDS = 30;
+
+    private final UpbitDataService upbitDataService;
+    private final LiveMarketState liveState;
+    private final OrderBookService orderBookService;
+    private final TradeTickPipeline tradeTickPipeline;
+
+    // 테스트 시 로컬 웹소켓 서버로 바꿀 수 있도록 설정으로 분리
+    @Value("${upbit.streaming.url:wss://api.upbit.com/websocket/v1}")
+    private String streamingUrl;
+
+    @Value("${upbit.streaming.ping-interval-seconds:60}")
+    private long pingIntervalSeconds;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final AtomicInteger reconnectAttempt = new AtomicInteger();
+
+    private final StringBuilder textFrame = new StringBuilder();
+    private final ByteArrayOutputStream binaryFrame = new ByteArrayOutputStream();
+
+    private volatile WebSocket webSocket;
+    private volatile boolean running;
+    private volatile List<String> markets = List.of();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        tradeTickPipeline.start();
+        scheduler.execute(this::connect);
+        scheduler.scheduleAtFixedRate(this::ping, pingIntervalSeconds, pingIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        WebSocket ws = webSocket;
+        if (ws != null) {
+            ws.sendClose(WebSocket.NORMAL_CLOSURE, "shutdown");
+        }
+        scheduler.shutdownNow();
+    }
+
+    private void connect() {
+        if (!running) return;
+        try {
+            markets = upbitDataService.getAllKrwMarkets();
+            httpClient.newWebSocketBuilder()
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .buildAsync(URI.create(streamingUrl), this)
+                    .whenComplete((ws, error) -> {
+                        if (error != null) {
+                            log.warn("업비트 웹소켓 연결 실패: {}", error.getMessage());
+                            scheduleReconnect();
+                        }
+                    });
+        } catch (Exception e) {
+            log.warn("업비트 웹소켓 연결 준비 실패: {}", e.getMessage());
+            scheduleReconnect();
+        }
+    }
+
+    private void scheduleReconnect() {
+        if (!running) return;
+        int attempt = reconnectAttempt.getAndIncrement();
+        long delay = Math.min(MAX_RECONNECT_DELAY_SECONDS, 1L << Math.min(attempt, 5));
+        log.info("업비트 웹소켓 {}초 후 재연결 (시도 {})", delay, attempt + 1);
+        scheduler.schedule(this::connect, delay, TimeUnit.SECONDS);
+    }
+
+    // 업비트는 유휴 연결을 끊으므로 주기적으로 ping 전송
+    private void ping() {
+        WebSocket ws = webSocket;
+        if (ws != null && !ws.isOutputClosed()) {
+            ws.sendPing(ByteBuffer.allocate(0));
+        }
+    }
+
+    private String subscriptionMessage() {
+        JSONArray codes = new JSONArray(markets);
+        JSONArray message = new JSONArray()
+                .put(new JSONObject().put("ticket", "altradar-" + UUID.randomUUID()))
+                .put(new JSONObject().put("type", "ticker").put("codes", codes))
+                .put(new JSONObject().put("type", "trade").put("codes", codes));
+        if (orderBookService.isEnabled()) {
+            orderBookService.onSubscribed(markets);
+            message.put(new JSONObject().put("type", "orderbook").put("codes", codes));
+        }
+        return message.put(new JSONObject().put("format", "DEFAULT")).toString();
+    }
+
+    @Override
+    public void onOpen(WebSocket ws) {
+        webSocket = ws;
+        reconnectAttempt.set(0);
+        liveState.onConnected();
+        ws.sendText(subscriptionMessage(), true);
+        log.info("업비트 웹소켓 연결 및 구독 완료 ({}개 마켓)", markets.size());
+        ws.request(1);
+    }
+
+    @Override
+    public CompletionStage<?> onText(WebSocket ws, CharSequence data, boolean last) {
+        textFrame.append(data);
+        if (last) {
+            handleMessage(textFrame.toString());
+            textFrame.setLength(0);
+        }
+        ws.request(1);
+        return null;
+    }
+
+    // 업비트는 메시지를 바이너리 프레임(UTF-8 JSON)으로 전송
+    @Override
+    public CompletionStage<?> onBinary(WebSocket ws, ByteBuffer data, boolean last) {
+        byte[] bytes = new byte[data.remaining()];
+        data.get(bytes);
+        binaryFrame.writeBytes(bytes);
+        if (last) {
+            handleMessage(binaryFrame.toString(StandardCharsets.UTF_8));
+            binaryFrame.reset();
+        }
+        ws.request(1);
+        return null;
+    }
+
+    @Override
+    public CompletionStage<?> onClose(WebSocket ws, int statusCode, String reason) {
+        log.warn("업비트 웹소켓 종료: {} {}", statusCode, reason);
+        onDisconnected();
+        return null;
+    }
+
+    @Override
+    public void onError(WebSocket ws, Throwable error) {
+        log.warn("업비트 웹소켓 오류: {}", error.getMessage());
+        onDisconnected();
+    }
+
+    private void onDisconnected() {
+        webSocket = null;
+        textFrame.setLength(0);
+        binaryFrame.reset();
+        liveState.onDisconnected();
+        scheduleReconnect();
+    }
+
+    private void handleMessage(String message) {
+        long receivedNanos = System.nanoTime();
+        try {
+            // 호가 메시지는 가장 잦고 크므로 DOM 없이 스트리밍 파서로 바로 반영
+            if (message.contains("\"orderbook_units\"")) {
+                orderBookService.onStreamMessage(message);
+                return;
+            }
+            JSONObject msg = new JSONObject(message);
+            String type = msg.optString("type");
+            String market = msg.optString("code");
+            if ("ticker".equals(type)) {
+                liveState.onTicker(market, msg.getDouble("trade_price"), msg.getLong("timestamp"));
+            } else if ("trade".equals(type)) {
+                // 캔들/1초봉 반영은 파이프라인 소비자 스레드가 처리 (리스너는 링에 넣기만 함)
+                tradeTickPipeline.publish(market, msg.getDouble("trade_price"), msg.getDouble("trade_volume"),
+                        msg.getLong("trade_timestamp"), "BID".equals(msg.optString("ask_bid")), receivedNanos);
+            }
+        } catch (Exception e) {
+            log.debug("웹소켓 메시지 처리 실패: {}", e.getMessage());
+        }
+    }
+}
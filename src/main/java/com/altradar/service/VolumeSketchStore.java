@@ -0,0 +1,134 @@
+package com.altradar.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 마켓별 거래량 스케치를 파일에 저장/복원합니다.
+ * 시작 시 복원하고, 주기적으로(upbit.volume-sketch.save-interval-seconds) 그리고 종료 시 저장하므로
+ * 재시작해도 7일 구간 분포를 처음부터 다시 모을 필요가 없습니다. file이 비어 있으면 저장하지 않습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class VolumeSketchStore {
+
+    private static final int FILE_MAGIC = 0x56534b31; // "VSK1"
+
+    private final CandleCache candleCache;
+
+    @Value("${upbit.volume-sketch.file:volume-sketches.bin}")
+    private String file;
+
+    private volatile long savedAt = -1;
+    private volatile int savedMarkets;
+    private volatile int restoredMarkets;
+
+    @PostConstruct
+    void load() {
+        if (file.isBlank()) return;
+        Path path = Path.of(file);
+        if (!Files.exists(path)) return;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(path))))) {
+            if (in.readInt() != FILE_MAGIC) {
+                log.warn("거래량 스케치 파일 형식이 아님, 무시: {}", path);
+                return;
+            }
+            int count = in.readInt();
+            int restored = 0;
+            for (int i = 0; i < count; i++) {
+                String market = in.readUTF();
+                CandleCache.MarketCandles candles = candleCache.get(market);
+                candles.lock().lock();
+                try {
+                    if (candles.volumeSketch().readFrom(in)) restored++;
+                } finally {
+                    candles.lock().unlock();
+                }
+            }
+            restoredMarkets = restored;
+            log.info("거래량 스케치 복원: {}/{}개 마켓", restored, count);
+        } catch (IOException e) {
+            log.warn("거래량 스케치 복원 실패: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(initialDelayString = "${upbit.volume-sketch.save-interval-seconds:300}",
+            fixedDelayString = "${upbit.volume-sketch.save-interval-seconds:300}", timeUnit = TimeUnit.SECONDS)
+    public void scheduledSave() {
+        save();
+    }
+
+    @PreDestroy
+    public void save() {
+        if (file.isBlank()) return;
+        // 마켓별로 lock 안에서 직렬화해 두고, 파일 쓰기는 lock 밖에서
+        Map<String, byte[]> states = new LinkedHashMap<>();
+        candleCache.forEach((market, candles) -> {
+            candles.lock().lock();
+            try {
+                if (candles.volumeSketch().isEmpty()) return;
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                candles.volumeSketch().writeTo(new DataOutputStream(bytes));
+                states.put(market, bytes.toByteArray());
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            } finally {
+                candles.lock().unlock();
+            }
+        });
+        if (states.isEmpty()) return;
+
+        try {
+            Path path = Path.of(file).toAbsolutePath();
+            Files.createDirectories(path.getParent());
+            Path tmp = Files.createTempFile(path.getParent(), "volume-sketches", ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    new GZIPOutputStream(Files.newOutputStream(tmp))))) {
+                out.writeInt(FILE_MAGIC);
+                out.writeInt(states.size());
+                for (Map.Entry<String, byte[]> entry : states.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    out.write(entry.getValue());
+                }
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            savedAt = System.currentTimeMillis();
+            savedMarkets = states.size();
+            log.debug("거래량 스케치 저장: {}개 마켓", states.size());
+        } catch (IOException e) {
+            log.warn("거래량 스케치 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    public Map<String, Object> status() {
+        Map<String, Object> res = new LinkedHashMap<>();
+        res.put("file", file);
+        res.put("restoredMarkets", restoredMarkets);
+        res.put("savedMarkets", savedMarkets);
+        res.put("savedAt", savedAt);
+        return res;
+    }
+}
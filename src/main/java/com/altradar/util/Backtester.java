@@ -0,0 +1,220 @@
+package com.altradar.util;
+
+import java.util.function.ToDoubleFunction;
+
+import com.altradar.model.dto.BacktestParams;
+
+/**
+ * 마켓 하나의 과거 캔들을 스트리밍 지표 엔진에 순서대로 흘려 보내며 pumpScore 신호와 매매를 시뮬레이션합니다.
+ * 신호/청산 판단은 봉 종가에서 하고 체결은 다음 봉 종가(슬리피지, 수수료 포함)로 해서 미래 값을 보지 않습니다.
+ * 급등 판정(적중률, 급등 포착률)만 신호 이후 horizonBars 봉을 내다봅니다.
+ */
+public class Backtester {
+
+    // 봉별 점수, 신호 봉 위치와 급등 판정용 덱 (마켓 간 재사용, 인스턴스는 스레드 하나에서만 사용)
+    private double[] scores = new double[0];
+    private int[] signalBars = new int[0];
+    private int[] minWindow = new int[0];
+
+    /**
+     * 오래된 순으로 정렬된 n개 봉을 엔진에 흘려 보내며 봉마다 점수를 매기고 시뮬레이션합니다.
+     *
+     * @param scorer 엔진의 현재 값으로 pumpScore를 계산
+     */
+    public Stats run(BacktestParams params, IndicatorEngine engine, ToDoubleFunction<IndicatorEngine> scorer,
+                     long[] times, double[] closes, double[] volumes, int n) {
+        ensureCapacity(n);
+        engine.reset();
+        for (int i = 0; i < n; i++) {
+            engine.append(closes[i], volumes[i]);
+            scores[i] = i + 1 >= params.warmupBars() ? scorer.applyAsDouble(engine) : Double.NaN;
+        }
+        return simulate(params, times, closes, scores, n);
+    }
+
+    /**
+     * 봉별 점수가 이미 계산된 n개 봉으로 신호와 매매를 시뮬레이션합니다 (warmupBars 전 점수는 무시).
+     */
+    public Stats simulate(BacktestParams params, long[] times, double[] closes, double[] scores, int n) {
+        ensureCapacity(n);
+        Stats stats = new Stats();
+        stats.markets = 1;
+        stats.bars = n;
+
+        int signalCount = 0;
+        double prevScore = Double.NaN;
+        int firstScored = -1;
+
+        // 매매 상태
+        boolean holding = false;
+        boolean pendingEntry = false;
+        boolean pendingExit = false;
+        double entryPrice = 0;
+        int entryBar = 0;
+        double equity = 1;
+        double peak = 1;
+
+        for (int i = 0; i < n; i++) {
+            double close = closes[i];
+
+            // 이전 봉에서 내린 결정을 이 봉 종가로 체결
+            if (pendingEntry) {
+                entryPrice = close * (1 + params.slippage()) * (1 + params.feeRate());
+                entryBar = i;
+                holding = true;
+                pendingEntry = false;
+            } else if (pendingExit) {
+                double ret = close * (1 - params.slippage()) * (1 - params.feeRate()) / entryPrice - 1;
+                equity *= 1 + ret;
+                stats.closeTrade(ret);
+                holding = false;
+                pendingExit = false;
+            }
+
+            double score = i + 1 >= params.warmupBars() ? scores[i] : Double.NaN;
+            if (firstScored < 0 && !Double.isNaN(score)) firstScored = i;
+
+            // 점수가 entryScore 이상으로 올라서는 봉이 신호
+            boolean signal = score >= params.entryScore() && !(prevScore >= params.entryScore());
+            prevScore = score;
+            if (signal) signalBars[signalCount++] = i;
+
+            // 보유 중이면 평가 손익으로 낙폭 계산 후 청산 조건 확인
+            if (holding) {
+                double mark = close * (1 - params.slippage()) * (1 - params.feeRate()) / entryPrice;
+                double marked = equity * mark;
+                peak = Math.max(peak, marked);
+                stats.maxDrawdown = Math.max(stats.maxDrawdown, 1 - marked / peak);
+                stats.exposureBars++;
+
+                double gain = close / entryPrice - 1;
+                if (gain >= params.takeProfit() || gain <= -params.stopLoss()
+                        || i - entryBar >= params.maxHoldBars() || score < params.exitScore()) {
+                    pendingExit = true;
+                }
+            } else if (signal && !pendingEntry) {
+                pendingEntry = true;
+            }
+        }
+
+        // 데이터 끝에서 보유 중이면 마지막 종가로 청산
+        if (holding && n > 0) {
+            double ret = closes[n - 1] * (1 - params.slippage()) * (1 - params.feeRate()) / entryPrice - 1;
+            equity *= 1 + ret;
+            stats.closeTrade(ret);
+        }
+        stats.totalReturn = equity - 1;
+        if (firstScored >= 0) stats.buyAndHold = closes[n - 1] / closes[firstScored] - 1;
+
+        evaluateSignals(params, stats, times, closes, n, signalCount);
+        evaluatePumps(params, stats, times, closes, n, signalCount);
+        return stats;
+    }
+
+    // 신호 적중: horizonBars 안에 신호 봉 종가 대비 pumpThreshold 이상 상승
+    private void evaluateSignals(BacktestParams params, Stats stats, long[] times, double[] closes, int n, int signalCount) {
+        int horizon = params.horizonBars();
+        for (int s = 0; s < signalCount; s++) {
+            int bar = signalBars[s];
+            double target = closes[bar] * (1 + params.pumpThreshold());
+            int hit = -1;
+            int end = Math.min(n - 1, bar + horizon);
+            for (int k = bar + 1; k <= end; k++) {
+                if (closes[k] >= target) {
+                    hit = k;
+                    break;
+                }
+            }
+            if (hit >= 0) {
+                stats.signals++;
+                stats.hits++;
+                stats.leadMsSum += times[hit] - times[bar];
+            } else if (bar + horizon < n) {
+                // 판정 구간이 끝까지 남아 있는 신호만 실패로 집계
+                stats.signals++;
+            }
+        }
+    }
+
+    /**
+     * 급등 구간: 직전 horizonBars 봉 최저가 대비 pumpThreshold 이상 오른 첫 봉 (구간끼리는 겹치지 않음).
+     * 최저가 봉(상승 시작)부터 급등 봉 사이에 신호가 있으면 포착으로 보고, 시작 시점 대비 신호 지연을 기록합니다.
+     */
+    private void evaluatePumps(BacktestParams params, Stats stats, long[] times, double[] closes, int n, int signalCount) {
+        int horizon = params.horizonBars();
+        // 구간 최저가 위치를 유지하는 단조 덱
+        int head = 0;
+        int tail = 0;
+        int nextSignal = 0;
+        int blockedUntil = -1;
+        for (int i = 0; i < n; i++) {
+            while (head < tail && minWindow[head] < i - horizon) head++;
+            if (i > blockedUntil && head < tail && closes[i] >= closes[minWindow[head]] * (1 + params.pumpThreshold())) {
+                int onset = minWindow[head];
+                stats.pumps++;
+                // 시작 시점 이후 첫 신호
+                while (nextSignal < signalCount && signalBars[nextSignal] < onset) nextSignal++;
+                if (nextSignal < signalCount && signalBars[nextSignal] <= i) {
+                    stats.caught++;
+                    stats.latencyMsSum += times[signalBars[nextSignal]] - times[onset];
+                }
+                blockedUntil = i + horizon;
+            }
+            while (head < tail && closes[minWindow[tail - 1]] >= closes[i]) tail--;
+            minWindow[tail++] = i;
+        }
+    }
+
+    private void ensureCapacity(int n) {
+        if (signalBars.length < n) {
+            scores = new double[n];
+            signalBars = new int[n];
+            minWindow = new int[n];
+        }
+    }
+
+    /**
+     * 시뮬레이션 집계. 여러 마켓을 merge하면 수익률은 합계(평균은 markets로 나눔), 낙폭은 최대값입니다.
+     */
+    public static class Stats {
+        public int markets;
+        public long bars;
+        public long signals;
+        public long hits;
+        public long pumps;
+        public long caught;
+        public long trades;
+        public long wins;
+        public long exposureBars;
+        public double tradeReturnSum;
+        public double totalReturn;
+        public double buyAndHold;
+        public double maxDrawdown;
+        public double leadMsSum;
+        public double latencyMsSum;
+
+        void closeTrade(double ret) {
+            trades++;
+            if (ret > 0) wins++;
+            tradeReturnSum += ret;
+        }
+
+        public void merge(Stats other) {
+            markets += other.markets;
+            bars += other.bars;
+            signals += other.signals;
+            hits += other.hits;
+            pumps += other.pumps;
+            caught += other.caught;
+            trades += other.trades;
+            wins += other.wins;
+            exposureBars += other.exposureBars;
+            tradeReturnSum += other.tradeReturnSum;
+            totalReturn += other.totalReturn;
+            buyAndHold += other.buyAndHold;
+            leadMsSum += other.leadMsSum;
+            latencyMsSum += other.latencyMsSum;
+            maxDrawdown = Math.max(maxDrawdown, other.maxDrawdown);
+        }
+    }
+}
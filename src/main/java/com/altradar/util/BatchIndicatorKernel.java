@@ -0,0 +1,89 @@
+package com.altradar.util;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 여러 마켓의 지표(MA/RSI/볼린저/MACD/거래량 급등)를 한 번에 계산합니다.
+ * jdk.incubator.vector 모듈이 로드되어 있으면(--add-modules jdk.incubator.vector) SIMD 커널을,
+ * 없으면 스칼라 커널을 사용하고, 마켓 구간을 나눠 fork/join으로 병렬 처리합니다.
+ */
+@Slf4j
+public class BatchIndicatorKernel {
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    private final BatchKernel kernel;
+    private final ForkJoinPool pool;
+    private final int marketsPerTask;
+
+    public BatchIndicatorKernel(boolean useVector, int marketsPerTask, ForkJoinPool pool) {
+        this.kernel = useVector ? loadVectorKernel() : new ScalarBatchKernel();
+        this.pool = pool;
+        // 레인 단위로 나눠야 SIMD 구간이 쪼개지지 않음
+        int lanes = kernel.lanes();
+        this.marketsPerTask = Math.max(lanes, (marketsPerTask + lanes - 1) / lanes * lanes);
+    }
+
+    private static BatchKernel loadVectorKernel() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            log.info("{} 모듈이 없어 스칼라 배치 커널 사용", VECTOR_MODULE);
+            return new ScalarBatchKernel();
+        }
+        try {
+            // 모듈이 없는 환경에서 클래스 링크 오류가 나지 않도록 리플렉션으로 로드
+            BatchKernel vector = (BatchKernel) Class.forName("com.altradar.util.VectorBatchKernel")
+                    .getDeclaredConstructor().newInstance();
+            log.info("SIMD 배치 커널 사용 ({} lanes)", vector.lanes());
+            return vector;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            log.warn("SIMD 배치 커널 로드 실패, 스칼라 커널 사용: {}", e.toString());
+            return new ScalarBatchKernel();
+        }
+    }
+
+    public boolean isVectorized() {
+        return kernel.lanes() > 1;
+    }
+
+    public int lanes() {
+        return kernel.lanes();
+    }
+
+    /**
+     * 배치의 모든 마켓을 계산해 결과 배열을 채웁니다.
+     */
+    public void compute(MarketBatch batch) {
+        int markets = batch.markets();
+        if (markets <= marketsPerTask) {
+            kernel.compute(batch, 0, markets);
+        } else {
+            pool.invoke(new Slice(batch, 0, markets));
+        }
+    }
+
+    private class Slice extends RecursiveAction {
+        private final MarketBatch batch;
+        private final int from;
+        private final int to;
+
+        Slice(MarketBatch batch, int from, int to) {
+            this.batch = batch;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= marketsPerTask) {
+                kernel.compute(batch, from, to);
+                return;
+            }
+            int lanes = kernel.lanes();
+            int mid = from + ((to - from) / 2 + lanes - 1) / lanes * lanes;
+            invokeAll(new Slice(batch, from, mid), new Slice(batch, mid, to));
+        }
+    }
+}
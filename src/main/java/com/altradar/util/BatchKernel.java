@@ -0,0 +1,24 @@
+package com.altradar.util;
+
+/**
+ * MarketBatch의 마켓 구간 [from, to)을 계산하는 커널.
+ * 기간은 IndicatorEngine.defaults와 같습니다 (MA 5/20/60, Wilder RSI 14, BB 20/2, MACD 12/26/9, 거래량 2배).
+ */
+interface BatchKernel {
+
+    int MA_SHORT = 5;
+    int MA_MID = 20;
+    int MA_LONG = 60;
+    int RSI_PERIOD = 14;
+    int BB_PERIOD = 20;
+    double BB_K = 2.0;
+    int MACD_FAST = 12;
+    int MACD_SLOW = 26;
+    int MACD_SIGNAL = 9;
+    double VOLUME_SPIKE = 2.0;
+
+    void compute(MarketBatch batch, int from, int to);
+
+    // 작업 분할 시 구간 경계를 맞출 단위 (SIMD 레인 수)
+    int lanes();
+}
@@ -0,0 +1,45 @@
+package com.altradar.util;
+
+import java.util.Arrays;
+
+/**
+ * 캔들 응답을 담는 재사용 가능한 컬럼 배열.
+ * 행 순서는 응답 순서(업비트는 최신순)를 그대로 따르며, 용량이 부족할 때만 배열을 늘립니다.
+ */
+public class CandleColumns {
+
+    public long[] startTimes;
+    public double[] opens;
+    public double[] highs;
+    public double[] lows;
+    public double[] closes;
+    public double[] volumes;
+    public int size;
+
+    public CandleColumns(int initialCapacity) {
+        startTimes = new long[initialCapacity];
+        opens = new double[initialCapacity];
+        highs = new double[initialCapacity];
+        lows = new double[initialCapacity];
+        closes = new double[initialCapacity];
+        volumes = new double[initialCapacity];
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    // 다음 행 인덱스를 반환 (필요하면 배열 확장)
+    int nextRow() {
+        if (size == closes.length) {
+            int capacity = Math.max(16, size * 2);
+            startTimes = Arrays.copyOf(startTimes, capacity);
+            opens = Arrays.copyOf(opens, capacity);
+            highs = Arrays.copyOf(highs, capacity);
+            lows = Arrays.copyOf(lows, capacity);
+            closes = Arrays.copyOf(closes, capacity);
+            volumes = Arrays.copyOf(volumes, capacity);
+        }
+        return size;
+    }
+}
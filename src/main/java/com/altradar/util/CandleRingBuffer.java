@@ -0,0 +1,126 @@
+package com.altradar.util;
+
+/**
+ * 최근 N개 캔들을 primitive 배열에 보관하는 고정 크기 링 버퍼.
+ * 인덱스 0이 가장 오래된 캔들이며, 같은 시작 시각의 캔들은 마지막 값을 덮어씁니다(진행 중인 캔들 갱신).
+ */
+public class CandleRingBuffer {
+
+    private final int capacity;
+    private final long[] startTimes;
+    private final double[] opens;
+    private final double[] highs;
+    private final double[] lows;
+    private final double[] closes;
+    private final double[] volumes;
+
+    private int head;   // 가장 오래된 캔들 위치
+    private int size;
+
+    public CandleRingBuffer(int capacity) {
+        this.capacity = capacity;
+        this.startTimes = new long[capacity];
+        this.opens = new double[capacity];
+        this.highs = new double[capacity];
+        this.lows = new double[capacity];
+        this.closes = new double[capacity];
+        this.volumes = new double[capacity];
+    }
+
+    /**
+     * 캔들을 추가합니다.
+     * @return 새 캔들이 추가되면 true, 마지막 캔들 갱신이거나 과거 캔들이라 무시되면 false
+     */
+    public boolean append(long startTime, double open, double high, double low, double close, double volume) {
+        if (size > 0) {
+            long last = lastStartTime();
+            if (startTime < last) return false;
+            if (startTime == last) {
+                set(physical(size - 1), startTime, open, high, low, close, volume);
+                return false;
+            }
+        }
+        int slot;
+        if (size < capacity) {
+            slot = physical(size);
+            size++;
+        } else {
+            slot = head;
+            head = (head + 1) % capacity;
+        }
+        set(slot, startTime, open, high, low, close, volume);
+        return true;
+    }
+
+    private void set(int slot, long startTime, double open, double high, double low, double close, double volume) {
+        startTimes[slot] = startTime;
+        opens[slot] = open;
+        highs[slot] = high;
+        lows[slot] = low;
+        closes[slot] = close;
+        volumes[slot] = volume;
+    }
+
+    private int physical(int index) {
+        return (head + index) % capacity;
+    }
+
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // 가장 최근 캔들의 시작 시각 (epoch ms), 비어 있으면 -1
+    public long lastStartTime() {
+        return size == 0 ? -1 : startTimes[physical(size - 1)];
+    }
+
+    public long startTime(int index) {
+        return startTimes[physical(index)];
+    }
+
+    public double open(int index) {
+        return opens[physical(index)];
+    }
+
+    public double high(int index) {
+        return highs[physical(index)];
+    }
+
+    public double low(int index) {
+        return lows[physical(index)];
+    }
+
+    public double close(int index) {
+        return closes[physical(index)];
+    }
+
+    public double volume(int index) {
+        return volumes[physical(index)];
+    }
+
+    // 종가를 오래된 순으로 out에 채움 (out의 배열 재사용)
+    public DoubleSeries closes(DoubleSeries out) {
+        out.fill(size);
+        for (int i = 0; i < size; i++) out.set(i, closes[physical(i)]);
+        return out;
+    }
+
+    public DoubleSeries volumes(DoubleSeries out) {
+        out.fill(size);
+        for (int i = 0; i < size; i++) out.set(i, volumes[physical(i)]);
+        return out;
+    }
+}
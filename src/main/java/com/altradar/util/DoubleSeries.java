@@ -0,0 +1,95 @@
+package com.altradar.util;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * double[]의 일부(offset, length)를 가리키는 primitive 시계열 뷰.
+ * 인덱스 0이 가장 오래된 값이며, 박싱 없이 지표 계산에 넘길 수 있습니다.
+ * 같은 인스턴스를 다시 채워 쓰면(fill/wrap) 계산 중 할당이 없습니다.
+ */
+public class DoubleSeries {
+
+    private double[] values;
+    private int offset;
+    private int length;
+
+    public DoubleSeries(int initialCapacity) {
+        this.values = new double[initialCapacity];
+    }
+
+    private DoubleSeries(double[] values, int offset, int length) {
+        this.values = values;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    public static DoubleSeries of(double... values) {
+        return new DoubleSeries(values, 0, values.length);
+    }
+
+    public static DoubleSeries of(double[] values, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, values.length);
+        return new DoubleSeries(values, offset, length);
+    }
+
+    // List<Double> 호환용 (한 번 복사)
+    public static DoubleSeries copyOf(List<Double> values) {
+        double[] copy = new double[values.size()];
+        for (int i = 0; i < copy.length; i++) copy[i] = values.get(i);
+        return new DoubleSeries(copy, 0, copy.length);
+    }
+
+    // 다른 배열 구간을 가리키도록 재설정
+    public DoubleSeries wrap(double[] values, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, values.length);
+        this.values = values;
+        this.offset = offset;
+        this.length = length;
+        return this;
+    }
+
+    /**
+     * 내부 배열을 length개로 다시 쓰기 위해 준비합니다 (용량이 부족할 때만 확장).
+     * 이후 set(i, v)로 값을 채웁니다.
+     */
+    public DoubleSeries fill(int length) {
+        if (values.length < length) {
+            values = new double[Math.max(length, values.length * 2)];
+        }
+        this.offset = 0;
+        this.length = length;
+        return this;
+    }
+
+    public void set(int index, double value) {
+        values[offset + index] = value;
+    }
+
+    public double get(int index) {
+        return values[offset + index];
+    }
+
+    public double last() {
+        return values[offset + length - 1];
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public boolean isEmpty() {
+        return length == 0;
+    }
+
+    // 마지막 n개만 가리키는 새 뷰 (같은 배열 공유)
+    public DoubleSeries tail(int n) {
+        int size = Math.min(n, length);
+        return new DoubleSeries(values, offset + length - size, size);
+    }
+
+    public double[] toArray() {
+        return Arrays.copyOfRange(values, offset, offset + length);
+    }
+}
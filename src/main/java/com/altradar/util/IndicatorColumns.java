@@ -0,0 +1,184 @@
+package com.altradar.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 마켓 하나의 전체 봉에 대한 지표 컬럼 캐시 (파라미터 스윕용).
+ * 같은 기간의 SMA/표준편차/RSI/EMA/MACD 시그널은 한 번만 계산해 여러 파라미터 조합이 공유합니다.
+ * 각 값은 IndicatorEngine이 같은 봉까지 닫았을 때의 값과 같고 (같은 이동 합계/시드 방식), 워밍업 구간은 NaN입니다.
+ * 컬럼은 처음 요청될 때 계산되며 여러 스레드에서 동시에 읽을 수 있습니다.
+ */
+public class IndicatorColumns {
+
+    private final double[] closes;
+    private final double[] volumes;
+    private final int n;
+    private final int volumeWindow;
+
+    private final Map<Integer, double[]> sma = new ConcurrentHashMap<>();
+    private final Map<Integer, double[]> stddev = new ConcurrentHashMap<>();
+    private final Map<Integer, double[]> rsi = new ConcurrentHashMap<>();
+    private final Map<Integer, double[]> ema = new ConcurrentHashMap<>();
+    private final Map<Long, double[]> signal = new ConcurrentHashMap<>();
+    private volatile double[] volumeBaseline;
+
+    public IndicatorColumns(double[] closes, double[] volumes, int n, int volumeWindow) {
+        this.closes = closes;
+        this.volumes = volumes;
+        this.n = n;
+        this.volumeWindow = volumeWindow;
+    }
+
+    public int size() {
+        return n;
+    }
+
+    public double close(int t) {
+        return closes[t];
+    }
+
+    public double volume(int t) {
+        return volumes[t];
+    }
+
+    public double[] sma(int period) {
+        return sma.computeIfAbsent(period, p -> {
+            double[] out = new double[n];
+            double shift = n > 0 ? closes[0] : 0;
+            double sum = 0;
+            for (int t = 0; t < n; t++) {
+                sum += closes[t] - shift - (t >= p ? closes[t - p] - shift : 0);
+                out[t] = t + 1 < p ? Double.NaN : sum / p + shift;
+            }
+            return out;
+        });
+    }
+
+    // 모표준편차 (볼린저 밴드 폭, 배수와 무관하게 공유)
+    public double[] stddev(int period) {
+        return stddev.computeIfAbsent(period, p -> {
+            double[] out = new double[n];
+            double shift = n > 0 ? closes[0] : 0;
+            double sum = 0;
+            double sumSq = 0;
+            for (int t = 0; t < n; t++) {
+                double x = closes[t] - shift;
+                double old = t >= p ? closes[t - p] - shift : 0;
+                sum += x - old;
+                sumSq += x * x - old * old;
+                if (t + 1 < p) {
+                    out[t] = Double.NaN;
+                } else {
+                    double mean = sum / p;
+                    out[t] = Math.sqrt(Math.max(0, sumSq / p - mean * mean));
+                }
+            }
+            return out;
+        });
+    }
+
+    // Wilder RSI (첫 period개 변화량 평균으로 시드)
+    public double[] rsi(int period) {
+        return rsi.computeIfAbsent(period, p -> {
+            double[] out = new double[n];
+            double avgGain = 0;
+            double avgLoss = 0;
+            if (n > 0) out[0] = Double.NaN;
+            for (int t = 1; t < n; t++) {
+                double diff = closes[t] - closes[t - 1];
+                double gain = Math.max(diff, 0);
+                double loss = Math.max(-diff, 0);
+                if (t <= p) {
+                    avgGain += gain;
+                    avgLoss += loss;
+                    if (t < p) {
+                        out[t] = Double.NaN;
+                        continue;
+                    }
+                    avgGain /= p;
+                    avgLoss /= p;
+                } else {
+                    avgGain = (avgGain * (p - 1) + gain) / p;
+                    avgLoss = (avgLoss * (p - 1) + loss) / p;
+                }
+                out[t] = avgLoss == 0 ? 100 : 100 - (100 / (1 + avgGain / avgLoss));
+            }
+            return out;
+        });
+    }
+
+    // 첫 종가로 시드한 EMA (워밍업 구분 없이 모든 봉에 값이 있음)
+    public double[] ema(int period) {
+        return ema.computeIfAbsent(period, p -> {
+            double[] out = new double[n];
+            double k = 2.0 / (p + 1);
+            for (int t = 0; t < n; t++) {
+                out[t] = t == 0 ? closes[0] : closes[t] * k + out[t - 1] * (1 - k);
+            }
+            return out;
+        });
+    }
+
+    /**
+     * MACD 선(fast EMA - slow EMA). slow + signal 봉 전까지는 NaN입니다.
+     */
+    public double macdLine(int fast, int slow, int signalPeriod, int t) {
+        if (t + 1 < slow + signalPeriod) return Double.NaN;
+        return ema(fast)[t] - ema(slow)[t];
+    }
+
+    // MACD 시그널: slow번째 봉의 MACD로 시드한 EMA, slow + signal 봉 전까지는 NaN
+    public double[] signal(int fast, int slow, int signalPeriod) {
+        long key = ((long) fast << 42) | ((long) slow << 21) | signalPeriod;
+        return signal.computeIfAbsent(key, ignored -> {
+            double[] emaFast = ema(fast);
+            double[] emaSlow = ema(slow);
+            double[] seeded = new double[n];
+            double[] out = new double[n];
+            double k = 2.0 / (signalPeriod + 1);
+            for (int t = 0; t < n; t++) {
+                double macd = emaFast[t] - emaSlow[t];
+                if (t + 1 < slow) {
+                    seeded[t] = Double.NaN;
+                } else {
+                    seeded[t] = t + 1 == slow ? macd : macd * k + seeded[t - 1] * (1 - k);
+                }
+                out[t] = t + 1 < slow + signalPeriod ? Double.NaN : seeded[t];
+            }
+            return out;
+        });
+    }
+
+    // 직전 volumeWindow개 거래량 평균 (현재 봉 제외, 첫 봉은 NaN)
+    public double[] volumeBaseline() {
+        double[] baseline = volumeBaseline;
+        if (baseline == null) {
+            baseline = new double[n];
+            double sum = 0;
+            int count = 0;
+            for (int t = 0; t < n; t++) {
+                baseline[t] = count == 0 ? Double.NaN : sum / count;
+                sum += volumes[t];
+                if (count == volumeWindow) {
+                    sum -= volumes[t - volumeWindow];
+                } else {
+                    count++;
+                }
+            }
+            volumeBaseline = baseline;
+        }
+        return baseline;
+    }
+
+    public boolean isVolumeSpike(int t, double thresholdMultiplier) {
+        double baseline = volumeBaseline()[t];
+        return !Double.isNaN(baseline) && volumes[t] > baseline * thresholdMultiplier;
+    }
+
+    // 캐시된 컬럼 수 (공유 효과 확인용)
+    public int cachedColumns() {
+        return sma.size() + stddev.size() + rsi.size() + ema.size() + signal.size()
+                + (volumeBaseline != null ? 1 : 0);
+    }
+}
@@ -0,0 +1,282 @@
+package com.altradar.util;
+
+/**
+ * 캔들 하나가 들어올 때마다 O(1)로 갱신되는 스트리밍 지표 엔진 (마켓/타임프레임당 하나).
+ * EMA, Wilder RSI, MACD/시그널, 볼린저 밴드용 이동 평균/분산, 거래량 기준선을 상태로 유지합니다.
+ *
+ * 상태는 "닫힌 캔들까지의 기준값(base)"과 "마지막(진행 중일 수 있는) 캔들"로 나뉘어 있어,
+ * 진행 중인 캔들이 갱신되면 amendLast로 마지막 값만 바꿔 다시 계산합니다.
+ */
+public class IndicatorEngine {
+
+    private final int maShort;
+    private final int maMid;
+    private final int maLong;
+    private final int rsiPeriod;
+    private final int bbPeriod;
+    private final double bbK;
+    private final int macdFast;
+    private final int macdSlow;
+    private final int macdSignal;
+    private final int volumeWindow;
+
+    private final double kFast;
+    private final double kSlow;
+    private final double kSignal;
+
+    // 최근 종가/거래량 (이동 합계에서 빠질 값을 찾기 위한 링)
+    private final double[] closes;
+    private final double[] volumes;
+
+    private long count;
+    private double lastClose;
+    private double lastVolume;
+    private double prevClose;
+
+    // 종가 이동 합계 (마지막 캔들 포함). 분산 계산 시 자릿수 손실을 줄이려고 첫 종가를 기준으로 이동시킨 값 사용
+    private double shift;
+    private double sumShort;
+    private double sumMid;
+    private double sumLong;
+    private double sumBb;
+    private double sumSqBb;
+
+    // 닫힌 캔들까지의 EMA / 시그널
+    private double emaFastBase;
+    private double emaSlowBase;
+    private double signalBase;
+    private long macdCount;
+
+    // 닫힌 캔들까지의 Wilder RSI 상태
+    private long diffCount;
+    private double seedGain;
+    private double seedLoss;
+    private double avgGainBase;
+    private double avgLossBase;
+
+    // 마지막 캔들을 제외한 직전 volumeWindow개 거래량 합계
+    private double prevVolumeSum;
+    private int prevVolumeCount;
+
+    public IndicatorEngine(int maShort, int maMid, int maLong, int rsiPeriod, int bbPeriod, double bbK,
+                           int macdFast, int macdSlow, int macdSignal, int volumeWindow) {
+        this.maShort = maShort;
+        this.maMid = maMid;
+        this.maLong = maLong;
+        this.rsiPeriod = rsiPeriod;
+        this.bbPeriod = bbPeriod;
+        this.bbK = bbK;
+        this.macdFast = macdFast;
+        this.macdSlow = macdSlow;
+        this.macdSignal = macdSignal;
+        this.volumeWindow = volumeWindow;
+        this.kFast = 2.0 / (macdFast + 1);
+        this.kSlow = 2.0 / (macdSlow + 1);
+        this.kSignal = 2.0 / (macdSignal + 1);
+
+        int window = Math.max(Math.max(maShort, maMid), Math.max(maLong, bbPeriod));
+        this.closes = new double[window + 1];
+        this.volumes = new double[volumeWindow + 1];
+    }
+
+    // 기존 분석과 같은 기간 (MA 5/20/60, RSI 14, BB 20/2, MACD 12/26/9)
+    public static IndicatorEngine defaults(int volumeWindow) {
+        return new IndicatorEngine(5, 20, 60, 14, 20, 2.0, 12, 26, 9, volumeWindow);
+    }
+
+    public void reset() {
+        count = 0;
+        sumShort = sumMid = sumLong = sumBb = sumSqBb = 0;
+        macdCount = 0;
+        diffCount = 0;
+        seedGain = seedLoss = 0;
+        prevVolumeSum = 0;
+        prevVolumeCount = 0;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    /**
+     * 새 캔들 추가. 직전 마지막 캔들은 닫힌 것으로 보고 기준값에 반영합니다.
+     */
+    public void append(double close, double volume) {
+        if (count == 0) {
+            shift = close;
+        } else {
+            commitLast();
+        }
+        count++;
+
+        closes[slot(closes, count - 1)] = close;
+        volumes[slot(volumes, count - 1)] = volume;
+        double x = close - shift;
+        sumShort += x - evicted(maShort);
+        sumMid += x - evicted(maMid);
+        sumLong += x - evicted(maLong);
+        double out = evicted(bbPeriod);
+        sumBb += x - out;
+        sumSqBb += x * x - out * out;
+
+        lastClose = close;
+        lastVolume = volume;
+    }
+
+    /**
+     * 마지막(진행 중) 캔들의 값만 바꿉니다.
+     */
+    public void amendLast(double close, double volume) {
+        if (count == 0) {
+            append(close, volume);
+            return;
+        }
+        double oldX = lastClose - shift;
+        double x = close - shift;
+        double delta = x - oldX;
+        sumShort += delta;
+        sumMid += delta;
+        sumLong += delta;
+        sumBb += delta;
+        sumSqBb += x * x - oldX * oldX;
+
+        closes[slot(closes, count - 1)] = close;
+        volumes[slot(volumes, count - 1)] = volume;
+        lastClose = close;
+        lastVolume = volume;
+    }
+
+    // 마지막 캔들을 닫힌 캔들로 기준값에 반영
+    private void commitLast() {
+        double emaFast = currentEma(emaFastBase, kFast);
+        double emaSlow = currentEma(emaSlowBase, kSlow);
+        if (count >= macdSlow) {
+            signalBase = currentSignal(emaFast - emaSlow);
+            macdCount++;
+        }
+        emaFastBase = emaFast;
+        emaSlowBase = emaSlow;
+
+        if (count >= 2) {
+            double diff = lastClose - prevClose;
+            double gain = Math.max(diff, 0);
+            double loss = Math.max(-diff, 0);
+            if (diffCount < rsiPeriod) {
+                seedGain += gain;
+                seedLoss += loss;
+                if (diffCount + 1 == rsiPeriod) {
+                    avgGainBase = seedGain / rsiPeriod;
+                    avgLossBase = seedLoss / rsiPeriod;
+                }
+            } else {
+                avgGainBase = (avgGainBase * (rsiPeriod - 1) + gain) / rsiPeriod;
+                avgLossBase = (avgLossBase * (rsiPeriod - 1) + loss) / rsiPeriod;
+            }
+            diffCount++;
+        }
+        prevClose = lastClose;
+
+        prevVolumeSum += lastVolume;
+        if (prevVolumeCount == volumeWindow) {
+            prevVolumeSum -= volumes[slot(volumes, count - 1 - volumeWindow)];
+        } else {
+            prevVolumeCount++;
+        }
+    }
+
+    // 새 값이 들어올 때 period 윈도우에서 빠지는 값 (이동 기준)
+    private double evicted(int period) {
+        long index = count - 1 - period;
+        return index >= 0 ? closes[slot(closes, index)] - shift : 0;
+    }
+
+    private static int slot(double[] ring, long index) {
+        return (int) (index % ring.length);
+    }
+
+    private double currentEma(double base, double k) {
+        return count == 1 ? lastClose : lastClose * k + base * (1 - k);
+    }
+
+    private double currentSignal(double macd) {
+        return macdCount == 0 ? macd : macd * kSignal + signalBase * (1 - kSignal);
+    }
+
+    public double lastClose() {
+        return lastClose;
+    }
+
+    public double maShort() {
+        return mean(sumShort, maShort);
+    }
+
+    public double maMid() {
+        return mean(sumMid, maMid);
+    }
+
+    public double maLong() {
+        return mean(sumLong, maLong);
+    }
+
+    private double mean(double shiftedSum, int period) {
+        return count < period ? Double.NaN : shiftedSum / period + shift;
+    }
+
+    // Wilder RSI
+    public double rsi() {
+        long diffs = count - 1;
+        if (diffs < rsiPeriod) return Double.NaN;
+        double diff = lastClose - prevClose;
+        double gain = Math.max(diff, 0);
+        double loss = Math.max(-diff, 0);
+        double avgGain, avgLoss;
+        if (diffCount < rsiPeriod) {
+            avgGain = (seedGain + gain) / rsiPeriod;
+            avgLoss = (seedLoss + loss) / rsiPeriod;
+        } else {
+            avgGain = (avgGainBase * (rsiPeriod - 1) + gain) / rsiPeriod;
+            avgLoss = (avgLossBase * (rsiPeriod - 1) + loss) / rsiPeriod;
+        }
+        if (avgLoss == 0) return 100;
+        return 100 - (100 / (1 + avgGain / avgLoss));
+    }
+
+    // {upper, middle, lower}
+    public double[] bollingerBands() {
+        return bollingerBands(new double[3]);
+    }
+
+    public double[] bollingerBands(double[] out) {
+        if (count < bbPeriod) {
+            out[0] = out[1] = out[2] = Double.NaN;
+            return out;
+        }
+        double meanShifted = sumBb / bbPeriod;
+        double variance = Math.max(0, sumSqBb / bbPeriod - meanShifted * meanShifted);
+        double stddev = Math.sqrt(variance);
+        double ma = meanShifted + shift;
+        out[0] = ma + bbK * stddev;
+        out[1] = ma;
+        out[2] = ma - bbK * stddev;
+        return out;
+    }
+
+    public double macdLine() {
+        if (count < macdSlow + macdSignal) return Double.NaN;
+        return currentEma(emaFastBase, kFast) - currentEma(emaSlowBase, kSlow);
+    }
+
+    public double signalLine() {
+        if (count < macdSlow + macdSignal) return Double.NaN;
+        return currentSignal(currentEma(emaFastBase, kFast) - currentEma(emaSlowBase, kSlow));
+    }
+
+    // 직전 거래량 평균 (마지막 캔들 제외)
+    public double volumeBaseline() {
+        return prevVolumeCount == 0 ? Double.NaN : prevVolumeSum / prevVolumeCount;
+    }
+
+    public boolean isVolumeSpike(double thresholdMultiplier) {
+        return prevVolumeCount > 0 && lastVolume > volumeBaseline() * thresholdMultiplier;
+    }
+}
@@ -0,0 +1,87 @@
+package com.altradar.util;
+
+/**
+ * 캔들 시각에 맞춘 지표 시계열 (차트용, 재사용 가능한 컬럼 배열).
+ * 버퍼의 캔들을 스트리밍 지표 엔진에 한 번 통과시키며(O(n)) 각 시점의 지표 값을 미리 할당된 배열에 기록합니다.
+ * 값이 아직 없는 구간은 NaN입니다.
+ */
+public class IndicatorSeries {
+
+    public long[] startTimes;
+    public double[] closes;
+    public double[] ma5;
+    public double[] ma20;
+    public double[] ma60;
+    public double[] rsi;
+    public double[] bbUpper;
+    public double[] bbMiddle;
+    public double[] bbLower;
+    public double[] macdLine;
+    public double[] signalLine;
+    public boolean[] volumeSpike;
+    public int size;
+
+    private final double[] bands = new double[3];
+
+    public IndicatorSeries(int initialCapacity) {
+        allocate(initialCapacity);
+    }
+
+    private void allocate(int capacity) {
+        startTimes = new long[capacity];
+        closes = new double[capacity];
+        ma5 = new double[capacity];
+        ma20 = new double[capacity];
+        ma60 = new double[capacity];
+        rsi = new double[capacity];
+        bbUpper = new double[capacity];
+        bbMiddle = new double[capacity];
+        bbLower = new double[capacity];
+        macdLine = new double[capacity];
+        signalLine = new double[capacity];
+        volumeSpike = new boolean[capacity];
+    }
+
+    // 필요한 행 수만큼 용량 확보 (부족할 때만 새로 할당)
+    private void ensureCapacity(int capacity) {
+        if (startTimes.length < capacity) allocate(Math.max(capacity, startTimes.length * 2));
+    }
+
+    /**
+     * buffer의 모든 캔들로 지표를 계산하고, 마지막 window개 캔들 중 step 간격의 시점만 기록합니다.
+     * 가장 최근 캔들은 항상 포함되며, 그 이전 캔들은 지표 워밍업에만 쓰입니다.
+     *
+     * @param engine 초기화해서 사용할 지표 엔진 (재사용 가능)
+     */
+    public IndicatorSeries fill(CandleRingBuffer buffer, int window, int step, IndicatorEngine engine) {
+        int n = buffer.size();
+        int from = Math.max(0, n - Math.max(1, window));
+        int stride = Math.max(1, step);
+        ensureCapacity((n - from + stride - 1) / stride);
+        engine.reset();
+        size = 0;
+
+        for (int i = 0; i < n; i++) {
+            double close = buffer.close(i);
+            engine.append(close, buffer.volume(i));
+            // 마지막 캔들 기준으로 step 간격 정렬
+            if (i < from || (n - 1 - i) % stride != 0) continue;
+
+            int row = size++;
+            startTimes[row] = buffer.startTime(i);
+            closes[row] = close;
+            ma5[row] = engine.maShort();
+            ma20[row] = engine.maMid();
+            ma60[row] = engine.maLong();
+            rsi[row] = engine.rsi();
+            engine.bollingerBands(bands);
+            bbUpper[row] = bands[0];
+            bbMiddle[row] = bands[1];
+            bbLower[row] = bands[2];
+            macdLine[row] = engine.macdLine();
+            signalLine[row] = engine.signalLine();
+            volumeSpike[row] = engine.isVolumeSpike(2.0);
+        }
+        return this;
+    }
+}
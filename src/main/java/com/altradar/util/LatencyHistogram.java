@@ -0,0 +1,68 @@
+package com.altradar.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 나노초 지연을 로그 구간(2의 거듭제곱마다 8칸, 상대 오차 약 6%)으로 세는 히스토그램.
+ * 기록은 한 스레드에서만 하고(lazySet, 락 없음), 분위수 조회는 어느 스레드에서나 할 수 있습니다.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    // 16ns 미만은 1ns 단위 그대로
+    private static final int LINEAR = 2 * SUB_BUCKETS;
+    private static final int BUCKETS = LINEAR + (63 - (SUB_BITS + 1)) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private volatile long count;
+    private volatile long max;
+
+    public void record(long nanos) {
+        long v = Math.max(0, nanos);
+        int bucket = bucket(v);
+        counts.lazySet(bucket, counts.get(bucket) + 1);
+        if (v > max) max = v;
+        count = count + 1;
+    }
+
+    private static int bucket(long v) {
+        if (v < LINEAR) return (int) v;
+        int exponent = 63 - Long.numberOfLeadingZeros(v);
+        int sub = (int) (v >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return LINEAR + (exponent - SUB_BITS - 1) * SUB_BUCKETS + sub;
+    }
+
+    // 구간의 중간값
+    private static long value(int bucket) {
+        if (bucket < LINEAR) return bucket;
+        int exponent = (bucket - LINEAR) / SUB_BUCKETS + SUB_BITS + 1;
+        int sub = (bucket - LINEAR) % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BITS);
+        return (1L << exponent) + sub * width + width / 2;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public long max() {
+        return max;
+    }
+
+    /**
+     * q(0~1) 분위수 (나노초). 기록이 없으면 0.
+     */
+    public long quantile(double q) {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) total += counts.get(i);
+        if (total == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(q * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) return Math.min(value(i), max);
+        }
+        return max;
+    }
+}
@@ -0,0 +1,93 @@
+package com.altradar.util;
+
+import java.util.Arrays;
+
+/**
+ * 여러 마켓의 캔들 윈도우를 structure-of-arrays로 담는 배치 (재사용 가능).
+ * 입력은 시간 우선 배치(closes[t * stride + m])라서 같은 시각의 여러 마켓 값이 연속으로 놓이고,
+ * 마켓 축으로 SIMD 레인을 채울 수 있습니다. 마켓 m의 캔들은 t = 0 .. lengths[m]-1 (오래된 순)에 있습니다.
+ * 결과도 마켓 인덱스별 primitive 배열로 채워집니다.
+ * 지표는 담긴 윈도우만으로 계산하므로, EMA/MACD/Wilder RSI는 윈도우 이전 이력까지 이어 온 IndicatorEngine과
+ * 윈도우가 전체 이력일 때만 일치합니다.
+ */
+public class MarketBatch {
+
+    int markets;
+    int window;
+    int stride;
+
+    double[] closes = new double[0];
+    double[] volumes = new double[0];
+    public int[] lengths = new int[0];
+
+    public double[] ma5 = new double[0];
+    public double[] ma20 = new double[0];
+    public double[] ma60 = new double[0];
+    public double[] rsi = new double[0];
+    public double[] bbUpper = new double[0];
+    public double[] bbMiddle = new double[0];
+    public double[] bbLower = new double[0];
+    public double[] macdLine = new double[0];
+    public double[] signalLine = new double[0];
+    public boolean[] volumeSpike = new boolean[0];
+
+    /**
+     * markets개 마켓, 마켓당 최대 window개 캔들을 담도록 준비합니다 (용량이 부족할 때만 확장).
+     */
+    public MarketBatch reset(int markets, int window) {
+        this.markets = markets;
+        this.window = window;
+        this.stride = markets;
+        int cells = markets * window;
+        if (closes.length < cells) {
+            closes = new double[cells];
+            volumes = new double[cells];
+        }
+        if (lengths.length < markets) {
+            lengths = new int[markets];
+            ma5 = new double[markets];
+            ma20 = new double[markets];
+            ma60 = new double[markets];
+            rsi = new double[markets];
+            bbUpper = new double[markets];
+            bbMiddle = new double[markets];
+            bbLower = new double[markets];
+            macdLine = new double[markets];
+            signalLine = new double[markets];
+            volumeSpike = new boolean[markets];
+        }
+        Arrays.fill(lengths, 0, markets, 0);
+        return this;
+    }
+
+    // 마켓 m의 캔들 버퍼 끝에서 최대 window개를 오래된 순으로 복사
+    public void load(int market, CandleRingBuffer buffer) {
+        int n = Math.min(buffer.size(), window);
+        int from = buffer.size() - n;
+        for (int t = 0; t < n; t++) {
+            closes[t * stride + market] = buffer.close(from + t);
+            volumes[t * stride + market] = buffer.volume(from + t);
+        }
+        lengths[market] = n;
+    }
+
+    public void set(int market, int t, double close, double volume) {
+        closes[t * stride + market] = close;
+        volumes[t * stride + market] = volume;
+        if (lengths[market] <= t) lengths[market] = t + 1;
+    }
+
+    // 마켓 m의 마지막 종가
+    public double lastClose(int market) {
+        int n = lengths[market];
+        return n == 0 ? Double.NaN : closes[(n - 1) * stride + market];
+    }
+
+    public int markets() {
+        return markets;
+    }
+
+    public int window() {
+        return window;
+    }
+}
@@ -0,0 +1,122 @@
+package com.altradar.util;
+
+/**
+ * 마켓 하나의 호가 스냅샷 (매수/매도 단계별 가격·수량을 고정 크기 primitive 배열에 보관).
+ * 갱신은 같은 배열에 덮어쓰므로 할당이 없고, 지표(스프레드, 잔량 불균형, 깊이 기울기)는 배열에서 바로 계산합니다.
+ * 인덱스 0이 최우선 호가이며, 동기화하지 않습니다 (호출자가 보호).
+ */
+public class OrderBook {
+
+    // 업비트 REST는 15단계, 웹소켓은 최대 30단계
+    public static final int MAX_LEVELS = 30;
+    private static final int MAX_MARKET_LENGTH = 32;
+
+    public final double[] askPrices = new double[MAX_LEVELS];
+    public final double[] askSizes = new double[MAX_LEVELS];
+    public final double[] bidPrices = new double[MAX_LEVELS];
+    public final double[] bidSizes = new double[MAX_LEVELS];
+    public int levels;
+    public long timestamp;
+
+    // 파서가 문자열을 만들지 않고 마켓 코드를 담는 버퍼
+    final char[] marketChars = new char[MAX_MARKET_LENGTH];
+    int marketLength;
+
+    public void clear() {
+        levels = 0;
+        timestamp = 0;
+        marketLength = 0;
+    }
+
+    public boolean isEmpty() {
+        return levels == 0;
+    }
+
+    public void copyFrom(OrderBook other) {
+        System.arraycopy(other.askPrices, 0, askPrices, 0, other.levels);
+        System.arraycopy(other.askSizes, 0, askSizes, 0, other.levels);
+        System.arraycopy(other.bidPrices, 0, bidPrices, 0, other.levels);
+        System.arraycopy(other.bidSizes, 0, bidSizes, 0, other.levels);
+        System.arraycopy(other.marketChars, 0, marketChars, 0, other.marketLength);
+        levels = other.levels;
+        timestamp = other.timestamp;
+        marketLength = other.marketLength;
+    }
+
+    void setMarket(char[] chars, int offset, int length) {
+        marketLength = Math.min(length, MAX_MARKET_LENGTH);
+        System.arraycopy(chars, offset, marketChars, 0, marketLength);
+    }
+
+    public boolean isMarket(String market) {
+        if (market.length() != marketLength) return false;
+        for (int i = 0; i < marketLength; i++) {
+            if (market.charAt(i) != marketChars[i]) return false;
+        }
+        return true;
+    }
+
+    public String market() {
+        return new String(marketChars, 0, marketLength);
+    }
+
+    public double bestBid() {
+        return levels > 0 ? bidPrices[0] : Double.NaN;
+    }
+
+    public double bestAsk() {
+        return levels > 0 ? askPrices[0] : Double.NaN;
+    }
+
+    public double mid() {
+        return levels > 0 ? (askPrices[0] + bidPrices[0]) / 2 : Double.NaN;
+    }
+
+    // 중간가 대비 최우선 매도-매수 호가 차이
+    public double spread() {
+        double mid = mid();
+        return mid > 0 ? (askPrices[0] - bidPrices[0]) / mid : Double.NaN;
+    }
+
+    /**
+     * 상위 depth단계 잔량 불균형 (매수 - 매도) / (매수 + 매도), -1 ~ 1. depth ≤ 0이면 전체 단계.
+     */
+    public double imbalance(int depth) {
+        int n = depth <= 0 ? levels : Math.min(depth, levels);
+        double bid = 0;
+        double ask = 0;
+        for (int i = 0; i < n; i++) {
+            bid += bidSizes[i];
+            ask += askSizes[i];
+        }
+        double total = bid + ask;
+        return total > 0 ? (bid - ask) / total : Double.NaN;
+    }
+
+    /**
+     * 한쪽 호가의 깊이 기울기: 중간가 대비 거리(비율) x에 대한 누적 잔량 금액 y의 원점 회귀 기울기.
+     * 클수록 가격이 조금만 움직여도 많은 잔량이 걸려 있는(두꺼운) 호가입니다.
+     */
+    public double depthSlope(boolean bid) {
+        double mid = mid();
+        if (!(mid > 0)) return Double.NaN;
+        double[] prices = bid ? bidPrices : askPrices;
+        double[] sizes = bid ? bidSizes : askSizes;
+        double cumulative = 0;
+        double xy = 0;
+        double xx = 0;
+        for (int i = 0; i < levels; i++) {
+            cumulative += prices[i] * sizes[i];
+            double x = Math.abs(prices[i] - mid) / mid;
+            xy += x * cumulative;
+            xx += x * x;
+        }
+        return xx > 0 ? xy / xx : Double.NaN;
+    }
+
+    // 매수/매도 깊이 기울기 비율 (> 1이면 매수 쪽이 두꺼움)
+    public double slopeRatio() {
+        double ask = depthSlope(false);
+        return ask > 0 ? depthSlope(true) / ask : Double.NaN;
+    }
+}
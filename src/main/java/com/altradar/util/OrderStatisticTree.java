@@ -0,0 +1,250 @@
+package com.altradar.util;
+
+import java.util.Arrays;
+
+/**
+ * 정수 id마다 값 하나를 정렬된 상태로 유지하는 순서 통계 트리 (부분 트리 크기를 보강한 treap, primitive 배열).
+ * 값 갱신/삭제, 순위, k번째 원소 조회가 모두 O(log n)입니다.
+ * 노드는 id 자리에 그대로 두므로 용량이 찬 뒤에는 갱신 중 할당이 없습니다.
+ * 같은 값은 id 순으로 정렬하며, 동기화하지 않습니다 (호출자가 보호).
+ */
+public class OrderStatisticTree {
+
+    private static final int NIL = -1;
+
+    private double[] values;
+    private int[] left;
+    private int[] right;
+    private int[] sizes;
+    private int[] priorities;
+    private boolean[] present;
+
+    private int root = NIL;
+    private int count;
+    // 평균/표준편차용 누적 합
+    private double sum;
+    private double sumSquares;
+    private long seed = 0x9E3779B97F4A7C15L;
+
+    // split 결과 (할당 없이 두 부분 트리를 돌려받음)
+    private int splitLeft;
+    private int splitRight;
+
+    public OrderStatisticTree(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        values = new double[capacity];
+        left = new int[capacity];
+        right = new int[capacity];
+        sizes = new int[capacity];
+        priorities = new int[capacity];
+        present = new boolean[capacity];
+    }
+
+    /**
+     * id의 값을 넣거나 바꿉니다. NaN이면 트리에서 뺍니다.
+     */
+    public void put(int id, double value) {
+        if (Double.isNaN(value)) {
+            remove(id);
+            return;
+        }
+        ensureCapacity(id + 1);
+        if (present[id]) {
+            if (values[id] == value) return;
+            remove(id);
+        }
+        values[id] = value;
+        left[id] = NIL;
+        right[id] = NIL;
+        sizes[id] = 1;
+        priorities[id] = nextPriority();
+        present[id] = true;
+
+        split(root, value, id, false);
+        int rest = splitRight;
+        root = merge(merge(splitLeft, id), rest);
+        count++;
+        sum += value;
+        sumSquares += value * value;
+    }
+
+    public boolean remove(int id) {
+        if (!contains(id)) return false;
+        double value = values[id];
+        split(root, value, id, false);
+        int lower = splitLeft;
+        // 남은 쪽의 가장 작은 원소가 id 자신
+        split(splitRight, value, id, true);
+        root = merge(lower, splitRight);
+        present[id] = false;
+        count--;
+        if (count == 0) {
+            sum = 0;
+            sumSquares = 0;
+        } else {
+            sum -= value;
+            sumSquares -= value * value;
+        }
+        return true;
+    }
+
+    public boolean contains(int id) {
+        return id >= 0 && id < present.length && present[id];
+    }
+
+    // id의 값, 없으면 NaN
+    public double value(int id) {
+        return contains(id) ? values[id] : Double.NaN;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /**
+     * 오름차순 순위 (0부터): id보다 앞에 오는 원소 수. 없으면 -1.
+     */
+    public int rank(int id) {
+        if (!contains(id)) return -1;
+        double value = values[id];
+        int rank = 0;
+        int t = root;
+        while (t != NIL) {
+            if (compare(t, value, id) < 0) {
+                rank += size(left[t]) + 1;
+                t = right[t];
+            } else {
+                t = left[t];
+            }
+        }
+        return rank;
+    }
+
+    // value보다 작은 원소 수
+    public int countLess(double value) {
+        int n = 0;
+        int t = root;
+        while (t != NIL) {
+            if (values[t] < value) {
+                n += size(left[t]) + 1;
+                t = right[t];
+            } else {
+                t = left[t];
+            }
+        }
+        return n;
+    }
+
+    // value 이하인 원소 수
+    public int countLessOrEqual(double value) {
+        int n = 0;
+        int t = root;
+        while (t != NIL) {
+            if (values[t] <= value) {
+                n += size(left[t]) + 1;
+                t = right[t];
+            } else {
+                t = left[t];
+            }
+        }
+        return n;
+    }
+
+    /**
+     * 오름차순 k번째(0부터) 원소의 id, 범위 밖이면 -1.
+     */
+    public int select(int k) {
+        if (k < 0 || k >= count) return NIL;
+        int t = root;
+        while (true) {
+            int leftSize = size(left[t]);
+            if (k < leftSize) {
+                t = left[t];
+            } else if (k == leftSize) {
+                return t;
+            } else {
+                k -= leftSize + 1;
+                t = right[t];
+            }
+        }
+    }
+
+    public double mean() {
+        return count == 0 ? Double.NaN : sum / count;
+    }
+
+    // 모표준편차, 원소가 없으면 NaN
+    public double stdDev() {
+        if (count == 0) return Double.NaN;
+        double mean = sum / count;
+        return Math.sqrt(Math.max(0, sumSquares / count - mean * mean));
+    }
+
+    // t를 (value, id)보다 앞(inclusive면 같은 것 포함)인 쪽 splitLeft와 나머지 splitRight로 나눔
+    private void split(int t, double value, int id, boolean inclusive) {
+        if (t == NIL) {
+            splitLeft = NIL;
+            splitRight = NIL;
+            return;
+        }
+        int c = compare(t, value, id);
+        if (c < 0 || (inclusive && c == 0)) {
+            split(right[t], value, id, inclusive);
+            right[t] = splitLeft;
+            update(t);
+            splitLeft = t;
+        } else {
+            split(left[t], value, id, inclusive);
+            left[t] = splitRight;
+            update(t);
+            splitRight = t;
+        }
+    }
+
+    // a의 모든 원소가 b보다 앞일 때 두 트리를 합침
+    private int merge(int a, int b) {
+        if (a == NIL) return b;
+        if (b == NIL) return a;
+        if (priorities[a] > priorities[b]) {
+            right[a] = merge(right[a], b);
+            update(a);
+            return a;
+        }
+        left[b] = merge(a, left[b]);
+        update(b);
+        return b;
+    }
+
+    private int compare(int t, double value, int id) {
+        if (values[t] < value) return -1;
+        if (values[t] > value) return 1;
+        return Integer.compare(t, id);
+    }
+
+    private void update(int t) {
+        sizes[t] = size(left[t]) + size(right[t]) + 1;
+    }
+
+    private int size(int t) {
+        return t == NIL ? 0 : sizes[t];
+    }
+
+    private int nextPriority() {
+        // xorshift64
+        seed ^= seed << 13;
+        seed ^= seed >>> 7;
+        seed ^= seed << 17;
+        return (int) (seed >>> 32);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= values.length) return;
+        int grown = Math.max(capacity, values.length * 2);
+        values = Arrays.copyOf(values, grown);
+        left = Arrays.copyOf(left, grown);
+        right = Arrays.copyOf(right, grown);
+        sizes = Arrays.copyOf(sizes, grown);
+        priorities = Arrays.copyOf(priorities, grown);
+        present = Arrays.copyOf(present, grown);
+    }
+}
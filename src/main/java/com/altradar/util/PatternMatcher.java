@@ -0,0 +1,179 @@
+package com.altradar.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 시간 제한이 있는 단계 순서 패턴을 컴파일한 NFA 집합 (불변, 모든 마켓이 공유).
+ *
+ * 패턴은 "거래량 급등 → 10분 안에 볼린저 상단 돌파 → 5분 안에 RSI 80 미만"처럼 단계 조건과
+ * 단계 간 허용 시간(within), 전체 허용 시간(window)으로 정의합니다. 단계 조건은 ScoreRuleBook DSL이며,
+ * 모든 패턴의 단계를 하나의 규칙 북으로 합쳐 봉마다 한 번만 평가합니다 (서로 다른 비교식 최대 64개).
+ *
+ * 마켓별 상태(State)는 단계마다 "그 단계까지 진행한 가장 최근 실행"의 도달/시작 시각만 보관하므로 크기가 고정이고,
+ * 봉 하나의 처리는 단계 수에 비례합니다. 한 봉은 실행을 한 단계만 진행시키며, 패턴이 완성되면 해당 패턴의 상태를 비웁니다.
+ */
+public final class PatternMatcher {
+
+    private static final long NONE = Long.MIN_VALUE;
+    private static final long MINUTE_MS = 60_000L;
+
+    public record StepDef(String name, String when, long withinMinutes) {
+    }
+
+    public record PatternDef(long windowMinutes, List<StepDef> steps) {
+    }
+
+    /**
+     * 패턴 완성 시 호출됩니다.
+     */
+    @FunctionalInterface
+    public interface Listener {
+        void onMatch(String pattern, long startTime, long time, double[] features);
+    }
+
+    private final ScoreRuleBook steps;
+    private final List<String> names;
+    private final int[] patternStart;   // 패턴 p의 단계는 [patternStart[p], patternStart[p + 1])
+    private final long[] windowMs;
+    private final long[] withinMs;
+    private final Map<String, PatternDef> definitions;
+
+    private PatternMatcher(ScoreRuleBook steps, List<String> names, int[] patternStart, long[] windowMs,
+                           long[] withinMs, Map<String, PatternDef> definitions) {
+        this.steps = steps;
+        this.names = names;
+        this.patternStart = patternStart;
+        this.windowMs = windowMs;
+        this.withinMs = withinMs;
+        this.definitions = definitions;
+    }
+
+    /**
+     * 패턴들을 컴파일합니다. 단계가 없거나 조건 문법 오류가 있으면 IllegalArgumentException.
+     */
+    public static PatternMatcher compile(Map<String, PatternDef> patterns) {
+        if (patterns == null || patterns.isEmpty()) {
+            throw new IllegalArgumentException("패턴이 없습니다");
+        }
+        // 단계 하나 = 점수 1짜리 규칙 하나로 된 집합
+        Map<String, List<ScoreRuleBook.RuleDef>> sets = new LinkedHashMap<>();
+        List<String> names = new ArrayList<>();
+        int[] patternStart = new int[patterns.size() + 1];
+        long[] windowMs = new long[patterns.size()];
+        List<Long> withinMs = new ArrayList<>();
+        int p = 0;
+        for (Map.Entry<String, PatternDef> pattern : patterns.entrySet()) {
+            List<StepDef> stepDefs = pattern.getValue().steps();
+            if (stepDefs == null || stepDefs.isEmpty()) {
+                throw new IllegalArgumentException("단계가 없는 패턴: " + pattern.getKey());
+            }
+            names.add(pattern.getKey());
+            patternStart[p] = withinMs.size();
+            windowMs[p] = toMillis(pattern.getValue().windowMinutes());
+            for (int j = 0; j < stepDefs.size(); j++) {
+                StepDef step = stepDefs.get(j);
+                String name = step.name() != null ? step.name() : "step" + (j + 1);
+                sets.put(pattern.getKey() + "/" + name,
+                        List.of(new ScoreRuleBook.RuleDef(name, step.when(), 1)));
+                withinMs.add(toMillis(step.withinMinutes()));
+            }
+            p++;
+        }
+        patternStart[p] = withinMs.size();
+        if (sets.size() != withinMs.size()) {
+            throw new IllegalArgumentException("패턴 안의 단계 이름이 중복됩니다");
+        }
+
+        ScoreRuleBook book = ScoreRuleBook.compile(sets, null, 1);
+        return new PatternMatcher(book, List.copyOf(names), patternStart, windowMs,
+                withinMs.stream().mapToLong(Long::longValue).toArray(), Map.copyOf(patterns));
+    }
+
+    // 0 이하 = 제한 없음
+    private static long toMillis(long minutes) {
+        return minutes > 0 ? minutes * MINUTE_MS : Long.MAX_VALUE;
+    }
+
+    public List<String> names() {
+        return names;
+    }
+
+    public int stepCount() {
+        return withinMs.length;
+    }
+
+    public int clauseCount() {
+        return steps.clauseCount();
+    }
+
+    public Map<String, PatternDef> definitions() {
+        return definitions;
+    }
+
+    public State newState() {
+        return new State(withinMs.length);
+    }
+
+    /**
+     * 마켓 하나의 NFA 상태 (크기 고정). 같은 마켓의 봉은 한 스레드씩 순서대로 넣어야 합니다.
+     */
+    public static final class State {
+        private final long[] reachedAt;
+        private final long[] startedAt;
+        private final double[] matched;
+        private long lastTime = NONE;
+
+        private State(int steps) {
+            reachedAt = new long[steps];
+            startedAt = new long[steps];
+            matched = new double[steps];
+            Arrays.fill(reachedAt, NONE);
+        }
+    }
+
+    /**
+     * 봉 하나의 지표 값으로 모든 패턴을 한 단계씩 진행합니다 (할당 없음).
+     * 이미 처리한 시각 이전의 봉은 무시합니다.
+     *
+     * @param features ScoreRuleBook.Feature 순서의 지표 값
+     * @return 완성된 패턴 수
+     */
+    public int advance(State state, long time, double[] features, Listener listener) {
+        if (state.lastTime != NONE && time <= state.lastTime) return 0;
+        state.lastTime = time;
+        steps.evaluate(features, state.matched);
+
+        int matches = 0;
+        for (int p = 0; p < names.size(); p++) {
+            int first = patternStart[p];
+            int last = patternStart[p + 1] - 1;
+            // 뒤 단계부터 처리해 한 봉이 같은 실행을 두 단계 진행시키지 않도록 함
+            for (int s = last; s >= first; s--) {
+                if (state.matched[s] <= 0) continue;
+                long start;
+                if (s == first) {
+                    start = time;
+                } else {
+                    long previous = state.reachedAt[s - 1];
+                    if (previous == NONE || previous >= time || time - previous > withinMs[s]) continue;
+                    start = state.startedAt[s - 1];
+                }
+                if (time - start > windowMs[p]) continue;
+
+                if (s == last) {
+                    matches++;
+                    listener.onMatch(names.get(p), start, time, features);
+                    Arrays.fill(state.reachedAt, first, last + 1, NONE);
+                    break;
+                }
+                state.reachedAt[s] = time;
+                state.startedAt[s] = start;
+            }
+        }
+        return matches;
+    }
+}
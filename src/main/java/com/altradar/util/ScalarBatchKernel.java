@@ -0,0 +1,96 @@
+package com.altradar.util;
+
+/**
+ * 마켓 하나씩 계산하는 스칼라 커널.
+ * Vector API 모듈이 없을 때 기본 구현이며, SIMD 커널도 레인을 채우지 못하는 마켓(짧은 이력, 꼬리 구간)에 사용합니다.
+ */
+class ScalarBatchKernel implements BatchKernel {
+
+    @Override
+    public void compute(MarketBatch batch, int from, int to) {
+        for (int m = from; m < to; m++) {
+            computeMarket(batch, m);
+        }
+    }
+
+    @Override
+    public int lanes() {
+        return 1;
+    }
+
+    static void computeMarket(MarketBatch batch, int m) {
+        final double kFast = 2.0 / (MACD_FAST + 1);
+        final double kSlow = 2.0 / (MACD_SLOW + 1);
+        final double kSignal = 2.0 / (MACD_SIGNAL + 1);
+        double[] closes = batch.closes;
+        double[] volumes = batch.volumes;
+        int stride = batch.stride;
+        int n = batch.lengths[m];
+
+        double sumShort = 0, sumMid = 0, sumLong = 0, volumeSum = 0;
+        double emaFast = 0, emaSlow = 0, signal = Double.NaN;
+        double avgGain = 0, avgLoss = 0;
+        double prev = 0;
+        for (int t = 0; t < n; t++) {
+            double c = closes[t * stride + m];
+            if (t == 0) {
+                emaFast = emaSlow = c;
+            } else {
+                emaFast += (c - emaFast) * kFast;
+                emaSlow += (c - emaSlow) * kSlow;
+
+                // Wilder RSI: 처음 RSI_PERIOD개 변화량의 평균으로 시작해 지수 평활
+                double diff = c - prev;
+                double gain = Math.max(diff, 0);
+                double loss = Math.max(-diff, 0);
+                if (t <= RSI_PERIOD) {
+                    avgGain += gain / RSI_PERIOD;
+                    avgLoss += loss / RSI_PERIOD;
+                } else {
+                    avgGain = (avgGain * (RSI_PERIOD - 1) + gain) / RSI_PERIOD;
+                    avgLoss = (avgLoss * (RSI_PERIOD - 1) + loss) / RSI_PERIOD;
+                }
+            }
+            if (t >= MACD_SLOW - 1) {
+                double macd = emaFast - emaSlow;
+                signal = t == MACD_SLOW - 1 ? macd : signal + (macd - signal) * kSignal;
+            }
+            if (t >= n - MA_SHORT) sumShort += c;
+            if (t >= n - MA_MID) sumMid += c;
+            if (t >= n - MA_LONG) sumLong += c;
+            if (t < n - 1) volumeSum += volumes[t * stride + m];
+            prev = c;
+        }
+
+        batch.ma5[m] = n >= MA_SHORT ? sumShort / MA_SHORT : Double.NaN;
+        batch.ma20[m] = n >= MA_MID ? sumMid / MA_MID : Double.NaN;
+        batch.ma60[m] = n >= MA_LONG ? sumLong / MA_LONG : Double.NaN;
+
+        double rsi = Double.NaN;
+        if (n > RSI_PERIOD) {
+            rsi = avgLoss == 0 ? 100 : 100 - (100 / (1 + avgGain / avgLoss));
+        }
+        batch.rsi[m] = rsi;
+
+        if (n >= BB_PERIOD) {
+            double ma = sumMid / BB_PERIOD;
+            double sumSq = 0;
+            for (int t = n - BB_PERIOD; t < n; t++) {
+                double d = closes[t * stride + m] - ma;
+                sumSq += d * d;
+            }
+            double stddev = Math.sqrt(sumSq / BB_PERIOD);
+            batch.bbUpper[m] = ma + BB_K * stddev;
+            batch.bbMiddle[m] = ma;
+            batch.bbLower[m] = ma - BB_K * stddev;
+        } else {
+            batch.bbUpper[m] = batch.bbMiddle[m] = batch.bbLower[m] = Double.NaN;
+        }
+
+        boolean macdReady = n >= MACD_SLOW + MACD_SIGNAL;
+        batch.macdLine[m] = macdReady ? emaFast - emaSlow : Double.NaN;
+        batch.signalLine[m] = macdReady ? signal : Double.NaN;
+
+        batch.volumeSpike[m] = n >= 2 && volumes[(n - 1) * stride + m] > volumeSum / (n - 1) * VOLUME_SPIKE;
+    }
+}
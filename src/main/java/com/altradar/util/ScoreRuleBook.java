@@ -0,0 +1,309 @@
+package com.altradar.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pump Score 규칙 집합을 컴파일한 평가기 (불변).
+ *
+ * 규칙은 "조건 → 점수" 형태이며 조건은 작은 DSL로 씁니다.
+ *   rsi > 50 && rsi < 70
+ *   ma5 > ma20 * 1.01
+ *   volumeSpike
+ * 피연산자는 지표 이름(Feature) 또는 숫자이고, 지표에는 "* 숫자" 배율을 붙일 수 있습니다.
+ * 지표 이름만 쓰면 0이 아닌지(불리언 지표) 검사합니다. NaN과의 비교는 false입니다.
+ *
+ * 여러 규칙 집합의 조건을 하나의 표로 합쳐 같은 조건은 한 번만 계산하고(비트마스크),
+ * 집합별 점수를 한 번의 평가로 모두 채웁니다. 평가 중에는 할당이 없습니다.
+ */
+public final class ScoreRuleBook {
+
+    /**
+     * 규칙 조건에서 읽을 수 있는 지표. 평가 입력 배열은 ordinal 순서를 따릅니다.
+     */
+    public enum Feature {
+        MA5("ma5"),
+        MA20("ma20"),
+        MA60("ma60"),
+        RSI("rsi"),
+        BB_UPPER("bbUpper"),
+        BB_MIDDLE("bbMiddle"),
+        BB_LOWER("bbLower"),
+        MACD_LINE("macdLine"),
+        SIGNAL_LINE("signalLine"),
+        VOLUME_SPIKE("volumeSpike"),
+        CLOSE("close"),
+        // 전체 마켓 대비 가격 변화율의 백분위(0~100)와 z-score (실시간 분석에서만, 그 외에는 NaN)
+        CHANGE_1M_PERCENTILE("change1mPercentile"),
+        CHANGE_5M_PERCENTILE("change5mPercentile"),
+        CHANGE_1H_PERCENTILE("change1hPercentile"),
+        CHANGE_1M_Z("change1mZ"),
+        CHANGE_5M_Z("change5mZ"),
+        CHANGE_1H_Z("change1hZ"),
+        // 호가: 상위 5단계 잔량 불균형(-1~1), 상대 스프레드, 매수/매도 깊이 기울기 비율 (호가가 없거나 오래되면 NaN)
+        BOOK_IMBALANCE("bookImbalance"),
+        BOOK_SPREAD("bookSpread"),
+        BOOK_SLOPE_RATIO("bookSlopeRatio");
+
+        public static final int COUNT = values().length;
+
+        private final String key;
+
+        Feature(String key) {
+            this.key = key;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        static Feature of(String key) {
+            for (Feature f : values()) {
+                if (f.key.equalsIgnoreCase(key)) return f;
+            }
+            throw new IllegalArgumentException("알 수 없는 지표: " + key);
+        }
+    }
+
+    public record RuleDef(String name, String when, double score) {
+    }
+
+    private static final int MAX_CLAUSES = Long.SIZE;
+
+    private static final byte GT = 0, GE = 1, LT = 2, LE = 3, EQ = 4, NE = 5, NONZERO = 6;
+
+    // 조건 표 (중복 제거된 비교식)
+    private final int[] lhsFeature;
+    private final double[] lhsValue;   // lhsFeature < 0이면 상수, 아니면 배율
+    private final byte[] ops;
+    private final int[] rhsFeature;
+    private final double[] rhsValue;
+
+    // 규칙 (집합별로 연속 배치)
+    private final long[] ruleMasks;
+    private final double[] ruleScores;
+    private final int[] setStart;      // 집합 s의 규칙은 [setStart[s], setStart[s + 1])
+
+    private final List<String> names;
+    private final int activeIndex;
+    private final double maxScore;
+    private final Map<String, List<RuleDef>> definitions;
+
+    private ScoreRuleBook(Compiler c, List<String> names, int activeIndex, double maxScore,
+                          Map<String, List<RuleDef>> definitions) {
+        int n = c.ops.size();
+        this.lhsFeature = new int[n];
+        this.lhsValue = new double[n];
+        this.ops = new byte[n];
+        this.rhsFeature = new int[n];
+        this.rhsValue = new double[n];
+        for (int i = 0; i < n; i++) {
+            lhsFeature[i] = c.lhsFeature.get(i);
+            lhsValue[i] = c.lhsValue.get(i);
+            ops[i] = c.ops.get(i);
+            rhsFeature[i] = c.rhsFeature.get(i);
+            rhsValue[i] = c.rhsValue.get(i);
+        }
+        this.ruleMasks = c.ruleMasks.stream().mapToLong(Long::longValue).toArray();
+        this.ruleScores = c.ruleScores.stream().mapToDouble(Double::doubleValue).toArray();
+        this.setStart = c.setStart.stream().mapToInt(Integer::intValue).toArray();
+        this.names = List.copyOf(names);
+        this.activeIndex = activeIndex;
+        this.maxScore = maxScore;
+        this.definitions = definitions;
+    }
+
+    /**
+     * 규칙 집합들을 컴파일합니다. 문법 오류나 알 수 없는 지표가 있으면 IllegalArgumentException.
+     */
+    public static ScoreRuleBook compile(Map<String, List<RuleDef>> ruleSets, String active, double maxScore) {
+        if (ruleSets == null || ruleSets.isEmpty()) {
+            throw new IllegalArgumentException("규칙 집합이 없습니다");
+        }
+        Compiler compiler = new Compiler();
+        List<String> names = new ArrayList<>();
+        Map<String, List<RuleDef>> definitions = new LinkedHashMap<>();
+        for (Map.Entry<String, List<RuleDef>> set : ruleSets.entrySet()) {
+            names.add(set.getKey());
+            definitions.put(set.getKey(), List.copyOf(set.getValue()));
+            compiler.setStart.add(compiler.ruleMasks.size());
+            for (RuleDef rule : set.getValue()) {
+                try {
+                    compiler.ruleMasks.add(compiler.condition(rule.when()));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException(
+                            "규칙 오류 [" + set.getKey() + "/" + rule.name() + "] " + rule.when() + ": " + e.getMessage(), e);
+                }
+                compiler.ruleScores.add(rule.score());
+            }
+        }
+        compiler.setStart.add(compiler.ruleMasks.size());
+
+        int activeIndex = active == null || active.isBlank() ? 0 : names.indexOf(active);
+        if (activeIndex < 0) {
+            throw new IllegalArgumentException("활성 규칙 집합이 없습니다: " + active);
+        }
+        return new ScoreRuleBook(compiler, names, activeIndex, maxScore, definitions);
+    }
+
+    public List<String> names() {
+        return names;
+    }
+
+    public int activeIndex() {
+        return activeIndex;
+    }
+
+    public String activeName() {
+        return names.get(activeIndex);
+    }
+
+    public int clauseCount() {
+        return ops.length;
+    }
+
+    public Map<String, List<RuleDef>> definitions() {
+        return definitions;
+    }
+
+    /**
+     * 모든 규칙 집합의 점수를 한 번에 계산합니다.
+     * @param features Feature ordinal 순서의 지표 값
+     * @param scores   집합별 점수 (names() 순서, 길이 ≥ 집합 수)
+     */
+    public void evaluate(double[] features, double[] scores) {
+        long bits = 0;
+        for (int c = 0; c < ops.length; c++) {
+            if (test(c, features)) bits |= 1L << c;
+        }
+        for (int s = 0; s < names.size(); s++) {
+            double sum = 0;
+            for (int r = setStart[s]; r < setStart[s + 1]; r++) {
+                if ((bits & ruleMasks[r]) == ruleMasks[r]) sum += ruleScores[r];
+            }
+            scores[s] = Math.min(sum, maxScore);
+        }
+    }
+
+    private boolean test(int c, double[] features) {
+        double lhs = operand(lhsFeature[c], lhsValue[c], features);
+        if (ops[c] == NONZERO) return lhs != 0 && !Double.isNaN(lhs);
+        double rhs = operand(rhsFeature[c], rhsValue[c], features);
+        return switch (ops[c]) {
+            case GT -> lhs > rhs;
+            case GE -> lhs >= rhs;
+            case LT -> lhs < rhs;
+            case LE -> lhs <= rhs;
+            case EQ -> lhs == rhs;
+            default -> lhs != rhs && !Double.isNaN(lhs) && !Double.isNaN(rhs);
+        };
+    }
+
+    private static double operand(int feature, double value, double[] features) {
+        return feature < 0 ? value : features[feature] * value;
+    }
+
+    // 조건식 파서 + 중복 제거된 조건 표
+    private static final class Compiler {
+        final List<Integer> lhsFeature = new ArrayList<>();
+        final List<Double> lhsValue = new ArrayList<>();
+        final List<Byte> ops = new ArrayList<>();
+        final List<Integer> rhsFeature = new ArrayList<>();
+        final List<Double> rhsValue = new ArrayList<>();
+        final Map<String, Integer> clauseIndex = new LinkedHashMap<>();
+        final List<Long> ruleMasks = new ArrayList<>();
+        final List<Double> ruleScores = new ArrayList<>();
+        final List<Integer> setStart = new ArrayList<>();
+
+        long condition(String when) {
+            if (when == null || when.isBlank()) {
+                throw new IllegalArgumentException("조건이 비어 있습니다");
+            }
+            long mask = 0;
+            for (String clause : when.split("&&")) {
+                mask |= 1L << clause(clause.trim());
+            }
+            return mask;
+        }
+
+        int clause(String text) {
+            String[] found = splitOperator(text);
+            int lf;
+            double lv;
+            byte op;
+            int rf = -1;
+            double rv = 0;
+            if (found == null) {
+                double[] operand = operand(text);
+                lf = (int) operand[0];
+                lv = operand[1];
+                if (lf < 0) throw new IllegalArgumentException("비교 연산자가 없습니다: " + text);
+                op = NONZERO;
+            } else {
+                double[] left = operand(found[0]);
+                double[] right = operand(found[2]);
+                lf = (int) left[0];
+                lv = left[1];
+                rf = (int) right[0];
+                rv = right[1];
+                op = switch (found[1]) {
+                    case ">" -> GT;
+                    case ">=" -> GE;
+                    case "<" -> LT;
+                    case "<=" -> LE;
+                    case "==" -> EQ;
+                    default -> NE;
+                };
+            }
+
+            String key = lf + ":" + lv + ":" + op + ":" + rf + ":" + rv;
+            Integer existing = clauseIndex.get(key);
+            if (existing != null) return existing;
+            int index = ops.size();
+            if (index >= MAX_CLAUSES) {
+                throw new IllegalArgumentException("서로 다른 조건은 최대 " + MAX_CLAUSES + "개까지 지원합니다");
+            }
+            lhsFeature.add(lf);
+            lhsValue.add(lv);
+            ops.add(op);
+            rhsFeature.add(rf);
+            rhsValue.add(rv);
+            clauseIndex.put(key, index);
+            return index;
+        }
+
+        // {왼쪽, 연산자, 오른쪽}, 연산자가 없으면 null
+        private static String[] splitOperator(String text) {
+            for (String op : new String[]{">=", "<=", "==", "!=", ">", "<"}) {
+                int at = text.indexOf(op);
+                if (at > 0) {
+                    return new String[]{text.substring(0, at).trim(), op, text.substring(at + op.length()).trim()};
+                }
+            }
+            return null;
+        }
+
+        // {feature ordinal 또는 -1, 배율 또는 상수}
+        private static double[] operand(String text) {
+            if (text.isEmpty()) throw new IllegalArgumentException("피연산자가 비어 있습니다");
+            String[] parts = text.split("\\*");
+            if (parts.length > 2) throw new IllegalArgumentException("배율은 하나만 쓸 수 있습니다: " + text);
+            String base = parts[0].trim();
+            double factor = parts.length == 2 ? number(parts[1].trim()) : 1.0;
+            if (Character.isLetter(base.charAt(0))) {
+                return new double[]{Feature.of(base).ordinal(), factor};
+            }
+            return new double[]{-1, number(base) * factor};
+        }
+
+        private static double number(String text) {
+            try {
+                return Double.parseDouble(text);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("숫자가 아닙니다: " + text);
+            }
+        }
+    }
+}
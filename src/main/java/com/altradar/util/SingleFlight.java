@@ -0,0 +1,99 @@
+package com.altradar.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 같은 키에 대한 동시 요청을 하나의 실행으로 합칩니다 (single-flight).
+ * 진행 중인 호출이 있거나 freshness 시간 안에 성공한 결과가 있으면 새로 실행하지 않고 그 결과를 공유합니다.
+ * 실패한 결과는 공유된 대기자에게만 전달되고 캐시되지 않습니다.
+ * loader가 Error를 던져도 진행 중인 호출을 실패로 끝낸 뒤 다시 던지므로 같은 키의 대기자가 영원히 기다리지 않습니다.
+ */
+public class SingleFlight<K, V> {
+
+    private static final class Call<V> {
+        final CompletableFuture<V> future = new CompletableFuture<>();
+        volatile long completedAt = -1;
+
+        boolean reusable(long now, long freshnessMillis) {
+            if (!future.isDone()) return true;
+            return !future.isCompletedExceptionally() && now - completedAt <= freshnessMillis;
+        }
+    }
+
+    private final long freshnessMillis;
+    private final Map<K, Call<V>> calls = new ConcurrentHashMap<>();
+    private final AtomicLong executed = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    public SingleFlight(long freshnessMillis) {
+        this.freshnessMillis = freshnessMillis;
+    }
+
+    /**
+     * 비동기 로더용. 먼저 도착한 호출만 loader를 실행하고, 나머지는 같은 future를 받습니다.
+     */
+    public CompletableFuture<V> executeAsync(K key, Supplier<CompletableFuture<V>> loader) {
+        while (true) {
+            Call<V> existing = calls.get(key);
+            if (existing != null && existing.reusable(System.currentTimeMillis(), freshnessMillis)) {
+                coalesced.incrementAndGet();
+                return existing.future;
+            }
+
+            Call<V> call = new Call<>();
+            boolean won = existing == null
+                    ? calls.putIfAbsent(key, call) == null
+                    : calls.replace(key, existing, call);
+            if (!won) continue;
+
+            executed.incrementAndGet();
+            CompletableFuture<V> source;
+            try {
+                source = loader.get();
+            } catch (RuntimeException e) {
+                source = CompletableFuture.failedFuture(e);
+            } catch (Throwable t) {
+                calls.remove(key, call);
+                call.future.completeExceptionally(t);
+                throw t;
+            }
+            source.whenComplete((value, error) -> {
+                if (error != null) {
+                    calls.remove(key, call);
+                    call.future.completeExceptionally(error);
+                } else {
+                    call.completedAt = System.currentTimeMillis();
+                    call.future.complete(value);
+                }
+            });
+            return call.future;
+        }
+    }
+
+    /**
+     * 블로킹 로더용. 먼저 도착한 스레드가 직접 실행하고, 나머지 스레드는 그 결과를 기다립니다.
+     */
+    public V execute(K key, Supplier<V> loader) {
+        try {
+            return executeAsync(key, () -> CompletableFuture.completedFuture(loader.get())).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            if (e.getCause() instanceof Error cause) throw cause;
+            throw e;
+        }
+    }
+
+    public Map<String, Object> metrics() {
+        Map<String, Object> res = new LinkedHashMap<>();
+        res.put("executed", executed.get());
+        res.put("coalesced", coalesced.get());
+        res.put("trackedKeys", calls.size());
+        return res;
+    }
+}
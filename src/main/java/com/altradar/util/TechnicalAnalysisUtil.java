@@ -1,87 +1,124 @@
-
 package com.altradar.util;
 
-import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * 윈도우 단위 지표 계산.
+ * DoubleSeries 오버로드가 기본 구현이며(박싱/할당 없음), List<Double> 메서드는 호환용 어댑터입니다.
+ */
 public class TechnicalAnalysisUtil {
 
     // 이동평균 계산
-    public static double movingAverage(List<Double> prices, int period) {
-        if (prices.size() < period) return Double.NaN;
+    public static double movingAverage(DoubleSeries prices, int period) {
+        int n = prices.length();
+        if (n < period) return Double.NaN;
         double sum = 0;
-        for (int i = prices.size() - period; i < prices.size(); i++) {
+        for (int i = n - period; i < n; i++) {
             sum += prices.get(i);
         }
         return sum / period;
     }
 
-    // RSI 계산
-    public static double rsi(List<Double> prices, int period) {
-        if (prices.size() < period + 1) return Double.NaN;
-        double gain = 0, loss = 0;
-        for (int i = prices.size() - period; i < prices.size(); i++) {
+    // Wilder RSI: 처음 period개 변화량의 단순 평균으로 시작해 이후 (avg * (period - 1) + x) / period로 평활 (IndicatorEngine과 같음)
+    public static double rsi(DoubleSeries prices, int period) {
+        int n = prices.length();
+        if (n < period + 1) return Double.NaN;
+        double avgGain = 0, avgLoss = 0;
+        for (int i = 1; i < n; i++) {
             double diff = prices.get(i) - prices.get(i - 1);
-            if (diff > 0) gain += diff;
-            else loss -= diff;
+            double gain = Math.max(diff, 0);
+            double loss = Math.max(-diff, 0);
+            if (i <= period) {
+                avgGain += gain / period;
+                avgLoss += loss / period;
+            } else {
+                avgGain = (avgGain * (period - 1) + gain) / period;
+                avgLoss = (avgLoss * (period - 1) + loss) / period;
+            }
         }
-        if (loss == 0) return 100;
-        double rs = gain / loss;
-        return 100 - (100 / (1 + rs));
+        if (avgLoss == 0) return 100;
+        return 100 - (100 / (1 + avgGain / avgLoss));
     }
 
-    // 볼린저 밴드 계산
-    public static double[] bollingerBands(List<Double> prices, int period, double k) {
-        if (prices.size() < period) return new double[]{Double.NaN, Double.NaN, Double.NaN};
+    // 볼린저 밴드 계산, out = {upper, middle, lower}
+    public static double[] bollingerBands(DoubleSeries prices, int period, double k, double[] out) {
+        int n = prices.length();
+        if (n < period) {
+            out[0] = out[1] = out[2] = Double.NaN;
+            return out;
+        }
         double ma = movingAverage(prices, period);
         double sumSq = 0;
-        for (int i = prices.size() - period; i < prices.size(); i++) {
-            sumSq += Math.pow(prices.get(i) - ma, 2);
+        for (int i = n - period; i < n; i++) {
+            double d = prices.get(i) - ma;
+            sumSq += d * d;
         }
         double stddev = Math.sqrt(sumSq / period);
-        return new double[]{ma + k * stddev, ma, ma - k * stddev};
-    }
-
-    // MACD 계산
-    public static double[] macd(List<Double> prices, int shortPeriod, int longPeriod, int signalPeriod) {
-        if (prices.size() < longPeriod + signalPeriod) return new double[]{Double.NaN, Double.NaN};
-        double emaShort = ema(prices, shortPeriod);
-        double emaLong = ema(prices, longPeriod);
-        double macdLine = emaShort - emaLong;
-        double signalLine = emaFromMacd(prices, shortPeriod, longPeriod, signalPeriod);
-        return new double[]{macdLine, signalLine};
+        out[0] = ma + k * stddev;
+        out[1] = ma;
+        out[2] = ma - k * stddev;
+        return out;
     }
 
-    private static double ema(List<Double> prices, int period) {
-        double k = 2.0 / (period + 1);
-        double ema = prices.get(0);
-        for (int i = 1; i < prices.size(); i++) {
-            ema = prices.get(i) * k + ema * (1 - k);
+    // MACD 계산, out = {macdLine, signalLine}
+    public static double[] macd(DoubleSeries prices, int shortPeriod, int longPeriod, int signalPeriod, double[] out) {
+        if (prices.length() < longPeriod + signalPeriod) {
+            out[0] = out[1] = Double.NaN;
+            return out;
         }
-        return ema;
-    }
-
-    private static double emaFromMacd(List<Double> prices, int shortPeriod, int longPeriod, int signalPeriod) {
-        List<Double> macdValues = new ArrayList<>();
-        for (int i = 0; i < prices.size(); i++) {
+        // 단기/장기 EMA를 한 번의 순회로 갱신하며 MACD 값의 EMA(시그널)를 계산 (O(n))
+        double kShort = 2.0 / (shortPeriod + 1);
+        double kLong = 2.0 / (longPeriod + 1);
+        double kSignal = 2.0 / (signalPeriod + 1);
+        double emaShort = prices.get(0);
+        double emaLong = prices.get(0);
+        double signal = Double.NaN;
+        for (int i = 0; i < prices.length(); i++) {
+            if (i > 0) {
+                double price = prices.get(i);
+                emaShort = price * kShort + emaShort * (1 - kShort);
+                emaLong = price * kLong + emaLong * (1 - kLong);
+            }
             if (i >= longPeriod - 1) {
-                double emaShort = ema(prices.subList(0, i + 1), shortPeriod);
-                double emaLong = ema(prices.subList(0, i + 1), longPeriod);
-                macdValues.add(emaShort - emaLong);
+                double macd = emaShort - emaLong;
+                signal = i == longPeriod - 1 ? macd : macd * kSignal + signal * (1 - kSignal);
             }
         }
-        return ema(macdValues, signalPeriod);
+        out[0] = emaShort - emaLong;
+        out[1] = signal;
+        return out;
     }
 
     // 거래량 급등 감지
-    public static boolean isVolumeSpike(List<Double> volumes, double thresholdMultiplier) {
-        if (volumes.size() < 2) return false;
-        double latest = volumes.get(volumes.size() - 1);
+    public static boolean isVolumeSpike(DoubleSeries volumes, double thresholdMultiplier) {
+        int n = volumes.length();
+        if (n < 2) return false;
+        double latest = volumes.get(n - 1);
         double avg = 0;
-        for (int i = 0; i < volumes.size() - 1; i++) {
+        for (int i = 0; i < n - 1; i++) {
             avg += volumes.get(i);
         }
-        avg /= (volumes.size() - 1);
+        avg /= (n - 1);
         return latest > avg * thresholdMultiplier;
     }
+
+    public static double movingAverage(List<Double> prices, int period) {
+        return movingAverage(DoubleSeries.copyOf(prices), period);
+    }
+
+    public static double rsi(List<Double> prices, int period) {
+        return rsi(DoubleSeries.copyOf(prices), period);
+    }
+
+    public static double[] bollingerBands(List<Double> prices, int period, double k) {
+        return bollingerBands(DoubleSeries.copyOf(prices), period, k, new double[3]);
+    }
+
+    public static double[] macd(List<Double> prices, int shortPeriod, int longPeriod, int signalPeriod) {
+        return macd(DoubleSeries.copyOf(prices), shortPeriod, longPeriod, signalPeriod, new double[2]);
+    }
+
+    public static boolean isVolumeSpike(List<Double> volumes, double thresholdMultiplier) {
+        return isVolumeSpike(DoubleSeries.copyOf(volumes), thresholdMultiplier);
+    }
 }
@@ -0,0 +1,95 @@
+package com.altradar.util;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 닫힌 1분봉을 받아 상위 타임프레임(5분/15분/60분/일) OHLCV 봉을 직접 만듭니다.
+ * 1분봉이 닫힐 때마다 해당 구간의 봉에 누적하므로 추가 API 호출이 필요 없습니다.
+ * 이미 반영한 1분봉(시작 시각이 마지막으로 반영한 봉 이전)은 다시 더하지 않습니다.
+ */
+public class TimeframeAggregator {
+
+    public enum Timeframe {
+        M5("5m", 5),
+        M15("15m", 15),
+        H1("60m", 60),
+        D1("1d", 1440);
+
+        private final String label;
+        private final long millis;
+
+        Timeframe(String label, int minutes) {
+            this.label = label;
+            this.millis = minutes * 60_000L;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        // "5m", "15m", "60m", "1d" → 타임프레임, 없으면 null
+        public static Timeframe fromLabel(String label) {
+            for (Timeframe timeframe : values()) {
+                if (timeframe.label.equalsIgnoreCase(label)) return timeframe;
+            }
+            return null;
+        }
+
+        // 봉 시작 시각 (UTC 기준 정렬, 일봉은 업비트와 같이 00:00 UTC = 09:00 KST)
+        public long bucketStart(long epochMillis) {
+            return epochMillis - Math.floorMod(epochMillis, millis);
+        }
+    }
+
+    private final Map<Timeframe, CandleRingBuffer> bars = new EnumMap<>(Timeframe.class);
+    private final Map<Timeframe, IndicatorEngine> indicators = new EnumMap<>(Timeframe.class);
+    // 마지막으로 반영한 1분봉 시작 시각
+    private long lastFolded = Long.MIN_VALUE;
+
+    public TimeframeAggregator(int barsPerTimeframe) {
+        for (Timeframe timeframe : Timeframe.values()) {
+            bars.put(timeframe, new CandleRingBuffer(barsPerTimeframe));
+            indicators.put(timeframe, IndicatorEngine.defaults(Math.max(1, barsPerTimeframe - 1)));
+        }
+    }
+
+    /**
+     * 닫힌 1분봉 하나를 모든 타임프레임에 반영합니다.
+     */
+    public void onClosedCandle(long startTime, double open, double high, double low, double close, double volume) {
+        if (startTime <= lastFolded) return;
+        lastFolded = startTime;
+        for (Map.Entry<Timeframe, CandleRingBuffer> entry : bars.entrySet()) {
+            CandleRingBuffer buffer = entry.getValue();
+            IndicatorEngine engine = indicators.get(entry.getKey());
+            long bucket = entry.getKey().bucketStart(startTime);
+            long last = buffer.lastStartTime();
+            if (bucket == last) {
+                int i = buffer.size() - 1;
+                double barVolume = buffer.volume(i) + volume;
+                buffer.append(bucket, buffer.open(i), Math.max(buffer.high(i), high),
+                        Math.min(buffer.low(i), low), close, barVolume);
+                engine.amendLast(close, barVolume);
+            } else if (bucket > last) {
+                buffer.append(bucket, open, high, low, close, volume);
+                engine.append(close, volume);
+            }
+        }
+    }
+
+    // 1분봉 버퍼를 다시 채울 때 함께 비움 (공백을 건너 이어 붙이지 않음)
+    public void reset() {
+        bars.values().forEach(CandleRingBuffer::clear);
+        indicators.values().forEach(IndicatorEngine::reset);
+        lastFolded = Long.MIN_VALUE;
+    }
+
+    public CandleRingBuffer bars(Timeframe timeframe) {
+        return bars.get(timeframe);
+    }
+
+    public IndicatorEngine indicators(Timeframe timeframe) {
+        return indicators.get(timeframe);
+    }
+}
@@ -0,0 +1,97 @@
+package com.altradar.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * GCRA(Generic Cell Rate Algorithm) 방식의 토큰 버킷.
+ * 잠금 없이 CAS 한 번으로 다음 허용 시각을 예약하며, burst 만큼은 대기 없이 통과시킵니다.
+ */
+public class TokenBucket {
+
+    // 다음 요청이 "이론상" 도착해야 하는 시각 (System.nanoTime 기준)
+    private final AtomicLong theoreticalArrival;
+
+    private volatile long emissionIntervalNanos;
+    private volatile long burstToleranceNanos;
+    private final int burst;
+
+    public TokenBucket(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("permitsPerSecond > 0, burst >= 1 이어야 합니다");
+        }
+        this.burst = burst;
+        this.theoreticalArrival = new AtomicLong(System.nanoTime());
+        setRate(permitsPerSecond);
+    }
+
+    // 초당 허용량 변경 (burst 크기는 유지)
+    public void setRate(double permitsPerSecond) {
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.emissionIntervalNanos = interval;
+        this.burstToleranceNanos = interval * (burst - 1);
+    }
+
+    public double getRate() {
+        return (double) TimeUnit.SECONDS.toNanos(1) / emissionIntervalNanos;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    // 대기 없이 바로 사용할 수 있으면 토큰을 소비하고 true
+    public boolean tryAcquire() {
+        while (true) {
+            long now = System.nanoTime();
+            long tat = theoreticalArrival.get();
+            if (tat - burstToleranceNanos - now > 0) {
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(tat, Math.max(tat, now) + emissionIntervalNanos)) {
+                return true;
+            }
+        }
+    }
+
+    // 토큰을 예약하고 사용 가능 시각까지 남은 대기 시간(ns)을 반환
+    public long reserve() {
+        while (true) {
+            long now = System.nanoTime();
+            long tat = theoreticalArrival.get();
+            if (theoreticalArrival.compareAndSet(tat, Math.max(tat, now) + emissionIntervalNanos)) {
+                return Math.max(0, tat - burstToleranceNanos - now);
+            }
+        }
+    }
+
+    // 블로킹 획득: 예약 후 호출 스레드에서 대기 (잠금을 잡지 않음)
+    public void acquire() {
+        long waitNanos = reserve();
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // 비동기 획득: 예약 시각에 완료되는 future 반환 (스레드를 점유하지 않음)
+    public CompletableFuture<Void> acquireAsync() {
+        long waitNanos = reserve();
+        if (waitNanos == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.runAsync(() -> { },
+                CompletableFuture.delayedExecutor(waitNanos, TimeUnit.NANOSECONDS));
+    }
+
+    // 현재 즉시 사용 가능한 토큰 수 (모니터링용 근사치)
+    public double availablePermits() {
+        long now = System.nanoTime();
+        long backlog = Math.max(0, theoreticalArrival.get() - now);
+        return Math.max(0, burst - (double) backlog / emissionIntervalNanos);
+    }
+}
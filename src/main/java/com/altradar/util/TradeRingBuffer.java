@@ -0,0 +1,224 @@
+package com.altradar.util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 체결 틱을 담는 단일 생산자/다중 소비자 링 버퍼 (Disruptor 방식, 락 없음).
+ *
+ * 슬롯은 미리 할당한 primitive 배열이고, 생산자는 슬롯을 채운 뒤 cursor를 release로 공개합니다.
+ * 소비자는 각자 시퀀스를 가지며 공개된 cursor까지 한 번에(배치) 읽은 뒤 자기 시퀀스를 올립니다.
+ * 생산자는 가장 느린 소비자보다 capacity 이상 앞서지 않도록 기다리므로 틱을 덮어쓰거나 버리지 않습니다.
+ * close() 이후에는 기다리던 생산자를 포함해 publish가 틱을 버리고 false를 반환합니다.
+ * publish는 한 번에 한 스레드만 호출해야 합니다.
+ */
+public final class TradeRingBuffer {
+
+    public static final byte BUY = 1;
+    public static final byte SELL = -1;
+
+    private static final VarHandle VALUE;
+
+    static {
+        try {
+            VALUE = MethodHandles.lookup().findVarHandle(Value.class, "value", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // 시퀀스 앞뒤를 채워 생산자 cursor와 소비자 시퀀스가 같은 캐시 라인에 놓이지 않도록 함
+    static class LhsPadding {
+        long p1, p2, p3, p4, p5, p6, p7;
+    }
+
+    static class Value extends LhsPadding {
+        volatile long value;
+    }
+
+    static final class Sequence extends Value {
+        long p9, p10, p11, p12, p13, p14, p15;
+
+        Sequence(long initial) {
+            value = initial;
+        }
+
+        long getAcquire() {
+            return (long) VALUE.getAcquire(this);
+        }
+
+        void setRelease(long v) {
+            VALUE.setRelease(this, v);
+        }
+    }
+
+    /**
+     * 소비자 콜백. slot의 값은 콜백 안에서만 유효합니다.
+     */
+    @FunctionalInterface
+    public interface Handler {
+        void onTick(TradeRingBuffer ring, int slot, boolean endOfBatch);
+    }
+
+    private final int capacity;
+    private final int mask;
+    private final int[] markets;
+    private final double[] prices;
+    private final double[] volumes;
+    private final long[] tradeTimes;
+    private final byte[] sides;
+    private final long[] receivedNanos;
+
+    private final Sequence cursor = new Sequence(-1);
+    private volatile Sequence[] gating = new Sequence[0];
+
+    // 생산자 전용
+    private long next = -1;
+    private long cachedGating = -1;
+    private volatile long producerWaits;
+    private volatile boolean closed;
+
+    /**
+     * @param capacity 슬롯 수 (2의 거듭제곱으로 올림)
+     */
+    public TradeRingBuffer(int capacity) {
+        this.capacity = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.mask = this.capacity - 1;
+        this.markets = new int[this.capacity];
+        this.prices = new double[this.capacity];
+        this.volumes = new double[this.capacity];
+        this.tradeTimes = new long[this.capacity];
+        this.sides = new byte[this.capacity];
+        this.receivedNanos = new long[this.capacity];
+    }
+
+    /**
+     * 소비자를 등록합니다. 등록 이후 공개되는 틱부터 읽으며, 생산 시작 전에 모두 등록해야 합니다.
+     */
+    public synchronized Consumer newConsumer() {
+        Sequence sequence = new Sequence(cursor.getAcquire());
+        Sequence[] current = gating;
+        Sequence[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = sequence;
+        gating = updated;
+        return new Consumer(sequence);
+    }
+
+    /**
+     * 틱 하나를 공개합니다. 링이 가득 차면 가장 느린 소비자가 따라올 때까지 기다립니다.
+     *
+     * @param receivedNanos 메시지를 받은 System.nanoTime() (지연 측정용)
+     * @return 링이 닫혀 틱을 버렸으면 false
+     */
+    public boolean publish(int market, double price, double volume, long tradeTime, byte side,
+                           long receivedNanos) {
+        if (closed) return false;
+        long sequence = next + 1;
+        long wrap = sequence - capacity;
+        if (wrap > cachedGating) {
+            long min;
+            while (wrap > (min = minimumGating())) {
+                // 소비자가 멈췄으면 더 기다리지 않음
+                if (closed) return false;
+                producerWaits++;
+                LockSupport.parkNanos(1_000);
+            }
+            cachedGating = min;
+        }
+        int slot = (int) sequence & mask;
+        markets[slot] = market;
+        prices[slot] = price;
+        volumes[slot] = volume;
+        tradeTimes[slot] = tradeTime;
+        sides[slot] = side;
+        this.receivedNanos[slot] = receivedNanos;
+        next = sequence;
+        cursor.setRelease(sequence);
+        return true;
+    }
+
+    /**
+     * 링을 닫습니다. 이후 publish는 (대기 중이던 호출도) 틱을 버리고 false를 반환하며, 소비자는 남은 틱을 계속 읽을 수 있습니다.
+     */
+    public void close() {
+        closed = true;
+    }
+
+    private long minimumGating() {
+        long min = next;
+        for (Sequence sequence : gating) {
+            min = Math.min(min, sequence.getAcquire());
+        }
+        return min;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    // 공개된 마지막 시퀀스 (-1이면 없음)
+    public long cursor() {
+        return cursor.getAcquire();
+    }
+
+    public long producerWaits() {
+        return producerWaits;
+    }
+
+    public int market(int slot) {
+        return markets[slot];
+    }
+
+    public double price(int slot) {
+        return prices[slot];
+    }
+
+    public double volume(int slot) {
+        return volumes[slot];
+    }
+
+    public long tradeTime(int slot) {
+        return tradeTimes[slot];
+    }
+
+    public byte side(int slot) {
+        return sides[slot];
+    }
+
+    public long receivedNanos(int slot) {
+        return receivedNanos[slot];
+    }
+
+    /**
+     * 소비자 하나의 읽기 위치. poll은 한 스레드에서만 호출해야 합니다.
+     */
+    public final class Consumer {
+        private final Sequence sequence;
+
+        private Consumer(Sequence sequence) {
+            this.sequence = sequence;
+        }
+
+        /**
+         * 공개된 틱을 모두 handler로 넘긴 뒤 읽기 위치를 올립니다 (할당 없음).
+         * @return 처리한 틱 수
+         */
+        public int poll(Handler handler) {
+            long current = sequence.value;
+            long available = cursor.getAcquire();
+            if (available <= current) return 0;
+            for (long s = current + 1; s <= available; s++) {
+                handler.onTick(TradeRingBuffer.this, (int) s & mask, s == available);
+            }
+            sequence.setRelease(available);
+            return (int) (available - current);
+        }
+
+        // 아직 읽지 않은 틱 수
+        public long lag() {
+            return cursor.getAcquire() - sequence.getAcquire();
+        }
+    }
+}
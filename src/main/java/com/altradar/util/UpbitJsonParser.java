@@ -0,0 +1,184 @@
+package com.altradar.util;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+import com.altradar.model.dto.UpbitApiResponse;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * 업비트 캔들/현재가/호가 응답을 Jackson 스트리밍 파서로 읽어 primitive 컬럼에 바로 채웁니다.
+ * DOM(JSONArray)이나 박싱된 값을 만들지 않고 필요한 필드만 읽으며, 나머지는 건너뜁니다.
+ */
+public final class UpbitJsonParser {
+
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    private UpbitJsonParser() {
+    }
+
+    /**
+     * 캔들 배열 응답을 out에 채웁니다 (기존 내용은 지움).
+     */
+    public static void parseCandles(byte[] json, CandleColumns out) throws IOException {
+        out.clear();
+        try (JsonParser p = FACTORY.createParser(json)) {
+            expectArray(p);
+            while (p.nextToken() == JsonToken.START_OBJECT) {
+                int row = out.nextRow();
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = p.currentName();
+                    p.nextToken();
+                    switch (field) {
+                        case "candle_date_time_utc" ->
+                                out.startTimes[row] = parseUtcMillis(p.getTextCharacters(), p.getTextOffset());
+                        case "opening_price" -> out.opens[row] = p.getDoubleValue();
+                        case "high_price" -> out.highs[row] = p.getDoubleValue();
+                        case "low_price" -> out.lows[row] = p.getDoubleValue();
+                        case "trade_price" -> out.closes[row] = p.getDoubleValue();
+                        case "candle_acc_trade_volume" -> out.volumes[row] = p.getDoubleValue();
+                        default -> p.skipChildren();
+                    }
+                }
+                out.size++;
+            }
+        }
+    }
+
+    /**
+     * 현재가 배열 응답을 out에 채웁니다.
+     * 마켓 코드는 문자열을 만들지 않고 out에 미리 지정된 마켓과 문자 단위로 비교해 행을 찾습니다.
+     */
+    public static void parseTickers(byte[] json, UpbitApiResponse.Columns out) throws IOException {
+        out.reset();
+        try (JsonParser p = FACTORY.createParser(json)) {
+            expectArray(p);
+            while (p.nextToken() == JsonToken.START_OBJECT) {
+                int row = -1;
+                double tradePrice = Double.NaN, changeRate = Double.NaN, accTradePrice24h = Double.NaN;
+                long timestamp = 0;
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = p.currentName();
+                    p.nextToken();
+                    switch (field) {
+                        case "market" -> row = out.indexOf(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+                        case "trade_price" -> tradePrice = p.getDoubleValue();
+                        case "change_rate" -> changeRate = p.getDoubleValue();
+                        case "acc_trade_price_24h" -> accTradePrice24h = p.getDoubleValue();
+                        case "timestamp" -> timestamp = p.getLongValue();
+                        default -> p.skipChildren();
+                    }
+                }
+                if (row >= 0) {
+                    out.tradePrice[row] = tradePrice;
+                    out.changeRate[row] = changeRate;
+                    out.accTradePrice24h[row] = accTradePrice24h;
+                    out.timestamp[row] = timestamp;
+                }
+            }
+        }
+    }
+
+    /**
+     * 호가 배열 응답(/v1/orderbook)을 마켓마다 scratch에 읽어 onBook으로 넘깁니다.
+     * scratch는 다음 마켓에서 다시 덮어쓰므로 onBook 안에서 복사해야 합니다.
+     */
+    public static void parseOrderbooks(byte[] json, OrderBook scratch, Consumer<OrderBook> onBook) throws IOException {
+        try (JsonParser p = FACTORY.createParser(json)) {
+            expectArray(p);
+            while (p.nextToken() == JsonToken.START_OBJECT) {
+                readOrderbook(p, scratch);
+                if (scratch.marketLength > 0) onBook.accept(scratch);
+            }
+        }
+    }
+
+    /**
+     * 웹소켓 호가 메시지 하나를 out에 읽습니다.
+     * @return 호가 단계가 있는 메시지면 true
+     */
+    public static boolean parseOrderbook(String json, OrderBook out) throws IOException {
+        try (JsonParser p = FACTORY.createParser(json)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) return false;
+            readOrderbook(p, out);
+            return out.marketLength > 0 && out.levels > 0;
+        }
+    }
+
+    // START_OBJECT 다음부터 객체 끝까지 (REST는 market, 웹소켓은 code)
+    private static void readOrderbook(JsonParser p, OrderBook out) throws IOException {
+        out.clear();
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            JsonToken value = p.nextToken();
+            switch (field) {
+                case "market", "code" -> out.setMarket(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+                case "timestamp" -> out.timestamp = p.getLongValue();
+                case "orderbook_units" -> {
+                    if (value != JsonToken.START_ARRAY) {
+                        p.skipChildren();
+                        continue;
+                    }
+                    while (p.nextToken() == JsonToken.START_OBJECT) {
+                        int level = out.levels;
+                        if (level >= OrderBook.MAX_LEVELS) {
+                            p.skipChildren();
+                            continue;
+                        }
+                        while (p.nextToken() == JsonToken.FIELD_NAME) {
+                            String unit = p.currentName();
+                            p.nextToken();
+                            switch (unit) {
+                                case "ask_price" -> out.askPrices[level] = p.getDoubleValue();
+                                case "bid_price" -> out.bidPrices[level] = p.getDoubleValue();
+                                case "ask_size" -> out.askSizes[level] = p.getDoubleValue();
+                                case "bid_size" -> out.bidSizes[level] = p.getDoubleValue();
+                                default -> p.skipChildren();
+                            }
+                        }
+                        out.levels++;
+                    }
+                }
+                default -> p.skipChildren();
+            }
+        }
+    }
+
+    private static void expectArray(JsonParser p) throws IOException {
+        if (p.nextToken() != JsonToken.START_ARRAY) {
+            throw new IOException("업비트 응답이 배열이 아닙니다");
+        }
+    }
+
+    /**
+     * "yyyy-MM-ddTHH:mm:ss" (UTC) → epoch ms. 문자 배열에서 직접 계산해 객체를 만들지 않습니다.
+     */
+    static long parseUtcMillis(char[] c, int o) {
+        int year = digits(c, o, 4);
+        int month = digits(c, o + 5, 2);
+        int day = digits(c, o + 8, 2);
+        int hour = digits(c, o + 11, 2);
+        int minute = digits(c, o + 14, 2);
+        int second = digits(c, o + 17, 2);
+
+        // civil date → days since epoch (H. Hinnant 알고리즘)
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yoe = y - era * 400;
+        int doy = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        long days = (long) era * 146097 + doe - 719468;
+
+        return ((days * 24 + hour) * 60 + minute) * 60_000L + second * 1000L;
+    }
+
+    private static int digits(char[] c, int from, int count) {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            value = value * 10 + (c[i] - '0');
+        }
+        return value;
+    }
+}
@@ -0,0 +1,135 @@
+package com.altradar.util;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * jdk.incubator.vector 기반 SIMD 커널.
+ * 같은 시각의 여러 마켓 값이 연속으로 놓인 배치에서 마켓 축을 레인으로 묶어 계산합니다.
+ * 레인의 모든 마켓 캔들 수가 같을 때만 SIMD로 처리하고, 나머지는 스칼라 커널로 계산합니다.
+ * 이 클래스는 모듈이 있을 때만 BatchIndicatorKernel이 리플렉션으로 로드합니다.
+ */
+class VectorBatchKernel implements BatchKernel {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public int lanes() {
+        return SPECIES.length();
+    }
+
+    @Override
+    public void compute(MarketBatch batch, int from, int to) {
+        int lanes = SPECIES.length();
+        int m = from;
+        for (; m + lanes <= to; m += lanes) {
+            if (sameLength(batch, m, lanes)) {
+                computeLanes(batch, m, batch.lengths[m]);
+            } else {
+                for (int i = m; i < m + lanes; i++) ScalarBatchKernel.computeMarket(batch, i);
+            }
+        }
+        for (; m < to; m++) {
+            ScalarBatchKernel.computeMarket(batch, m);
+        }
+    }
+
+    private static boolean sameLength(MarketBatch batch, int m, int lanes) {
+        int n = batch.lengths[m];
+        for (int i = 1; i < lanes; i++) {
+            if (batch.lengths[m + i] != n) return false;
+        }
+        return true;
+    }
+
+    private static void computeLanes(MarketBatch batch, int m, int n) {
+        final double kFast = 2.0 / (MACD_FAST + 1);
+        final double kSlow = 2.0 / (MACD_SLOW + 1);
+        final double kSignal = 2.0 / (MACD_SIGNAL + 1);
+        double[] closes = batch.closes;
+        double[] volumes = batch.volumes;
+        int stride = batch.stride;
+
+        DoubleVector zero = DoubleVector.zero(SPECIES);
+        DoubleVector sumShort = zero, sumMid = zero, sumLong = zero, volumeSum = zero;
+        DoubleVector emaFast = zero, emaSlow = zero, signal = zero;
+        DoubleVector avgGain = zero, avgLoss = zero;
+        DoubleVector prev = zero;
+        for (int t = 0; t < n; t++) {
+            DoubleVector c = DoubleVector.fromArray(SPECIES, closes, t * stride + m);
+            if (t == 0) {
+                emaFast = c;
+                emaSlow = c;
+            } else {
+                emaFast = emaFast.add(c.sub(emaFast).mul(kFast));
+                emaSlow = emaSlow.add(c.sub(emaSlow).mul(kSlow));
+
+                DoubleVector diff = c.sub(prev);
+                DoubleVector gain = diff.max(0);
+                DoubleVector loss = diff.neg().max(0);
+                if (t <= RSI_PERIOD) {
+                    avgGain = avgGain.add(gain.div(RSI_PERIOD));
+                    avgLoss = avgLoss.add(loss.div(RSI_PERIOD));
+                } else {
+                    avgGain = avgGain.mul(RSI_PERIOD - 1).add(gain).div(RSI_PERIOD);
+                    avgLoss = avgLoss.mul(RSI_PERIOD - 1).add(loss).div(RSI_PERIOD);
+                }
+            }
+            if (t >= MACD_SLOW - 1) {
+                DoubleVector macd = emaFast.sub(emaSlow);
+                signal = t == MACD_SLOW - 1 ? macd : signal.add(macd.sub(signal).mul(kSignal));
+            }
+            if (t >= n - MA_SHORT) sumShort = sumShort.add(c);
+            if (t >= n - MA_MID) sumMid = sumMid.add(c);
+            if (t >= n - MA_LONG) sumLong = sumLong.add(c);
+            if (t < n - 1) volumeSum = volumeSum.add(DoubleVector.fromArray(SPECIES, volumes, t * stride + m));
+            prev = c;
+        }
+
+        DoubleVector nan = DoubleVector.broadcast(SPECIES, Double.NaN);
+        (n >= MA_SHORT ? sumShort.div(MA_SHORT) : nan).intoArray(batch.ma5, m);
+        (n >= MA_MID ? sumMid.div(MA_MID) : nan).intoArray(batch.ma20, m);
+        (n >= MA_LONG ? sumLong.div(MA_LONG) : nan).intoArray(batch.ma60, m);
+
+        DoubleVector rsi = nan;
+        if (n > RSI_PERIOD) {
+            DoubleVector hundred = DoubleVector.broadcast(SPECIES, 100);
+            rsi = hundred.sub(hundred.div(avgGain.div(avgLoss).add(1)))
+                    .blend(hundred, avgLoss.compare(VectorOperators.EQ, 0));
+        }
+        rsi.intoArray(batch.rsi, m);
+
+        if (n >= BB_PERIOD) {
+            DoubleVector ma = sumMid.div(BB_PERIOD);
+            DoubleVector sumSq = zero;
+            for (int t = n - BB_PERIOD; t < n; t++) {
+                DoubleVector d = DoubleVector.fromArray(SPECIES, closes, t * stride + m).sub(ma);
+                sumSq = d.fma(d, sumSq);
+            }
+            DoubleVector band = sumSq.div(BB_PERIOD).sqrt().mul(BB_K);
+            ma.add(band).intoArray(batch.bbUpper, m);
+            ma.intoArray(batch.bbMiddle, m);
+            ma.sub(band).intoArray(batch.bbLower, m);
+        } else {
+            nan.intoArray(batch.bbUpper, m);
+            nan.intoArray(batch.bbMiddle, m);
+            nan.intoArray(batch.bbLower, m);
+        }
+
+        DoubleVector macdLine = nan, signalLine = nan;
+        if (n >= MACD_SLOW + MACD_SIGNAL) {
+            macdLine = emaFast.sub(emaSlow);
+            signalLine = signal;
+        }
+        macdLine.intoArray(batch.macdLine, m);
+        signalLine.intoArray(batch.signalLine, m);
+
+        VectorMask<Double> spike = n >= 2
+                ? DoubleVector.fromArray(SPECIES, volumes, (n - 1) * stride + m)
+                        .compare(VectorOperators.GT, volumeSum.div(n - 1).mul(VOLUME_SPIKE))
+                : SPECIES.maskAll(false);
+        spike.intoArray(batch.volumeSpike, m);
+    }
+}
@@ -0,0 +1,247 @@
+package com.altradar.util;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * 마켓 하나의 1분봉 거래량 분포 스케치 (최근 1시간/24시간/7일).
+ * 거래량을 상대 오차 1%의 로그 버킷(DDSketch 방식)으로 세고, 7일 분량의 버킷 인덱스 링으로
+ * 구간을 벗어난 봉을 다시 빼므로 갱신은 O(1)이고 메모리는 마켓당 고정입니다 (약 48KB).
+ * 평균 대신 분위수를 기준으로 삼기 때문에 직전 급등 하나가 다음 급등을 가리지 않습니다.
+ * 닫힌 봉만 반영하며, 호출자가 동기화합니다 (MarketCandles lock).
+ */
+public class VolumeSketch {
+
+    public enum Horizon {
+        H1("1h", 60),
+        H24("24h", 1440),
+        D7("7d", 10080);
+
+        private final String label;
+        private final int minutes;
+
+        Horizon(String label, int minutes) {
+            this.label = label;
+            this.minutes = minutes;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public int getMinutes() {
+            return minutes;
+        }
+    }
+
+    private static final int FORMAT_VERSION = 1;
+    private static final long MINUTE_MS = 60_000L;
+
+    // 상대 오차 α: 버킷 대표값과 실제 값의 차이가 α 이내
+    private static final double RELATIVE_ACCURACY = 0.01;
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+
+    // 표현 범위 1e-8 ~ 1e12 (범위 밖의 값은 양 끝 버킷으로)
+    private static final int MIN_INDEX = rawIndex(1e-8);
+    private static final int MAX_INDEX = rawIndex(1e12);
+    static final int BUCKETS = MAX_INDEX - MIN_INDEX + 1;
+
+    // 링 슬롯 값: 0 = 봉 없음, 1 = 거래량 0, 2 + 버킷
+    private static final short EMPTY = 0;
+    private static final short ZERO = 1;
+    private static final int RING = Horizon.D7.minutes;
+
+    private static final Horizon[] HORIZONS = Horizon.values();
+
+    private final short[] ring = new short[RING];
+    private final int[][] counts = new int[HORIZONS.length][BUCKETS];
+    private final int[] zeroCounts = new int[HORIZONS.length];
+    private final int[] totals = new int[HORIZONS.length];
+
+    // 마지막으로 반영한 봉의 분(epoch minute)과 거래량
+    private long lastMinute = Long.MIN_VALUE;
+    private double lastVolume = Double.NaN;
+
+    /**
+     * 닫힌 1분봉 거래량 하나를 반영합니다.
+     * 마지막 봉보다 이전이거나 같은 분의 봉은 무시하며, 그 사이 빠진 분은 거래 없음(봉 없음)으로 처리합니다.
+     *
+     * @return 반영했으면 true
+     */
+    public boolean add(long startTime, double volume) {
+        long minute = Math.floorDiv(startTime, MINUTE_MS);
+        if (lastMinute != Long.MIN_VALUE && minute <= lastMinute) return false;
+
+        if (lastMinute == Long.MIN_VALUE || minute - lastMinute >= RING) {
+            clear();
+        } else {
+            expire(minute);
+            // 공백 구간의 이전 기록 제거 (7일 구간은 expire에서 이미 뺐음)
+            for (long m = lastMinute + 1; m < minute; m++) ring[slot(m)] = EMPTY;
+        }
+
+        short code = code(volume);
+        ring[slot(minute)] = code;
+        for (int h = 0; h < HORIZONS.length; h++) increment(h, code, 1);
+        lastMinute = minute;
+        lastVolume = volume;
+        return true;
+    }
+
+    // 새 봉 minute 기준으로 각 구간을 벗어나는 봉을 뺌 (경과한 분 수만큼, 분당 O(1))
+    private void expire(long minute) {
+        for (int h = 0; h < HORIZONS.length; h++) {
+            int window = HORIZONS[h].minutes;
+            long from = lastMinute - window + 1;
+            // lastMinute 이후는 아직 기록이 없는 공백
+            long to = Math.min(minute - window, lastMinute);
+            for (long m = from; m <= to; m++) {
+                short code = ring[slot(m)];
+                if (code != EMPTY) increment(h, code, -1);
+            }
+        }
+    }
+
+    private void increment(int h, short code, int delta) {
+        if (code == ZERO) {
+            zeroCounts[h] += delta;
+        } else {
+            counts[h][code - 2] += delta;
+        }
+        totals[h] += delta;
+    }
+
+    public void clear() {
+        Arrays.fill(ring, EMPTY);
+        for (int h = 0; h < HORIZONS.length; h++) {
+            Arrays.fill(counts[h], 0);
+            zeroCounts[h] = 0;
+            totals[h] = 0;
+        }
+        lastMinute = Long.MIN_VALUE;
+        lastVolume = Double.NaN;
+    }
+
+    public int count(Horizon horizon) {
+        return totals[horizon.ordinal()];
+    }
+
+    public boolean isEmpty() {
+        return lastMinute == Long.MIN_VALUE;
+    }
+
+    // 마지막으로 반영한 봉의 시작 시각, 없으면 -1
+    public long lastStartTime() {
+        return isEmpty() ? -1 : lastMinute * MINUTE_MS;
+    }
+
+    public double lastVolume() {
+        return lastVolume;
+    }
+
+    /**
+     * 구간 내 거래량의 q 분위수 (상대 오차 α 이내), 표본이 없으면 NaN.
+     */
+    public double quantile(Horizon horizon, double q) {
+        int h = horizon.ordinal();
+        int total = totals[h];
+        if (total == 0) return Double.NaN;
+        double rank = Math.max(0, Math.min(1, q)) * (total - 1);
+        long cumulative = zeroCounts[h];
+        if (cumulative > rank) return 0;
+        int[] c = counts[h];
+        for (int b = 0; b < BUCKETS; b++) {
+            cumulative += c[b];
+            if (cumulative > rank) return value(b);
+        }
+        return value(BUCKETS - 1);
+    }
+
+    /**
+     * 구간 내에서 volume이 차지하는 백분위 (0~100, 같은 버킷은 절반만 아래로 셈), 표본이 없으면 NaN.
+     */
+    public double percentile(Horizon horizon, double volume) {
+        int h = horizon.ordinal();
+        int total = totals[h];
+        if (total == 0) return Double.NaN;
+        short code = code(volume);
+        double below;
+        if (code == ZERO) {
+            below = zeroCounts[h] / 2.0;
+        } else {
+            int bucket = code - 2;
+            long sum = zeroCounts[h];
+            int[] c = counts[h];
+            for (int b = 0; b < bucket; b++) sum += c[b];
+            below = sum + c[bucket] / 2.0;
+        }
+        return below * 100.0 / total;
+    }
+
+    /**
+     * 상태를 씁니다. 구간별 카운트는 링에서 다시 만들 수 있으므로 링만 저장합니다.
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(FORMAT_VERSION);
+        out.writeInt(BUCKETS);
+        out.writeLong(lastMinute);
+        out.writeDouble(lastVolume);
+        for (short code : ring) out.writeShort(code);
+    }
+
+    /**
+     * writeTo로 쓴 상태를 읽어 카운트를 다시 계산합니다.
+     *
+     * @return 형식(버전, 버킷 구성)이 맞지 않으면 false (상태는 비운 채 남음)
+     */
+    public boolean readFrom(DataInput in) throws IOException {
+        clear();
+        int version = in.readInt();
+        int buckets = in.readInt();
+        long minute = in.readLong();
+        double volume = in.readDouble();
+        short[] stored = new short[RING];
+        for (int i = 0; i < RING; i++) stored[i] = in.readShort();
+        if (version != FORMAT_VERSION || buckets != BUCKETS) return false;
+        if (minute == Long.MIN_VALUE) return true;
+
+        System.arraycopy(stored, 0, ring, 0, RING);
+        for (long m = minute - RING + 1; m <= minute; m++) {
+            short code = ring[slot(m)];
+            if (code == EMPTY) continue;
+            if (code < 0 || code >= BUCKETS + 2) {
+                clear();
+                return false;
+            }
+            long age = minute - m;
+            for (int h = 0; h < HORIZONS.length; h++) {
+                if (age < HORIZONS[h].minutes) increment(h, code, 1);
+            }
+        }
+        lastMinute = minute;
+        lastVolume = volume;
+        return true;
+    }
+
+    private static int slot(long minute) {
+        return (int) Math.floorMod(minute, RING);
+    }
+
+    private static short code(double volume) {
+        if (!(volume > 0)) return ZERO;
+        int index = Math.max(MIN_INDEX, Math.min(MAX_INDEX, rawIndex(volume)));
+        return (short) (index - MIN_INDEX + 2);
+    }
+
+    private static int rawIndex(double value) {
+        return (int) Math.ceil(Math.log(value) / LOG_GAMMA);
+    }
+
+    // 버킷 (γ^(i-1), γ^i]의 대표값: 상대 오차가 α가 되는 지점
+    private static double value(int bucket) {
+        return 2 * Math.pow(GAMMA, bucket + MIN_INDEX) / (GAMMA + 1);
+    }
+}
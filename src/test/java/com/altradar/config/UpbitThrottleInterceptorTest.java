@@ -0,0 +1,71 @@
+package com.altradar.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.altradar.service.UpbitRateLimiter;
+
+/**
+ * 429 응답은 마지막 시도라서 재시도하지 않는 경우에도 속도 조절에 반영되어야 합니다.
+ */
+class UpbitThrottleInterceptorTest {
+
+    private static final URI CANDLES = URI.create("https://api.upbit.com/v1/candles/minutes/1?market=KRW-BTC&count=1");
+
+    private UpbitRateLimiter rateLimiter;
+    private UpbitThrottleInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        rateLimiter = new UpbitRateLimiter();
+        interceptor = new UpbitThrottleInterceptor(rateLimiter);
+        ReflectionTestUtils.setField(interceptor, "baseBackoffMs", 1L);
+        ReflectionTestUtils.setField(interceptor, "maxBackoffMs", 1L);
+    }
+
+    @Test
+    void everyTooManyRequestsResponseThrottles() throws Exception {
+        ReflectionTestUtils.setField(interceptor, "maxAttempts", 2);
+        AtomicInteger calls = new AtomicInteger();
+
+        ClientHttpResponse response = interceptor.intercept(new MockClientHttpRequest(HttpMethod.GET, CANDLES),
+                new byte[0], (request, body) -> {
+                    calls.incrementAndGet();
+                    return new MockClientHttpResponse(new byte[0], HttpStatus.TOO_MANY_REQUESTS);
+                });
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(calls).hasValue(2);
+        assertThat(candles()).containsEntry("throttledCount", 2L);
+    }
+
+    @Test
+    void singleAttemptStillThrottlesAndReadsRemainingReq() throws Exception {
+        ReflectionTestUtils.setField(interceptor, "maxAttempts", 1);
+
+        interceptor.intercept(new MockClientHttpRequest(HttpMethod.GET, CANDLES), new byte[0], (request, body) -> {
+            MockClientHttpResponse response = new MockClientHttpResponse(new byte[0], HttpStatus.TOO_MANY_REQUESTS);
+            response.getHeaders().add("Remaining-Req", "group=candles; min=599; sec=0");
+            return response;
+        });
+
+        assertThat(candles()).containsEntry("throttledCount", 1L).containsEntry("remainingSec", 0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> candles() {
+        return (Map<String, Object>) rateLimiter.snapshot().get("candles");
+    }
+}
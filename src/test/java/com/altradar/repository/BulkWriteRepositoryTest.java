@@ -0,0 +1,82 @@
+package com.altradar.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.altradar.model.CryptoCoin;
+import com.altradar.model.PriceData;
+
+/**
+ * 코인 MERGE가 새 코인에만 crypto_coins_seq 블록에서 id를 배정하고, 기존 코인 갱신은 시퀀스를 소모하지 않는지 확인합니다.
+ */
+@DataJpaTest
+@Import(BulkWriteRepository.class)
+class BulkWriteRepositoryTest {
+
+    @Autowired
+    private BulkWriteRepository bulkWriteRepository;
+
+    @Autowired
+    private CryptoCoinRepository cryptoCoinRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void newCoinsShareOnePooledIdBlock() {
+        bulkWriteRepository.upsertCoins(List.of(coin("KRW-BTC", 100), coin("KRW-ETH", 10), coin("KRW-XRP", 1)));
+        long btc = id("KRW-BTC");
+        assertThat(id("KRW-ETH")).isEqualTo(btc + 1);
+        assertThat(id("KRW-XRP")).isEqualTo(btc + 2);
+
+        // 기존 코인은 갱신만 하고, 새 코인은 같은 블록의 다음 id를 받음
+        bulkWriteRepository.upsertCoins(List.of(coin("KRW-BTC", 200), coin("KRW-SOL", 5)));
+        assertThat(id("KRW-BTC")).isEqualTo(btc);
+        assertThat(id("KRW-SOL")).isEqualTo(btc + 3);
+        assertThat(cryptoCoinRepository.findByCoinId("KRW-BTC").orElseThrow().getCurrentPrice())
+                .isEqualByComparingTo("200");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM crypto_coins", Long.class)).isEqualTo(4);
+    }
+
+    @Test
+    void entityAndBulkIdsDoNotCollide() {
+        CryptoCoin saved = cryptoCoinRepository.saveAndFlush(coin("KRW-ADA", 1));
+        bulkWriteRepository.upsertCoins(List.of(coin("KRW-DOGE", 1), coin("KRW-ADA", 2)));
+        assertThat(id("KRW-ADA")).isEqualTo(saved.getId());
+        assertThat(id("KRW-DOGE")).isNotEqualTo(saved.getId());
+    }
+
+    @Test
+    void insertPriceDataRejectsUnsavedCoin() {
+        PriceData row = new PriceData();
+        row.setTimestamp(LocalDateTime.now());
+        row.setPrice(BigDecimal.ONE);
+        assertThatThrownBy(() -> bulkWriteRepository.insertPriceData(coin("KRW-NEW", 1), List.of(row)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("KRW-NEW");
+    }
+
+    private long id(String coinId) {
+        return jdbcTemplate.queryForObject("SELECT id FROM crypto_coins WHERE coin_id = ?", Long.class, coinId);
+    }
+
+    private static CryptoCoin coin(String coinId, double price) {
+        CryptoCoin coin = new CryptoCoin();
+        coin.setCoinId(coinId);
+        coin.setName(coinId);
+        coin.setSymbol(coinId);
+        coin.setCurrentPrice(BigDecimal.valueOf(price));
+        coin.setLastUpdated(LocalDateTime.now());
+        return coin;
+    }
+}
@@ -0,0 +1,168 @@
+package com.altradar.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.altradar.config.PatternProperties;
+import com.altradar.config.PumpScoreProperties;
+import com.altradar.util.CandleColumns;
+import com.altradar.util.CandleRingBuffer;
+import com.altradar.util.TimeframeAggregator;
+
+/**
+ * 캔들 병합과 패턴 감지: 과거 봉 채우기는 이벤트를 내지 않고, 방금 닫힌 봉만 패턴을 진행시킵니다.
+ */
+class CandleCacheTest {
+
+    private static final long MINUTE_MS = 60_000L;
+    private static final String MARKET = "KRW-BTC";
+
+    private PatternDetector detector;
+    private CandleCache cache;
+    private long currentMinute;
+
+    @BeforeEach
+    void setUp() {
+        PumpScoreRules rules = new PumpScoreRules(new PumpScoreProperties());
+        rules.init();
+        TechnicalAnalysisService analysis = new TechnicalAnalysisService(rules, new MarketRanking(), new OrderBookStore());
+
+        // 닫힌 봉마다 성립하는 한 단계 패턴
+        PatternProperties.Step step = new PatternProperties.Step();
+        step.setName("any");
+        step.setWhen("close > 0");
+        PatternProperties.Pattern pattern = new PatternProperties.Pattern();
+        pattern.setSteps(List.of(step));
+        PatternProperties properties = new PatternProperties();
+        properties.getDefinitions().put("every-candle", pattern);
+
+        detector = new PatternDetector(properties, analysis);
+        detector.init();
+        cache = new CandleCache(detector);
+        ReflectionTestUtils.setField(cache, "bufferSize", 200);
+        ReflectionTestUtils.setField(cache, "timeframeBars", 200);
+
+        long now = System.currentTimeMillis();
+        currentMinute = now - Math.floorMod(now, MINUTE_MS);
+    }
+
+    @Test
+    void initialFillEmitsNoEvents() {
+        CandleCache.MarketCandles candles = cache.get(MARKET);
+        int added = cache.merge(candles, response(currentMinute, 200));
+
+        assertThat(added).isEqualTo(200);
+        assertThat(detector.recentEvents(null, 500)).isEmpty();
+        assertThat(detector.status().get("candles")).isEqualTo(0L);
+    }
+
+    @Test
+    void liveCloseAfterFillEmitsEvent() {
+        CandleCache.MarketCandles candles = cache.get(MARKET);
+        cache.merge(candles, response(currentMinute, 200));
+
+        // 다음 분의 첫 캔들이 들어오면 현재 분 캔들이 닫힘
+        candles.appendCandle(currentMinute + MINUTE_MS, 101, 101, 101, 101, 1);
+
+        assertThat(detector.recentEvents(MARKET, 500))
+                .singleElement()
+                .satisfies(event -> assertThat(event.time()).isEqualTo(currentMinute));
+    }
+
+    @Test
+    void refillAfterGapEmitsNoEvents() {
+        CandleCache.MarketCandles candles = cache.get(MARKET);
+        cache.merge(candles, response(currentMinute - 300 * MINUTE_MS, 200));
+
+        // 버퍼보다 긴 공백이면 버퍼를 비우고 전체를 다시 받음
+        assertThat(cache.candlesToFetch(candles, currentMinute)).isEqualTo(200);
+        cache.merge(candles, response(currentMinute, 200));
+
+        assertThat(detector.recentEvents(null, 500)).isEmpty();
+    }
+
+    @Test
+    void staleIncrementalCandlesEmitNoEvents() {
+        CandleCache.MarketCandles candles = cache.get(MARKET);
+        cache.merge(candles, response(currentMinute - 30 * MINUTE_MS, 150));
+
+        // 공백 30분을 채우는 증분 조회: 1분 이내에 닫힌 봉만 패턴에 들어감
+        cache.merge(candles, response(currentMinute, 31));
+
+        assertThat(detector.recentEvents(MARKET, 500))
+                .allSatisfy(event -> assertThat(event.time()).isGreaterThanOrEqualTo(currentMinute - 2 * MINUTE_MS));
+        assertThat(detector.recentEvents(MARKET, 500)).hasSizeLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void illiquidMarketFetchesOnlySinceLastSync() {
+        CandleCache.MarketCandles candles = cache.get(MARKET);
+        // 마지막 체결이 300분 전이어도 방금 동기화했다면 공백이 아님
+        cache.merge(candles, response(currentMinute - 300 * MINUTE_MS, 200));
+        candles.markSynced(currentMinute - 2 * MINUTE_MS + 1_000);
+
+        assertThat(cache.candlesToFetch(candles, currentMinute + 1_000)).isEqualTo(3);
+        assertThat(candles.buffer().size()).isEqualTo(200);
+
+        // 동기화 이후 버퍼보다 긴 시간이 지나면 전체를 다시 받음
+        assertThat(cache.candlesToFetch(candles, currentMinute + 200 * MINUTE_MS)).isEqualTo(200);
+        assertThat(candles.buffer().isEmpty()).isTrue();
+    }
+
+    @Test
+    void refetchAfterResetDoesNotDoubleCountTimeframeVolume() {
+        CandleCache.MarketCandles candles = cache.get(MARKET);
+        CandleColumns response = response(currentMinute, 200);
+        cache.merge(candles, response);
+        double hourVolume = lastBar(candles).volume(lastBar(candles).size() - 1);
+
+        // 같은 응답을 다시 받아 병합 (공백 후 재조회와 같은 경로)
+        candles.reset();
+        cache.merge(candles, response);
+        cache.merge(candles, response);
+
+        CandleRingBuffer hours = lastBar(candles);
+        assertThat(hours.volume(hours.size() - 1)).isEqualTo(hourVolume).isEqualTo(closedVolume(response, hours));
+
+        // 이미 반영한 1분봉이 다시 닫혀도 더하지 않음
+        candles.timeframes().onClosedCandle(currentMinute - MINUTE_MS, 100, 200, 1, 100, 1_000);
+        assertThat(hours.volume(hours.size() - 1)).isEqualTo(hourVolume);
+        assertThat(hours.high(hours.size() - 1)).isLessThan(200);
+    }
+
+    private static CandleRingBuffer lastBar(CandleCache.MarketCandles candles) {
+        return candles.timeframes().bars(TimeframeAggregator.Timeframe.H1);
+    }
+
+    // 마지막 60분봉 구간에 속한 닫힌 1분봉(진행 중인 현재 분 제외)의 거래량 합
+    private double closedVolume(CandleColumns response, CandleRingBuffer hours) {
+        long bucket = hours.lastStartTime();
+        double sum = 0;
+        for (int i = 0; i < response.size; i++) {
+            long start = response.startTimes[i];
+            if (start >= bucket && start < currentMinute) sum += response.volumes[i];
+        }
+        return sum;
+    }
+
+    // 업비트 응답처럼 최신순으로 lastStart부터 count개
+    private static CandleColumns response(long lastStart, int count) {
+        CandleColumns columns = new CandleColumns(count);
+        for (int i = 0; i < count; i++) {
+            double price = 100 + (i % 7);
+            columns.startTimes[i] = lastStart - i * MINUTE_MS;
+            columns.opens[i] = price;
+            columns.highs[i] = price + 1;
+            columns.lows[i] = price - 1;
+            columns.closes[i] = price;
+            columns.volumes[i] = 10 + i % 5;
+        }
+        columns.size = count;
+        return columns;
+    }
+}
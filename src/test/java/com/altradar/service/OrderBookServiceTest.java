@@ -0,0 +1,44 @@
+package com.altradar.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+import com.altradar.model.dto.OrderBookFeatures;
+
+/**
+ * 웹소켓 호가 메시지가 구독한 마켓 키로 저장되는지 확인합니다.
+ */
+class OrderBookServiceTest {
+
+    private final OrderBookStore store = new OrderBookStore();
+    private final OrderBookService service = new OrderBookService(mock(RestTemplate.class), new UpbitRateLimiter(), store);
+
+    @Test
+    void streamMessageUpdatesSubscribedMarket() throws Exception {
+        service.onSubscribed(List.of("KRW-ETH", "KRW-BTC"));
+
+        assertThat(service.onStreamMessage(orderbook("KRW-BTC", 101, 100))).isTrue();
+        assertThat(service.onStreamMessage(orderbook("KRW-ETH", 11, 10))).isTrue();
+        // 구독 목록에 없는 마켓도 버리지 않음
+        assertThat(service.onStreamMessage(orderbook("KRW-XRP", 2, 1))).isTrue();
+        assertThat(service.onStreamMessage("{\"type\":\"ticker\",\"code\":\"KRW-BTC\"}")).isFalse();
+
+        OrderBookFeatures btc = store.features("KRW-BTC");
+        assertThat(btc).isNotNull();
+        assertThat(store.features("KRW-ETH")).isNotNull();
+        assertThat(store.features("KRW-XRP")).isNotNull();
+        assertThat(store.size()).isEqualTo(3);
+        assertThat(service.status()).containsEntry("streamUpdates", 3L);
+    }
+
+    private static String orderbook(String market, double ask, double bid) {
+        return "{\"type\":\"orderbook\",\"code\":\"" + market + "\",\"timestamp\":" + System.currentTimeMillis()
+                + ",\"orderbook_units\":[{\"ask_price\":" + ask + ",\"bid_price\":" + bid
+                + ",\"ask_size\":1.5,\"bid_size\":2.5}]}";
+    }
+}
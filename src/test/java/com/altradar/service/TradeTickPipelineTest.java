@@ -0,0 +1,70 @@
+package com.altradar.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.altradar.model.dto.SecondBar;
+
+/**
+ * 체결 틱으로 만드는 1초봉: 늦게 도착한 이전 초 체결은 거래량에만 합쳐지고 진행 중인 봉의 고가/저가는 바꾸지 않습니다.
+ */
+class TradeTickPipelineTest {
+
+    private static final String MARKET = "KRW-BTC";
+
+    private TradeTickPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        pipeline = new TradeTickPipeline(mock(LiveMarketState.class));
+        ReflectionTestUtils.setField(pipeline, "ringSize", 64);
+        ReflectionTestUtils.setField(pipeline, "barHistory", 10);
+        pipeline.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipeline.stop();
+    }
+
+    @Test
+    void lateTradeAddsVolumeWithoutMovingHighLow() {
+        pipeline.publish(MARKET, 100, 1, 1_000, true, System.nanoTime());
+        pipeline.publish(MARKET, 110, 1, 2_000, true, System.nanoTime());
+        pipeline.publish(MARKET, 105, 1, 2_500, false, System.nanoTime());
+        // 1초 구간 체결이 2초 봉이 진행 중일 때 도착
+        pipeline.publish(MARKET, 200, 2, 1_900, false, System.nanoTime());
+        pipeline.publish(MARKET, 50, 1, 1_950, true, System.nanoTime());
+        pipeline.publish(MARKET, 120, 1, 3_000, true, System.nanoTime());
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> pipeline.recentBars(MARKET, 10).size() == 2);
+        List<SecondBar> bars = pipeline.recentBars(MARKET, 10);
+
+        SecondBar bar = bars.get(1);
+        assertThat(bar.startTime()).isEqualTo(2_000);
+        assertThat(bar.open()).isEqualTo(110);
+        assertThat(bar.high()).isEqualTo(110);
+        assertThat(bar.low()).isEqualTo(105);
+        assertThat(bar.close()).isEqualTo(105);
+        assertThat(bar.volume()).isEqualTo(5);
+        assertThat(bar.buyVolume()).isEqualTo(2);
+        assertThat(bar.sellVolume()).isEqualTo(3);
+        assertThat(bar.trades()).isEqualTo(4);
+    }
+
+    @Test
+    void stoppedPipelineRejectsTrades() {
+        assertThat(pipeline.publish(MARKET, 100, 1, 1_000, true, System.nanoTime())).isTrue();
+        pipeline.stop();
+        assertThat(pipeline.publish(MARKET, 100, 1, 1_000, true, System.nanoTime())).isFalse();
+    }
+}
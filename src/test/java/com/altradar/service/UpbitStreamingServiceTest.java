@@ -0,0 +1,155 @@
+package com.altradar.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.altradar.util.CandleRingBuffer;
+
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * 로컬 대역 웹소켓 서버로 스트리밍을 검증합니다: 구독, ticker/trade 반영, 연결 끊김 후 재연결과 재구독.
+ * 서버는 업비트처럼 연결마다 구독 메시지를 받은 뒤 ticker(텍스트)와 trade(바이너리) 프레임을 보내고,
+ * 첫 연결은 그 직후 닫습니다.
+ */
+class UpbitStreamingServiceTest {
+
+    private static final long MINUTE_MS = 60_000L;
+    private static final String MARKET = "KRW-BTC";
+
+    private final List<String> subscriptions = new CopyOnWriteArrayList<>();
+    private final AtomicInteger connections = new AtomicInteger();
+
+    private DisposableServer server;
+    private UpbitStreamingService streaming;
+    private TradeTickPipeline pipeline;
+    private LiveMarketState liveState;
+    private CandleCache candleCache;
+
+    @BeforeEach
+    void setUp() {
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes.ws("/websocket/v1", (in, out) -> in.receive().asString()
+                        .concatMap(subscription -> {
+                            subscriptions.add(subscription);
+                            int connection = connections.incrementAndGet();
+                            Mono<Void> frames = out.sendString(Mono.just(ticker(connection))).then()
+                                    .then(out.sendByteArray(Mono.just(trade(connection)
+                                            .getBytes(StandardCharsets.UTF_8))).then());
+                            // 첫 연결은 프레임을 보낸 뒤 서버 쪽에서 닫음
+                            return connection == 1 ? frames.then(out.sendClose()) : frames;
+                        })
+                        .then()))
+                .bindNow();
+
+        candleCache = new CandleCache(mock(PatternDetector.class));
+        ReflectionTestUtils.setField(candleCache, "bufferSize", 200);
+        ReflectionTestUtils.setField(candleCache, "timeframeBars", 200);
+        // 체결은 REST로 초기 동기화된 버퍼에만 반영되므로 현재 분 캔들 하나를 넣어 둠
+        long now = System.currentTimeMillis();
+        CandleCache.MarketCandles candles = candleCache.get(MARKET);
+        candles.appendCandle(now - Math.floorMod(now, MINUTE_MS), 100, 100, 100, 100, 1);
+
+        liveState = new LiveMarketState(candleCache, new MarketRanking());
+        pipeline = new TradeTickPipeline(liveState);
+        ReflectionTestUtils.setField(pipeline, "ringSize", 1024);
+        ReflectionTestUtils.setField(pipeline, "barHistory", 60);
+
+        UpbitDataService dataService = mock(UpbitDataService.class);
+        when(dataService.getAllKrwMarkets()).thenReturn(List.of(MARKET, "KRW-ETH"));
+        OrderBookService orderBookService = mock(OrderBookService.class);
+
+        streaming = new UpbitStreamingService(dataService, liveState, orderBookService, pipeline);
+        ReflectionTestUtils.setField(streaming, "streamingUrl",
+                "ws://localhost:" + server.port() + "/websocket/v1");
+        ReflectionTestUtils.setField(streaming, "pingIntervalSeconds", 60L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        streaming.stop();
+        pipeline.stop();
+        server.disposeNow();
+    }
+
+    @Test
+    void reconnectsAndResubscribesAfterServerDropsConnection() {
+        streaming.start();
+
+        // 첫 연결: 구독 → ticker/trade 반영 → 서버가 끊음 → 1초 백오프 후 재연결 및 재구독
+        await().atMost(Duration.ofSeconds(10)).until(() -> subscriptions.size() >= 2);
+        await().atMost(Duration.ofSeconds(5)).until(() -> liveState.price(MARKET) == price(2));
+
+        assertThat(subscriptions).hasSize(2).allSatisfy(subscription -> {
+            JSONArray message = new JSONArray(subscription);
+            assertThat(message.getJSONObject(1).getString("type")).isEqualTo("ticker");
+            assertThat(message.getJSONObject(1).getJSONArray("codes").toList()).containsExactly(MARKET, "KRW-ETH");
+            assertThat(message.getJSONObject(2).getString("type")).isEqualTo("trade");
+        });
+        // 재구독은 새 ticket으로
+        assertThat(new JSONArray(subscriptions.get(0)).getJSONObject(0).getString("ticket"))
+                .isNotEqualTo(new JSONArray(subscriptions.get(1)).getJSONObject(0).getString("ticket"));
+
+        assertThat(liveState.snapshot())
+                .containsEntry("connected", true)
+                .containsEntry("live", true)
+                .containsEntry("reconnectCount", 1L);
+
+        // 두 연결의 체결이 파이프라인을 거쳐 1분봉에 반영됨 (마지막 체결가가 종가)
+        CandleRingBuffer buffer = candleCache.get(MARKET).buffer();
+        await().atMost(Duration.ofSeconds(5)).until(() -> {
+            candleCache.get(MARKET).lock().lock();
+            try {
+                return buffer.close(buffer.size() - 1) == price(2) + 1;
+            } finally {
+                candleCache.get(MARKET).lock().unlock();
+            }
+        });
+        assertThat(pipeline.status()).containsEntry("published", 2L);
+    }
+
+    private static double price(int connection) {
+        return 1_000 * connection;
+    }
+
+    private static String ticker(int connection) {
+        return new JSONObject()
+                .put("type", "ticker")
+                .put("code", MARKET)
+                .put("trade_price", price(connection))
+                .put("timestamp", System.currentTimeMillis())
+                .put("stream_type", "REALTIME")
+                .toString();
+    }
+
+    private static String trade(int connection) {
+        return new JSONObject()
+                .put("type", "trade")
+                .put("code", MARKET)
+                .put("trade_price", price(connection) + 1)
+                .put("trade_volume", 0.5)
+                .put("ask_bid", "BID")
+                .put("trade_timestamp", System.currentTimeMillis())
+                .put("stream_type", "REALTIME")
+                .toString();
+    }
+}
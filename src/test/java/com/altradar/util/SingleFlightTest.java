@@ -0,0 +1,54 @@
+package com.altradar.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * loader가 Error를 던져도 같은 키의 대기자와 이후 호출이 막히지 않는지 확인합니다.
+ */
+class SingleFlightTest {
+
+    @Test
+    void errorInLoaderCompletesWaitersAndFreesKey() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>(60_000);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> flight.execute("KRW-BTC", () -> {
+            started.countDown();
+            await(release);
+            throw new StackOverflowError("loader");
+        }));
+        assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> waiter = CompletableFuture.supplyAsync(() -> flight.execute("KRW-BTC", () -> "other"));
+        Thread.sleep(100);
+        release.countDown();
+
+        assertThatThrownBy(() -> leader.get(1, TimeUnit.SECONDS)).hasCauseInstanceOf(StackOverflowError.class);
+        assertThatThrownBy(() -> waiter.get(1, TimeUnit.SECONDS)).hasCauseInstanceOf(StackOverflowError.class);
+        // 실패는 캐시되지 않으므로 다음 호출은 새로 실행
+        assertThat(flight.execute("KRW-BTC", () -> "retry")).isEqualTo("retry");
+    }
+
+    @Test
+    void successIsSharedWithinFreshness() {
+        SingleFlight<String, Integer> flight = new SingleFlight<>(60_000);
+        assertThat(flight.execute("k", () -> 1)).isEqualTo(1);
+        assertThat(flight.execute("k", () -> 2)).isEqualTo(1);
+        assertThat(flight.metrics()).containsEntry("executed", 1L).containsEntry("coalesced", 1L);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.altradar.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 윈도우 단위 RSI가 IndicatorEngine의 Wilder RSI와 같은 값을 내는지 확인합니다.
+ */
+class TechnicalAnalysisUtilTest {
+
+    @Test
+    void rsiMatchesEngineWilderRsi() {
+        Random random = new Random(7);
+        double[] closes = new double[200];
+        double price = 1_000;
+        for (int i = 0; i < closes.length; i++) {
+            price *= 1 + (random.nextDouble() - 0.5) * 0.02;
+            closes[i] = price;
+        }
+        IndicatorEngine engine = IndicatorEngine.defaults(closes.length);
+        List<Double> boxed = new ArrayList<>();
+        for (int i = 0; i < closes.length; i++) {
+            engine.append(closes[i], 1);
+            boxed.add(closes[i]);
+            DoubleSeries window = DoubleSeries.of(closes, 0, i + 1);
+            if (i < 14) {
+                assertThat(TechnicalAnalysisUtil.rsi(window, 14)).isNaN();
+                continue;
+            }
+            assertThat(TechnicalAnalysisUtil.rsi(window, 14)).isCloseTo(engine.rsi(), within(1e-9));
+        }
+        assertThat(TechnicalAnalysisUtil.rsi(boxed, 14)).isCloseTo(engine.rsi(), within(1e-9));
+    }
+
+    @Test
+    void rsiIsHundredWithoutLosses() {
+        assertThat(TechnicalAnalysisUtil.rsi(List.of(1.0, 2.0, 3.0, 4.0), 3)).isEqualTo(100);
+    }
+}
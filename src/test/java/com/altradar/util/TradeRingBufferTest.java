@@ -0,0 +1,47 @@
+package com.altradar.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 링이 가득 찬 상태에서 소비자가 멈춰도 close()로 생산자가 풀려나는지 확인합니다.
+ */
+class TradeRingBufferTest {
+
+    @Test
+    void closeReleasesProducerWaitingOnStoppedConsumer() throws Exception {
+        TradeRingBuffer ring = new TradeRingBuffer(2);
+        ring.newConsumer();  // 읽지 않는 소비자
+        assertThat(ring.publish(0, 1, 1, 0, TradeRingBuffer.BUY, 0)).isTrue();
+        assertThat(ring.publish(0, 2, 1, 0, TradeRingBuffer.BUY, 0)).isTrue();
+
+        CompletableFuture<Boolean> blocked = CompletableFuture.supplyAsync(
+                () -> ring.publish(0, 3, 1, 0, TradeRingBuffer.BUY, 0));
+        Thread.sleep(100);
+        assertThat(blocked).isNotDone();
+
+        ring.close();
+        assertThat(blocked.get(1, TimeUnit.SECONDS)).isFalse();
+        assertThat(ring.cursor()).isEqualTo(1);
+        assertThat(ring.publish(0, 4, 1, 0, TradeRingBuffer.BUY, 0)).isFalse();
+    }
+
+    @Test
+    void consumerReadsPublishedTicksInOrder() {
+        TradeRingBuffer ring = new TradeRingBuffer(4);
+        TradeRingBuffer.Consumer consumer = ring.newConsumer();
+        StringBuilder seen = new StringBuilder();
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 4; i++) {
+                ring.publish(i, round * 4 + i, 1, 0, TradeRingBuffer.SELL, 0);
+            }
+            assertThat(consumer.poll((r, slot, end) -> seen.append((int) r.price(slot)).append(','))).isEqualTo(4);
+        }
+        assertThat(seen).hasToString("0,1,2,3,4,5,6,7,8,9,10,11,");
+        assertThat(consumer.lag()).isZero();
+    }
+}